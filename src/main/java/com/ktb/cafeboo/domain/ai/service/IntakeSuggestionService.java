@@ -1,65 +1,180 @@
 package com.ktb.cafeboo.domain.ai.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.ktb.cafeboo.domain.user.model.User;
-import com.ktb.cafeboo.global.apiPayload.code.status.ErrorStatus;
-import com.ktb.cafeboo.global.apiPayload.exception.CustomApiException;
+import com.ktb.cafeboo.domain.user.model.UserCaffeineInfo;
+import com.ktb.cafeboo.domain.user.model.UserHealthInfo;
 import com.ktb.cafeboo.global.infra.ai.client.AiServerClient;
 import com.ktb.cafeboo.global.infra.ai.dto.PredictCanIntakeCaffeineRequest;
 import com.ktb.cafeboo.global.infra.ai.dto.PredictCanIntakeCaffeineResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.Objects;
-import lombok.RequiredArgsConstructor;
+import java.util.function.BiConsumer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.core.scheduler.Schedulers;
 
+/**
+ * 추가 카페인 섭취 가능 여부 메시지를 생성합니다.
+ * 요청 경로에서는 캐시된 AI 판정 또는 규칙 기반 판정을 즉시 반환하고,
+ * AI 서버 판정은 비동기로 받아 캐시에 저장한 뒤 콜백으로 전달합니다.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class IntakeSuggestionService {
+    public static final String MESSAGE_CAN_INTAKE = "카페인을 추가로 섭취해도 수면에 영향이 없어요.";
+    public static final String MESSAGE_CANNOT_INTAKE = "카페인을 추가로 섭취하면 수면에 영향을 줄 수 있어요.";
+
+    private static final float TARGET_RESIDUAL_AT_SLEEP = 50f;
+
     private final AiServerClient aiServerClient;
 
-    public String getPredictedIntakeSuggestion(User user, int currentCaffeine, double residualAtSleep){
+    @Value("${ai.intake-suggestion.timeout-ms:3000}")
+    private long timeoutMs;
+
+    @Value("${ai.intake-suggestion.caffeine-bucket-mg:25}")
+    private int caffeineBucketMg;
+
+    @Value("${ai.intake-suggestion.residual-bucket-mg:10}")
+    private int residualBucketMg;
+
+    // 양자화된 입력 -> AI 판정 메시지
+    private final Cache<SuggestionKey, String> verdictCache;
+
+    public IntakeSuggestionService(
+        AiServerClient aiServerClient,
+        @Value("${ai.intake-suggestion.cache.ttl-seconds:600}") long cacheTtlSeconds,
+        @Value("${ai.intake-suggestion.cache.max-size:10000}") long cacheMaxSize
+    ) {
+        this.aiServerClient = aiServerClient;
+        this.verdictCache = Caffeine.newBuilder()
+            .maximumSize(cacheMaxSize)
+            .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+            .build();
+    }
+
+    /**
+     * 추가 섭취 가능 여부 메시지를 반환합니다. AI 서버 응답을 기다리지 않습니다.
+     * @param user 대상 사용자
+     * @param currentCaffeine 오늘 섭취한 총 카페인 (mg)
+     * @param residualAtSleep 취침 시각의 카페인 잔존량 (mg)
+     * @param onAiVerdict 캐시에 없는 경우, AI 판정이 도착했을 때 (판정 메시지, 판정 요청 시각)으로 호출될 콜백 (판정이 기존 메시지와 다를 때만 호출).
+     *                    판정 요청 이후 통계가 다시 갱신되었다면 반영하지 않도록 요청 시각을 함께 전달합니다.
+     * @return 캐시된 AI 판정 메시지 또는 규칙 기반 메시지
+     */
+    public String getPredictedIntakeSuggestion(User user, int currentCaffeine, double residualAtSleep, BiConsumer<String, LocalDateTime> onAiVerdict) {
         log.info("[IntakeSuggestionService.getPredictedIntakeSuggestion] 호출 시작 - userId = {}, currentCaffeine = {}, residualAtSleep = {}", user.getId(), currentCaffeine, residualAtSleep);
 
+        UserHealthInfo healthInfo = user.getHealthInfo();
+        UserCaffeineInfo caffeineInfo = user.getCaffeinInfo();
+        int caffeineLimit = Math.round(caffeineInfo.getDailyCaffeineLimitMg());
+
+        SuggestionKey key = new SuggestionKey(
+            currentCaffeine / caffeineBucketMg,
+            (int) (residualAtSleep / residualBucketMg),
+            healthInfo.getSleepTime(),
+            Profile.of(healthInfo, caffeineInfo, caffeineLimit)
+        );
+
+        String cached = verdictCache.getIfPresent(key);
+        if (cached != null) {
+            log.info("[IntakeSuggestionService.getPredictedIntakeSuggestion] 캐시된 판정 사용 - userId={}", user.getId());
+            return cached;
+        }
+
+        String ruleMessage = predictByRule(currentCaffeine, caffeineLimit, residualAtSleep);
+
         PredictCanIntakeCaffeineRequest request = PredictCanIntakeCaffeineRequest.builder()
             .userId(user.getId().toString())
             .currentTime(convertTimeToFloat(LocalTime.now()))
-            .sleepTime(convertTimeToFloat(user.getHealthInfo().getSleepTime()))
-            .caffeineLimit(Math.round(user.getCaffeinInfo().getDailyCaffeineLimitMg()))
+            .sleepTime(convertTimeToFloat(healthInfo.getSleepTime()))
+            .caffeineLimit(caffeineLimit)
             .currentCaffeine(currentCaffeine)
-            .caffeineSensitivity(user.getCaffeinInfo().getCaffeineSensitivity())
-            .targetResidualAtSleep(50f)
+            .caffeineSensitivity(caffeineInfo.getCaffeineSensitivity())
+            .targetResidualAtSleep(TARGET_RESIDUAL_AT_SLEEP)
             .residualAtSleep(residualAtSleep)
-            .gender(user.getHealthInfo().getGender())
-            .age(user.getHealthInfo().getAge())
-            .weight(user.getHealthInfo().getWeight())
-            .height(user.getHealthInfo().getHeight())
-            .isSmoker(user.getHealthInfo().getSmoking() ? 1 : 0)
-            .takeHormonalContraceptive(user.getHealthInfo().getTakingBirthPill() ? 1 : 0)
+            .gender(healthInfo.getGender())
+            .age(healthInfo.getAge())
+            .weight(healthInfo.getWeight())
+            .height(healthInfo.getHeight())
+            .isSmoker(healthInfo.getSmoking() ? 1 : 0)
+            .takeHormonalContraceptive(healthInfo.getTakingBirthPill() ? 1 : 0)
             .build();
 
-        PredictCanIntakeCaffeineResponse response = aiServerClient.predictCanIntakeCaffeine(request);
-        if (!"success".equals(response.getStatus())) {
-            log.error("[IntakeSuggestionService.getPredictedIntakeSuggestion] AI 서버 예측 실패 - userId={}, caffeineStatus={}",
-                response.getData().getUserId(),
-                response.getData().getCaffeineStatus());
-            throw new CustomApiException(ErrorStatus.AI_SERVER_ERROR);
+        // 트랜잭션 안에서 호출된 경우 통계가 커밋된 이후에 AI 판정을 반영
+        Runnable requestVerdict = () -> requestAiVerdict(user.getId(), key, request, ruleMessage, onAiVerdict);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    requestVerdict.run();
+                }
+            });
+        } else {
+            requestVerdict.run();
         }
 
-        String message = "";
+        return ruleMessage;
+    }
 
-        if(Objects.equals(response.getStatus(), "success")){
-            if(Objects.equals(response.getData().getCaffeineStatus(), "N")){
-                message += " 카페인을 추가로 섭취하면 수면에 영향을 줄 수 있어요.";
-            }
-            else if (Objects.equals(response.getData().getCaffeineStatus(), "Y")){
-                message += " 카페인을 추가로 섭취해도 수면에 영향이 없어요.";
-            }
-        }
+    private void requestAiVerdict(Long userId, SuggestionKey key, PredictCanIntakeCaffeineRequest request,
+        String ruleMessage, BiConsumer<String, LocalDateTime> onAiVerdict) {
+        // 통계 커밋 이후 시각. 이보다 나중에 갱신된 통계에는 이 판정을 덮어쓰지 않음
+        LocalDateTime requestedAt = LocalDateTime.now();
+        aiServerClient.predictCanIntakeCaffeineAsync(request)
+            .timeout(Duration.ofMillis(timeoutMs))
+            // 콜백에서 DB를 갱신하므로 이벤트 루프 스레드가 아닌 별도 스레드에서 처리
+            .publishOn(Schedulers.boundedElastic())
+            .subscribe(
+                response -> {
+                    String message = toMessage(response);
+                    if (message == null) {
+                        log.warn("[IntakeSuggestionService.requestAiVerdict] AI 서버 예측 실패 - 규칙 기반 판정 유지 - userId={}", userId);
+                        return;
+                    }
+                    verdictCache.put(key, message);
+                    log.info("[IntakeSuggestionService.requestAiVerdict] 예측 성공 - userId={}, caffeineStatus={}", userId, response.getData().getCaffeineStatus());
 
-        log.info("[IntakeSuggestionService.getPredictedIntakeSuggestion] 예측 성공 - caffeineStatus={}", response.getData().getCaffeineStatus());
+                    if (!message.equals(ruleMessage)) {
+                        try {
+                            onAiVerdict.accept(message, requestedAt);
+                        } catch (Exception e) {
+                            log.error("[IntakeSuggestionService.requestAiVerdict] AI 판정 반영 실패 - userId={}, message={}", userId, e.getMessage(), e);
+                        }
+                    }
+                },
+                error -> log.warn("[IntakeSuggestionService.requestAiVerdict] AI 서버 호출 실패 - 규칙 기반 판정 유지 - userId={}, message={}", userId, error.getMessage())
+            );
+    }
 
-        return message;
+    /**
+     * AI 서버를 사용할 수 없을 때의 규칙 기반 판정.
+     * 취침 시 잔존량이 목표치 이하이고 일일 허용량을 넘지 않았으면 추가 섭취 가능으로 판단합니다.
+     */
+    private String predictByRule(int currentCaffeine, int caffeineLimit, double residualAtSleep) {
+        if (residualAtSleep <= TARGET_RESIDUAL_AT_SLEEP && currentCaffeine < caffeineLimit) {
+            return MESSAGE_CAN_INTAKE;
+        }
+        return MESSAGE_CANNOT_INTAKE;
+    }
+
+    private String toMessage(PredictCanIntakeCaffeineResponse response) {
+        if (response == null || !"success".equals(response.getStatus()) || response.getData() == null) {
+            return null;
+        }
+        if (Objects.equals(response.getData().getCaffeineStatus(), "N")) {
+            return MESSAGE_CANNOT_INTAKE;
+        }
+        if (Objects.equals(response.getData().getCaffeineStatus(), "Y")) {
+            return MESSAGE_CAN_INTAKE;
+        }
+        return null;
     }
 
     private static float convertTimeToFloat(LocalTime time) {
@@ -68,4 +183,25 @@ public class IntakeSuggestionService {
         }
         return time.getHour() + (float) time.getMinute() / 60.0f;
     }
+
+    private record SuggestionKey(int caffeineBucket, int residualBucket, LocalTime sleepTime, Profile profile) {
+    }
+
+    // AI 판정에 영향을 주는 사용자 정보. 해시가 아닌 값 자체를 키에 포함하여 다른 사용자의 판정이 섞이지 않도록 함
+    private record Profile(String gender, int age, float weight, float height, Boolean smoking,
+                           Boolean takingBirthPill, int caffeineSensitivity, int caffeineLimit) {
+
+        static Profile of(UserHealthInfo healthInfo, UserCaffeineInfo caffeineInfo, int caffeineLimit) {
+            return new Profile(
+                healthInfo.getGender(),
+                healthInfo.getAge(),
+                healthInfo.getWeight(),
+                healthInfo.getHeight(),
+                healthInfo.getSmoking(),
+                healthInfo.getTakingBirthPill(),
+                caffeineInfo.getCaffeineSensitivity(),
+                caffeineLimit
+            );
+        }
+    }
 }
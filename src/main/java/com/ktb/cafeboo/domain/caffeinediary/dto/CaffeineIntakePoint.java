@@ -0,0 +1,11 @@
+package com.ktb.cafeboo.domain.caffeinediary.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 잔존량 계산에 필요한 섭취 기록의 최소 정보 (섭취 시각, 섭취량)
+ */
+public record CaffeineIntakePoint(
+        LocalDateTime intakeTime,
+        Float caffeineAmountMg
+) {}
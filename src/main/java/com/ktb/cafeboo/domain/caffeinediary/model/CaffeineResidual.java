@@ -6,6 +6,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
@@ -18,7 +19,13 @@ import org.hibernate.annotations.Where;
 @Getter
 @Setter
 @Entity
-@Table(name = "CaffeineResiduals")
+@Table(
+    name = "CaffeineResiduals",
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_caffeine_residual_user_date_hour",
+        columnNames = {"user_id", "target_date", "hour"}
+    )
+)
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -1,12 +1,29 @@
 package com.ktb.cafeboo.domain.caffeinediary.repository;
 
+import com.ktb.cafeboo.domain.caffeinediary.dto.CaffeineIntakePoint;
 import com.ktb.cafeboo.domain.caffeinediary.model.CaffeineIntake;
 import java.time.LocalDateTime;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface CaffeineIntakeRepository extends JpaRepository<CaffeineIntake, Long> {
     List<CaffeineIntake> findByUserIdAndIntakeTimeBetween(Long userId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * 잔존량 계산용으로 섭취 시각과 섭취량만 조회합니다. (음료/사이즈 연관 엔티티를 로딩하지 않음)
+     */
+    @Query("SELECT new com.ktb.cafeboo.domain.caffeinediary.dto.CaffeineIntakePoint(ci.intakeTime, ci.caffeineAmountMg) " +
+        "FROM CaffeineIntake ci " +
+        "WHERE ci.user.id = :userId " +
+        "AND ci.intakeTime BETWEEN :start AND :end " +
+        "ORDER BY ci.intakeTime ASC")
+    List<CaffeineIntakePoint> findIntakePointsByUserIdAndIntakeTimeBetween(
+        @Param("userId") Long userId,
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end
+    );
 }
@@ -0,0 +1,52 @@
+package com.ktb.cafeboo.domain.caffeinediary.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * CaffeineResiduals(caffeine_residuals) 테이블에 대한 JDBC 배치 쓰기.
+ * IDENTITY 전략 엔티티는 Hibernate가 INSERT를 배치로 묶지 못하므로 (user_id, target_date, hour) 유니크 키 기반 upsert를 직접 실행합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CaffeineResidualBulkRepository {
+
+    // 기존 행이 있으면 잔존량을 덮어쓰고, soft delete 된 행이면 복구
+    private static final String UPSERT_SQL =
+        "INSERT INTO caffeine_residuals (user_id, target_date, hour, residue_amount_mg, created_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE " +
+        "residue_amount_mg = VALUES(residue_amount_mg), " +
+        "deleted_at = NULL, " +
+        "updated_at = VALUES(updated_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 시간대별 잔존량을 한 번의 배치로 저장합니다.
+     * @param userId 사용자 고유키
+     * @param rows 저장할 시간대별 잔존량
+     */
+    public void upsertAll(Long userId, List<ResidualRow> rows) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, userId);
+            ps.setTimestamp(2, Timestamp.valueOf(row.targetDate()));
+            ps.setInt(3, row.hour());
+            ps.setFloat(4, row.residueAmountMg());
+            ps.setTimestamp(5, now);
+            ps.setTimestamp(6, now);
+        });
+    }
+
+    public record ResidualRow(
+        LocalDateTime targetDate,
+        int hour,
+        float residueAmountMg
+    ) {}
+}
@@ -0,0 +1,159 @@
+package com.ktb.cafeboo.domain.caffeinediary.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ktb.cafeboo.domain.user.model.User;
+import com.ktb.cafeboo.domain.user.model.UserCaffeineInfo;
+import com.ktb.cafeboo.domain.user.model.UserHealthInfo;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 사용자 건강 정보 기반 카페인 체내 제거(반감기) 모델.
+ * 반감기는 사용자별로 계산해 짧은 TTL로 캐싱하고, 시간별 감쇠 계수(e^(-k * h))는 반감기별로 미리 계산한 테이블을 공유합니다.
+ * 캐시는 인스턴스별이므로 다른 인스턴스에서 변경된 건강 정보는 TTL 이내에 반영됩니다.
+ */
+@Slf4j
+@Component
+public class CaffeineEliminationModel {
+
+    // 성인 평균 반감기
+    public static final double DEFAULT_HALF_LIFE_HOUR = 5.0;
+
+    // 건강 상태별 반감기 보정 계수
+    private static final double SMOKING_FACTOR = 0.6;            // 흡연 시 대사 효소(CYP1A2) 유도로 제거 속도 증가
+    private static final double BIRTH_PILL_FACTOR = 1.7;         // 경구 피임약 복용 시 제거 속도 감소
+    private static final double PREGNANCY_FACTOR = 2.5;          // 임신 중 제거 속도 크게 감소
+    private static final double LIVER_DISEASE_FACTOR = 2.5;      // 간 질환 시 대사 능력 저하
+    private static final double MAX_SENSITIVITY_FACTOR = 0.5;    // 민감도 최대(100)일 때 반감기 50% 증가
+
+    private static final double MIN_HALF_LIFE_HOUR = 2.0;
+    private static final double MAX_HALF_LIFE_HOUR = 30.0;
+
+    // 감쇠 계수 테이블 공유를 위한 반감기 양자화 단위 (0.1시간)
+    private static final int HALF_LIFE_SCALE = 10;
+
+    // 양자화된 반감기 -> 제거 모델 (감쇠 계수 테이블 공유)
+    private static final Map<Integer, EliminationProfile> profileByHalfLife = new ConcurrentHashMap<>();
+
+    private static final EliminationProfile DEFAULT_PROFILE = createProfile(DEFAULT_HALF_LIFE_HOUR);
+
+    // userId -> 사용자 제거 모델
+    private final Cache<Long, EliminationProfile> profileCache;
+
+    public CaffeineEliminationModel(
+        @Value("${caffeine.elimination.cache.max-users:10000}") long cacheMaxUsers,
+        @Value("${caffeine.elimination.cache.ttl-seconds:300}") long cacheTtlSeconds
+    ) {
+        this.profileCache = Caffeine.newBuilder()
+            .maximumSize(cacheMaxUsers)
+            .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+            .build();
+    }
+
+    /**
+     * 사용자의 제거 모델을 조회합니다. 캐시에 없으면 건강 정보로부터 계산해 캐싱합니다.
+     */
+    public EliminationProfile getProfile(User user) {
+        if (user == null || user.getId() == null) {
+            return DEFAULT_PROFILE;
+        }
+        return profileCache.get(user.getId(), id -> loadProfile(user));
+    }
+
+    /**
+     * 캐시를 거치지 않고 현재 건강 정보로부터 제거 모델을 계산합니다.
+     * 저장된 잔존량(STORED)처럼 계산 결과가 남는 경우, 다른 인스턴스의 오래된 캐시가 섞이지 않도록 사용합니다.
+     */
+    public EliminationProfile loadProfile(User user) {
+        if (user == null || user.getId() == null) {
+            return DEFAULT_PROFILE;
+        }
+        double halfLife = estimateHalfLife(user.getHealthInfo(), user.getCaffeinInfo());
+        log.info("[CaffeineEliminationModel.loadProfile] 사용자 반감기 계산 - userId={}, halfLifeHour={}", user.getId(), halfLife);
+        return createProfile(halfLife);
+    }
+
+    /**
+     * 건강 정보 또는 카페인 정보가 변경된 사용자의 제거 모델을 무효화합니다.
+     * 트랜잭션 안에서 호출된 경우, 커밋 전에 다른 요청이 이전 정보로 다시 캐싱할 수 있으므로 커밋 이후에 한 번 더 무효화합니다.
+     */
+    public void evict(Long userId) {
+        profileCache.invalidate(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    profileCache.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    public static EliminationProfile defaultProfile() {
+        return DEFAULT_PROFILE;
+    }
+
+    static double estimateHalfLife(UserHealthInfo healthInfo, UserCaffeineInfo caffeineInfo) {
+        double halfLife = DEFAULT_HALF_LIFE_HOUR;
+
+        if (healthInfo != null) {
+            if (Boolean.TRUE.equals(healthInfo.getSmoking())) {
+                halfLife *= SMOKING_FACTOR;
+            }
+            if (Boolean.TRUE.equals(healthInfo.getTakingBirthPill())) {
+                halfLife *= BIRTH_PILL_FACTOR;
+            }
+            if (Boolean.TRUE.equals(healthInfo.getPregnant())) {
+                halfLife *= PREGNANCY_FACTOR;
+            }
+            if (Boolean.TRUE.equals(healthInfo.getHasLiverDisease())) {
+                halfLife *= LIVER_DISEASE_FACTOR;
+            }
+        }
+
+        if (caffeineInfo != null) {
+            int sensitivity = Math.max(0, Math.min(100, caffeineInfo.getCaffeineSensitivity()));
+            halfLife *= 1 + MAX_SENSITIVITY_FACTOR * sensitivity / 100.0;
+        }
+
+        return Math.max(MIN_HALF_LIFE_HOUR, Math.min(MAX_HALF_LIFE_HOUR, halfLife));
+    }
+
+    private static EliminationProfile createProfile(double halfLifeHour) {
+        int quantized = (int) Math.round(halfLifeHour * HALF_LIFE_SCALE);
+        return profileByHalfLife.computeIfAbsent(quantized, q -> {
+            double quantizedHalfLife = (double) q / HALF_LIFE_SCALE;
+            double k = Math.log(2) / quantizedHalfLife;
+
+            double[] decayFactors = new double[CaffeineResidualCalculator.EFFECT_HOURS + 1];
+            for (int hour = 0; hour < decayFactors.length; hour++) {
+                decayFactors[hour] = Math.exp(-k * hour);
+            }
+            return new EliminationProfile(quantizedHalfLife, k, decayFactors);
+        });
+    }
+
+    /**
+     * 사용자별 카페인 제거 모델
+     * @param halfLifeHour 반감기 (시간)
+     * @param k 제거 속도 상수
+     * @param decayFactors index h 가 섭취 h시간 후의 잔존 비율인 테이블 (0 ~ 24시간)
+     */
+    public record EliminationProfile(
+        double halfLifeHour,
+        double k,
+        double[] decayFactors
+    ) {
+        public double decayFactor(int hoursElapsed) {
+            return decayFactors[hoursElapsed];
+        }
+    }
+}
@@ -9,7 +9,7 @@ import com.ktb.cafeboo.domain.drink.model.Drink;
 import com.ktb.cafeboo.domain.caffeinediary.repository.CaffeineIntakeRepository;
 import com.ktb.cafeboo.domain.drink.model.DrinkSizeNutrition;
 import com.ktb.cafeboo.domain.drink.service.DrinkService;
-import com.ktb.cafeboo.domain.report.service.DailyStatisticsService;
+import com.ktb.cafeboo.domain.report.service.DailyStatisticsEventService;
 import com.ktb.cafeboo.domain.user.model.User;
 import com.ktb.cafeboo.domain.user.service.UserService;
 import com.ktb.cafeboo.global.apiPayload.code.status.ErrorStatus;
@@ -36,16 +36,11 @@ public class CaffeineIntakeService {
 
     private final CaffeineIntakeRepository intakeRepository;
 
-    private final DailyStatisticsService dailyStatisticsService;
+    private final DailyStatisticsEventService dailyStatisticsEventService;
     private final UserService userService;
     private final DrinkService drinkService;
     private final CaffeineResidualService caffeineResidualService;
 
-    private static final double DEFAULT_HALF_LIFE_HOUR = 5.0; // 평균 반감기
-
-    // 카페인 반감기 (현재는 임의로 5시간으로 설정)
-    private double k = Math.log(2) / DEFAULT_HALF_LIFE_HOUR;
-
     /**
      * 새로운 카페인 섭취 기록을 등록하고, 섭취 시간을 기준으로 사용자의 예상 카페인 잔존량을 계산하여 데이터베이스에 업데이트합니다.
      *
@@ -120,12 +115,12 @@ public class CaffeineIntakeService {
             throw e;
         }
 
-        // 6. 일일 통계 업데이트
+        // 6. 일일 통계 업데이트 이벤트 기록 (통계 반영은 롤업 스케줄러에서 비동기로 처리)
         try {
-            dailyStatisticsService.updateDailyStatistics(user, LocalDate.from(request.intakeTime()), request.caffeineAmount());
-            log.info("[recordCaffeineIntake] 일일 통계 업데이트 완료");
+            dailyStatisticsEventService.publish(userId, LocalDate.from(request.intakeTime()), request.caffeineAmount());
+            log.info("[recordCaffeineIntake] 일일 통계 이벤트 기록 완료");
         } catch (Exception e) {
-            log.error("[recordCaffeineIntake] 일일 통계 업데이트 실패", e);
+            log.error("[recordCaffeineIntake] 일일 통계 이벤트 기록 실패", e);
             throw e;
         }
 
@@ -206,13 +201,13 @@ public class CaffeineIntakeService {
             // 기존 시간 기준 삭제 ->  수정 이전의 잔존량 삭제
             caffeineResidualService.modifyResidualAmounts(user.getId(), previousIntakeTime,
                 previousCaffeineAmount);
-            dailyStatisticsService.updateDailyStatistics(user, LocalDate.from(previousIntakeTime),
+            dailyStatisticsEventService.publish(user.getId(), LocalDate.from(previousIntakeTime),
                 previousCaffeineAmount * -1);
 
             // 새로운 시간 기준으로 update -> 수정 후의 잔존량 계산 및 저장
             caffeineResidualService.updateResidualAmounts(user.getId(), newIntakeTime,
                 newCaffeineAmount);
-            dailyStatisticsService.updateDailyStatistics(user, LocalDate.from(newIntakeTime),
+            dailyStatisticsEventService.publish(user.getId(), LocalDate.from(newIntakeTime),
                 newCaffeineAmount);
 
             intakeRepository.save(intake);
@@ -245,12 +240,13 @@ public class CaffeineIntakeService {
             float previousCaffeineAmount = intake.getCaffeineAmountMg();
             int previousDrinkCount = intake.getDrinkCount();
 
-            // 2. 해당 섭취 내역의 영향이 있는 시간 범위 내의 카페인 잔존량 수치 수정
-            caffeineResidualService.modifyResidualAmounts(user.getId(), previousIntakeTime, previousCaffeineAmount);
-            dailyStatisticsService.updateDailyStatistics(user, LocalDate.from(previousIntakeTime), previousCaffeineAmount * -1);
-
-            // 3. 해당 데이터 CaffeineIntakes 테이블에서 삭제
+            // 2. 해당 데이터 CaffeineIntakes 테이블에서 삭제
+            // 잔존량을 섭취 기록으로부터 계산하는 경우, 통계 갱신 시 삭제된 섭취 내역이 반영되지 않도록 먼저 삭제
             intakeRepository.deleteById(intakeId);
+
+            // 3. 해당 섭취 내역의 영향이 있는 시간 범위 내의 카페인 잔존량 수치 수정
+            caffeineResidualService.modifyResidualAmounts(user.getId(), previousIntakeTime, previousCaffeineAmount);
+            dailyStatisticsEventService.publish(user.getId(), LocalDate.from(previousIntakeTime), previousCaffeineAmount * -1);
         }
         catch(Exception e){
             log.error("[CaffeineIntakeService.deleteCaffeineIntake] 섭취 기록 삭제 실패 - intakeId: {}", intakeId);
@@ -0,0 +1,173 @@
+package com.ktb.cafeboo.domain.caffeinediary.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ktb.cafeboo.domain.caffeinediary.dto.CaffeineIntakePoint;
+import com.ktb.cafeboo.domain.caffeinediary.repository.CaffeineIntakeRepository;
+import com.ktb.cafeboo.domain.caffeinediary.service.CaffeineEliminationModel.EliminationProfile;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 섭취 기록으로부터 시간별 카페인 잔존량을 직접 계산합니다.
+ * 잔존량(t) = Σ 섭취량 * e^(-k * 경과시간), 경과시간은 섭취 시각(시 단위 절삭) 기준 0 ~ 24시간
+ * e^(-k * 경과시간)은 사용자 제거 모델의 감쇠 계수 테이블을 사용합니다.
+ */
+@Slf4j
+@Component
+public class CaffeineResidualCalculator {
+
+    // 한 번의 섭취가 잔존량에 영향을 주는 시간 범위 (섭취 시각 포함 25개 시간대)
+    public static final int EFFECT_HOURS = 24;
+
+    private final CaffeineIntakeRepository intakeRepository;
+
+    private final boolean cacheEnabled;
+
+    // userId -> 최근 조회한 섭취 기록의 압축 표현
+    private final Cache<Long, IntakeTimeline> timelineCache;
+
+    public CaffeineResidualCalculator(
+        CaffeineIntakeRepository intakeRepository,
+        @Value("${caffeine.residual.cache.enabled:false}") boolean cacheEnabled,
+        @Value("${caffeine.residual.cache.ttl-seconds:60}") long cacheTtlSeconds,
+        @Value("${caffeine.residual.cache.max-users:10000}") long cacheMaxUsers
+    ) {
+        this.intakeRepository = intakeRepository;
+        this.cacheEnabled = cacheEnabled;
+        this.timelineCache = Caffeine.newBuilder()
+            .maximumSize(cacheMaxUsers)
+            .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+            .build();
+    }
+
+    /**
+     * startHour(시 단위 절삭)부터 hours개 시간대의 잔존량을 계산합니다. 섭취 기록은 한 번의 범위 조회로 가져옵니다.
+     * @param userId 사용자 고유키
+     * @param profile 사용자 카페인 제거 모델
+     * @param startTime 조회 시작 시각
+     * @param hours 조회할 시간대 개수
+     * @return index i 가 startHour + i 시의 잔존량(mg)인 배열
+     */
+    public float[] calculateHourlyResiduals(Long userId, EliminationProfile profile, LocalDateTime startTime, int hours) {
+        long startEpochHour = toEpochHour(startTime);
+        long endEpochHour = startEpochHour + hours - 1;
+
+        IntakeTimeline timeline = loadTimeline(userId, startEpochHour - EFFECT_HOURS, endEpochHour);
+
+        float[] residuals = new float[hours];
+        for (int i = 0; i < timeline.size(); i++) {
+            long intakeEpochHour = timeline.epochHours[i];
+            float amount = timeline.amounts[i];
+
+            long from = Math.max(intakeEpochHour, startEpochHour);
+            long to = Math.min(intakeEpochHour + EFFECT_HOURS, endEpochHour);
+            for (long hour = from; hour <= to; hour++) {
+                residuals[(int) (hour - startEpochHour)] += (float) (amount * profile.decayFactor((int) (hour - intakeEpochHour)));
+            }
+        }
+        return residuals;
+    }
+
+    /**
+     * 특정 시간대(시 단위 절삭)의 잔존량을 계산합니다.
+     */
+    public float calculateResidualAt(Long userId, EliminationProfile profile, LocalDateTime time) {
+        return calculateHourlyResiduals(userId, profile, time, 1)[0];
+    }
+
+    /**
+     * 섭취 기록이 변경된 사용자의 캐시를 무효화합니다.
+     * 트랜잭션 안에서 호출된 경우, 커밋 전에 다른 요청이 이전 기록으로 다시 캐싱할 수 있으므로 커밋 이후에 한 번 더 무효화합니다.
+     */
+    public void evict(Long userId) {
+        if (!cacheEnabled) {
+            return;
+        }
+        timelineCache.invalidate(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    timelineCache.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    private IntakeTimeline loadTimeline(Long userId, long fromEpochHour, long toEpochHour) {
+        if (cacheEnabled) {
+            IntakeTimeline cached = timelineCache.getIfPresent(userId);
+            if (cached != null && cached.covers(fromEpochHour, toEpochHour)) {
+                // 계산 시 조회 구간 밖의 섭취 기록은 자연히 제외되므로 그대로 사용
+                return cached;
+            }
+        }
+
+        // 시 단위로 절삭된 범위이므로 마지막 시간대의 59분 59초까지 포함
+        List<CaffeineIntakePoint> points = intakeRepository.findIntakePointsByUserIdAndIntakeTimeBetween(
+            userId,
+            fromEpochHour(fromEpochHour),
+            fromEpochHour(toEpochHour + 1).minusNanos(1)
+        );
+        IntakeTimeline timeline = IntakeTimeline.of(points, fromEpochHour, toEpochHour);
+
+        if (cacheEnabled) {
+            timelineCache.put(userId, timeline);
+        }
+        return timeline;
+    }
+
+    private static long toEpochHour(LocalDateTime time) {
+        return time.truncatedTo(ChronoUnit.HOURS).toEpochSecond(ZoneOffset.UTC) / 3600;
+    }
+
+    private static LocalDateTime fromEpochHour(long epochHour) {
+        return LocalDateTime.ofEpochSecond(epochHour * 3600, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * 섭취 기록을 (섭취 시각의 epoch hour, 섭취량) 배열로 압축한 표현. 섭취 시각 오름차순으로 정렬되어 있습니다.
+     */
+    private static final class IntakeTimeline {
+        private final long[] epochHours;
+        private final float[] amounts;
+        private final long fromEpochHour;
+        private final long toEpochHour;
+
+        private IntakeTimeline(long[] epochHours, float[] amounts, long fromEpochHour, long toEpochHour) {
+            this.epochHours = epochHours;
+            this.amounts = amounts;
+            this.fromEpochHour = fromEpochHour;
+            this.toEpochHour = toEpochHour;
+        }
+
+        static IntakeTimeline of(List<CaffeineIntakePoint> points, long fromEpochHour, long toEpochHour) {
+            long[] epochHours = new long[points.size()];
+            float[] amounts = new float[points.size()];
+            for (int i = 0; i < points.size(); i++) {
+                CaffeineIntakePoint point = points.get(i);
+                epochHours[i] = toEpochHour(point.intakeTime());
+                amounts[i] = point.caffeineAmountMg() != null ? point.caffeineAmountMg() : 0f;
+            }
+            return new IntakeTimeline(epochHours, amounts, fromEpochHour, toEpochHour);
+        }
+
+        int size() {
+            return epochHours.length;
+        }
+
+        boolean covers(long from, long to) {
+            return from >= fromEpochHour && to <= toEpochHour;
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package com.ktb.cafeboo.domain.caffeinediary.service;
 
 import com.ktb.cafeboo.domain.caffeinediary.model.CaffeineResidual;
+import com.ktb.cafeboo.domain.caffeinediary.repository.CaffeineResidualBulkRepository;
 import com.ktb.cafeboo.domain.caffeinediary.repository.CaffeineResidualRepository;
+import com.ktb.cafeboo.domain.caffeinediary.service.CaffeineEliminationModel.EliminationProfile;
 import com.ktb.cafeboo.domain.user.model.User;
 import com.ktb.cafeboo.domain.user.service.UserService;
 import com.ktb.cafeboo.global.apiPayload.code.status.ErrorStatus;
 import com.ktb.cafeboo.global.apiPayload.exception.CustomApiException;
+import com.ktb.cafeboo.global.enums.CaffeineResidualMode;
+import jakarta.persistence.EntityManager;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -18,6 +22,7 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import java.util.Comparator;
 
@@ -26,19 +31,34 @@ import java.util.Comparator;
 @Slf4j
 public class CaffeineResidualService {
     private final CaffeineResidualRepository residualRepository;
+    private final CaffeineResidualBulkRepository residualBulkRepository;
+    private final EntityManager entityManager;
 
     private final UserService userService;
+    private final CaffeineResidualCalculator residualCalculator;
+    private final CaffeineEliminationModel eliminationModel;
+
+    @Value("${caffeine.residual.mode:COMPUTED}")
+    private CaffeineResidualMode residualMode;
+
+    @Value("${caffeine.residual.rebuild-days:7}")
+    private int rebuildDays;
 
     private static final Integer HOURS_RANGE = 17;
-    private static final double DEFAULT_HALF_LIFE_HOUR = 5.0;
-    // 카페인 반감기 (현재는 임의로 5시간으로 설정)
-    private double k = Math.log(2) / DEFAULT_HALF_LIFE_HOUR;
 
     public void modifyResidualAmounts(Long userId, LocalDateTime previousIntakeTime, float previousCaffeineAmount) {
+        if (residualMode == CaffeineResidualMode.COMPUTED) {
+            // 조회 시점에 섭취 기록으로부터 계산하므로 저장된 잔존량을 수정할 필요가 없음
+            residualCalculator.evict(userId);
+            return;
+        }
+
         final LocalDateTime previousTargetTime = previousIntakeTime.minusHours(17).toLocalDate().atStartOfDay();
         final LocalDateTime previousEndTime = previousIntakeTime.plusHours(24);
 
         User user = userService.findUserById(userId);
+        // 저장되는 값이므로 캐시된 제거 모델 대신 현재 건강 정보로 계산
+        EliminationProfile profile = eliminationModel.loadProfile(user);
         LocalDateTime previousIntakeHour = previousIntakeTime.truncatedTo(ChronoUnit.HOURS);
         log.info("[CaffeineResidualService.modifyResidualAmounts] 수정 대상 기준 섭취 시간(hour 단위) - previousIntakeHour={}", previousIntakeHour);
         // 1. 섭취 내역 수정으로 인해 영향을 받는 잔존량 데이터 조회 (24hour)
@@ -60,13 +80,17 @@ public class CaffeineResidualService {
 
             // 해당 시점이 이전 섭취 시간과 새로운 섭취 시간 사이에 있는 경우에만 처리
             if (residualDateTime.isAfter(previousIntakeHour) || residualDateTime.isEqual(previousIntakeHour)) {
+                // 섭취 후 24시간이 지난 시간대에는 이전 섭취의 영향이 저장되지 않았음
+                if (hoursSincePreviousIntake > CaffeineResidualCalculator.EFFECT_HOURS) {
+                    break;
+                }
                 // 이전 섭취로 인한 잔존량 계산
                 log.info("[modifyResidualAmounts] 잔존량 계산 대상 시간 비교 - residualDateTime={}, 기준섭취시간={}, isAfter={}, isEqual={}",
                         residualDateTime, previousIntakeHour,
                         residualDateTime.isAfter(previousIntakeHour),
                         residualDateTime.isEqual(previousIntakeHour));
                 double previousResidualAmount =
-                    previousCaffeineAmount * Math.exp(-k * hoursSincePreviousIntake);
+                    previousCaffeineAmount * profile.decayFactor(hoursSincePreviousIntake);
 
                 // 현재 총 잔존량에서 이전 섭취로 인한 잔존량을 차감
                 float updatedAmount =
@@ -91,45 +115,88 @@ public class CaffeineResidualService {
     }
 
     public void updateResidualAmounts(Long userId, LocalDateTime intakeTime, float initialCaffeineAmount) {
+        if (residualMode == CaffeineResidualMode.COMPUTED) {
+            residualCalculator.evict(userId);
+            return;
+        }
+
         User user = userService.findUserById(userId);
+        // 저장되는 값이므로 캐시된 제거 모델 대신 현재 건강 정보로 계산
+        EliminationProfile profile = eliminationModel.loadProfile(user);
 
-        List<CaffeineResidual> residuals = new ArrayList<>();
+        // 1. 섭취의 영향을 받는 25시간 구간의 기존 잔존량을 한 번에 조회 (key: "yyyy-MM-dd-H")
+        List<CaffeineResidual> existingResiduals = residualRepository.findByUserAndTargetDateBetween(
+            user,
+            intakeTime.toLocalDate().atStartOfDay(),
+            intakeTime.plusHours(24).toLocalDate().atStartOfDay()
+        );
+        Map<String, CaffeineResidual> existingMap = existingResiduals.stream()
+            .collect(Collectors.toMap(
+                r -> r.getTargetDate().toLocalDate().toString() + "-" + r.getHour(),
+                Function.identity(),
+                (r1, r2) -> r2
+            ));
+
+        // 2. 메모리에서 이번 섭취량의 영향을 합산
+        List<CaffeineResidualBulkRepository.ResidualRow> rows = new ArrayList<>();
         for (int hourOffset = 0; hourOffset <= 24; hourOffset++) {
             LocalDateTime targetTime = intakeTime.plusHours(hourOffset);
             LocalDateTime targetDateTime = targetTime.toLocalDate().atStartOfDay();
             int hour = targetTime.getHour();
-            double timeElapsed = hourOffset;
-            double residualAmount = initialCaffeineAmount * Math.exp(-k * timeElapsed);
+            double residualAmount = initialCaffeineAmount * profile.decayFactor(hourOffset);
 
-            Optional<CaffeineResidual> existingResidual = residualRepository.findByUserAndTargetDateAndHour(user, targetDateTime, hour);
-            double currentCaffeineAtTargetTime;
+            // targetTime의 최종 잔존량 (이전 잔존량은 이미 반감기가 적용된 상태)
+            CaffeineResidual existing = existingMap.get(targetDateTime.toLocalDate().toString() + "-" + hour);
+            double previousResidualAmount = existing != null ? existing.getResidueAmountMg() : 0;
 
-            if (existingResidual.isPresent()) {
-                // 기존 데이터가 있으면, 해당 시점의 잔존량에 현재 섭취량의 영향을 더함
-                CaffeineResidual residual = existingResidual.get();
-                double previousResidualAmount = residual.getResidueAmountMg();
+            rows.add(new CaffeineResidualBulkRepository.ResidualRow(
+                targetDateTime, hour, (float) (previousResidualAmount + residualAmount)));
+        }
 
-                // targetTime의 최종 잔존량 (이전 잔존량은 이미 반감기가 적용된 상태)
-                currentCaffeineAtTargetTime = previousResidualAmount + residualAmount;
+        // 3. (user_id, target_date, hour) 기준 배치 upsert
+        try {
+            // 영속성 컨텍스트에 남아있는 변경분을 먼저 반영하고, 배치 저장 후에는 조회한 엔티티를 분리해 이후 조회 시 최신 값을 읽도록 함
+            residualRepository.flush();
+            residualBulkRepository.upsertAll(userId, rows);
+            existingResiduals.forEach(entityManager::detach);
+        } catch (Exception e) {
+            log.error("[CaffeineResidualService.updateResidualAmounts] 잔존량 갱신 저장 실패 - userId={}, message={}", userId, e.getMessage(), e);
+            throw new CustomApiException(ErrorStatus.RESIDUAL_SAVE_ERROR);
+        }
+    }
 
-                residual.setResidueAmountMg((float) currentCaffeineAtTargetTime);
-                residuals.add(residual);
-            } else {
-                // 기존 데이터가 없으면 새로 생성
-                CaffeineResidual residual = CaffeineResidual.builder()
-                    .user(user)
-                    .targetDate(targetDateTime)
-                    .hour(hour)
-                    .residueAmountMg((float) residualAmount)
-                    .build();
-                residuals.add(residual);
-            }
+    /**
+     * 제거 모델(건강 정보, 카페인 민감도)이 바뀐 사용자의 저장된 잔존량을 섭취 기록으로부터 다시 계산합니다. (STORED 모드)
+     * 저장된 잔존량은 기록 당시의 제거 모델로 누적된 값이므로, 그대로 두면 이후 섭취 수정 시 새 모델로 차감되어 값이 어긋납니다.
+     * 최근 rebuildDays일부터 마지막 섭취의 영향이 끝나는 시점까지만 다시 계산하며, 그 이전 기록은 과거 값으로 유지합니다.
+     */
+    public void rebuildStoredResiduals(User user) {
+        if (residualMode == CaffeineResidualMode.COMPUTED) {
+            return;
+        }
+
+        EliminationProfile profile = eliminationModel.loadProfile(user);
+        LocalDateTime startTime = LocalDate.now().minusDays(rebuildDays).atStartOfDay();
+        LocalDateTime endTime = LocalDateTime.now().plusHours(CaffeineResidualCalculator.EFFECT_HOURS);
+        int hours = (int) ChronoUnit.HOURS.between(startTime, endTime) + 1;
+
+        float[] residualAmounts = residualCalculator.calculateHourlyResiduals(user.getId(), profile, startTime, hours);
+
+        List<CaffeineResidualBulkRepository.ResidualRow> rows = new ArrayList<>(residualAmounts.length);
+        for (int i = 0; i < residualAmounts.length; i++) {
+            LocalDateTime timePoint = startTime.plusHours(i);
+            rows.add(new CaffeineResidualBulkRepository.ResidualRow(
+                timePoint.toLocalDate().atStartOfDay(), timePoint.getHour(), residualAmounts[i]));
         }
+
         try {
-            residualRepository.saveAll(residuals);
+            residualRepository.flush();
+            residualBulkRepository.upsertAll(user.getId(), rows);
+            log.info("[CaffeineResidualService.rebuildStoredResiduals] 잔존량 재계산 완료 - userId={}, halfLifeHour={}, hours={}",
+                user.getId(), profile.halfLifeHour(), hours);
         } catch (Exception e) {
-            log.error("[CaffeineResidualService.updateResidualAmounts] 잔존량 갱신 저장 실패 - userId={}, message={}", userId, e.getMessage(), e);
-            throw new RuntimeException("카페인 잔존량 갱신 중 오류가 발생했습니다.", e);
+            log.error("[CaffeineResidualService.rebuildStoredResiduals] 잔존량 재계산 저장 실패 - userId={}, message={}", user.getId(), e.getMessage(), e);
+            throw new CustomApiException(ErrorStatus.RESIDUAL_SAVE_ERROR);
         }
     }
 
@@ -143,6 +210,10 @@ public class CaffeineResidualService {
         User user,
         LocalDateTime currentDateTime) {
 
+        if (residualMode == CaffeineResidualMode.COMPUTED) {
+            return calculateResidualsByTimeRange(user, currentDateTime);
+        }
+
         LocalDateTime startTime = currentDateTime.minusHours(HOURS_RANGE);
         LocalDateTime endTime = currentDateTime.plusHours(HOURS_RANGE);
 
@@ -184,6 +255,17 @@ public class CaffeineResidualService {
     }
 
     public CaffeineResidual findByUserAndTargetDateAndHour(User user, LocalDateTime now, int hour){
+        if (residualMode == CaffeineResidualMode.COMPUTED) {
+            float residualAmount = residualCalculator.calculateResidualAt(
+                user.getId(), eliminationModel.getProfile(user), now.toLocalDate().atTime(hour, 0));
+            return CaffeineResidual.builder()
+                .user(user)
+                .targetDate(now)
+                .hour(hour)
+                .residueAmountMg(residualAmount)
+                .build();
+        }
+
         Optional<CaffeineResidual> residualOptional = residualRepository.findByUserAndTargetDateAndHour(user, now, hour);
 
         return residualOptional.orElseGet(() -> CaffeineResidual.builder()
@@ -193,4 +275,27 @@ public class CaffeineResidualService {
             .residueAmountMg(0.0f)
             .build());
     }
-}
\ No newline at end of file
+
+    /**
+     * 섭취 기록으로부터 현재 시간 기준 전후 17시간의 잔존량을 계산합니다. (저장되지 않는 CaffeineResidual 객체로 반환)
+     */
+    private List<CaffeineResidual> calculateResidualsByTimeRange(User user, LocalDateTime currentDateTime) {
+        LocalDateTime startTime = currentDateTime.minusHours(HOURS_RANGE);
+        float[] residualAmounts = residualCalculator.calculateHourlyResiduals(
+            user.getId(), eliminationModel.getProfile(user), startTime, HOURS_RANGE * 2 + 1);
+
+        List<CaffeineResidual> result = new ArrayList<>(residualAmounts.length);
+        for (int i = 0; i < residualAmounts.length; i++) {
+            LocalDateTime timePoint = startTime.plusHours(i);
+            result.add(
+                CaffeineResidual.builder()
+                    .user(user)
+                    .targetDate(timePoint.toLocalDate().atStartOfDay())
+                    .hour(timePoint.getHour())
+                    .residueAmountMg(residualAmounts[i])
+                    .build()
+            );
+        }
+        return result;
+    }
+}
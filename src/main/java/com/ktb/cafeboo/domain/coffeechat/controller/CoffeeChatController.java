@@ -9,7 +9,9 @@ import com.ktb.cafeboo.global.apiPayload.code.status.ErrorStatus;
 import com.ktb.cafeboo.global.apiPayload.code.status.SuccessStatus;
 import com.ktb.cafeboo.global.security.userdetails.CustomUserDetails;
 import lombok.RequiredArgsConstructor;
+import java.time.LocalDateTime;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -54,15 +56,34 @@ public class CoffeeChatController {
     @GetMapping
     public ResponseEntity<ApiResponse<CoffeeChatListResponse>> getCoffeeChatList(
         @RequestParam("status") String status,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer limit,
         @AuthenticationPrincipal CustomUserDetails userDetails
     ) {
         Long userId = userDetails.getUserId();
-        log.info("[GET /api/v1/coffee-chats?status={}] 커피챗 목록 조회 요청 수신 - userId: {}", status, userId);
+        log.info("[GET /api/v1/coffee-chats?status={}] 커피챗 목록 조회 요청 수신 - userId: {}, cursor: {}, limit: {}", status, userId, cursor, limit);
 
-        CoffeeChatListResponse response = coffeeChatService.getCoffeeChatsByStatus(userId, status);
+        CoffeeChatListResponse response = coffeeChatService.getCoffeeChatsByStatus(userId, status, cursor, limit);
         return ResponseEntity.ok(ApiResponse.of(SuccessStatus.COFFEECHAT_LIST_LOAD_SUCCESS, response));
     }
 
+    @PreAuthorize("hasRole('USER')")
+    @GetMapping("/nearby")
+    public ResponseEntity<ApiResponse<CoffeeChatNearbyResponse>> getNearbyCoffeeChats(
+        @AuthenticationPrincipal CustomUserDetails userDetails,
+        @RequestParam double latitude,
+        @RequestParam double longitude,
+        @RequestParam(defaultValue = "3000") int radius,
+        @RequestParam(defaultValue = "20") int limit
+    ) {
+        log.info("[GET /api/v1/coffee-chats/nearby] 주변 커피챗 조회 요청 - userId: {}, latitude: {}, longitude: {}, radius: {}, limit: {}",
+            userDetails.getUserId(), latitude, longitude, radius, limit);
+
+        CoffeeChatNearbyResponse response = coffeeChatService.getNearbyCoffeeChats(
+            userDetails.getUserId(), latitude, longitude, radius, limit);
+        return ResponseEntity.ok(ApiResponse.of(SuccessStatus.COFFEECHAT_NEARBY_LOAD_SUCCESS, response));
+    }
+
     @PreAuthorize("hasRole('USER')")
     @GetMapping("/{coffeechatId}")
     public ResponseEntity<ApiResponse<CoffeeChatDetailResponse>> getCoffeeChatDetail(
@@ -120,17 +141,19 @@ public class CoffeeChatController {
         @PathVariable Long coffeechatId,
         @RequestParam String cursor,
         @RequestParam(defaultValue = "20") int limit,
-        @RequestParam(defaultValue = "desc") String order
+        @RequestParam(defaultValue = "desc") String order,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since
     ) {
-        log.info("[CoffeeChatMessageController.getMessages] 메시지 조회 요청 - userId={}, coffeechatId={}, cursor={}, limit={}, order={}",
-            userDetails.getUserId(), coffeechatId, cursor, limit, order);
+        log.info("[CoffeeChatMessageController.getMessages] 메시지 조회 요청 - userId={}, coffeechatId={}, cursor={}, limit={}, order={}, since={}",
+            userDetails.getUserId(), coffeechatId, cursor, limit, order, since);
 
         CoffeeChatMessagesResponse response = coffeeChatMessageService.getMessages(
             userDetails.getUserId(),
             coffeechatId,
             cursor,
             limit,
-            order
+            order,
+            since
         );
 
         return ResponseEntity.ok(ApiResponse.of(SuccessStatus.COFFEECHAT_MESSAGES_LOAD_SUCCESS, response));
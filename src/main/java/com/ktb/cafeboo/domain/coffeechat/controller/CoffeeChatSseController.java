@@ -2,11 +2,14 @@ package com.ktb.cafeboo.domain.coffeechat.controller;
 
 import com.ktb.cafeboo.domain.coffeechat.service.CoffeeChatSseService;
 import com.ktb.cafeboo.global.security.userdetails.CustomUserDetails;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
@@ -18,7 +21,13 @@ public class CoffeeChatSseController {
     private final CoffeeChatSseService coffeeChatSseService;
 
     @GetMapping(value = "/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public SseEmitter subscribeToCoffeeChat(@AuthenticationPrincipal CustomUserDetails userDetails) {
-        return coffeeChatSseService.subscribe(userDetails.getUserId());
+    public SseEmitter subscribeToCoffeeChat(
+        @AuthenticationPrincipal CustomUserDetails userDetails,
+        @RequestParam(defaultValue = "true") boolean list,
+        @RequestParam(defaultValue = "true") boolean my,
+        @RequestParam(required = false) List<Long> coffeechatIds,
+        @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        return coffeeChatSseService.subscribe(userDetails.getUserId(), list, my, coffeechatIds, lastEventId);
     }
 }
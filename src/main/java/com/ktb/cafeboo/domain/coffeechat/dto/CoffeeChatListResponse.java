@@ -6,8 +6,14 @@ import java.util.List;
 
 public record CoffeeChatListResponse(
         String filter,
-        List<CoffeeChatSummary> coffeechats
+        List<CoffeeChatSummary> coffeechats,
+        String nextCursor,
+        boolean hasNext
 ) {
+    public CoffeeChatListResponse(String filter, List<CoffeeChatSummary> coffeechats) {
+        this(filter, coffeechats, null, false);
+    }
+
     public record CoffeeChatSummary(
             String coffeeChatId,
             String title,
@@ -23,6 +29,12 @@ public record CoffeeChatListResponse(
             Boolean isJoined,
             Boolean isReviewed
     ) {
+        // 사용자별 참여/후기 여부만 바꾼 사본
+        public CoffeeChatSummary withUserFlags(boolean isJoined, boolean isReviewed) {
+            return new CoffeeChatSummary(coffeeChatId, title, date, time, maxMemberCount, currentMemberCount,
+                    tags, address, writer, isJoined, isReviewed);
+        }
+
         public static CoffeeChatSummary of(
                 com.ktb.cafeboo.domain.coffeechat.model.CoffeeChat chat,
                 boolean isJoined,
@@ -0,0 +1,15 @@
+package com.ktb.cafeboo.domain.coffeechat.dto;
+
+import java.util.List;
+
+public record CoffeeChatNearbyResponse(
+        double latitude,
+        double longitude,
+        int radiusMeters,
+        List<NearbyCoffeeChat> coffeechats
+) {
+    public record NearbyCoffeeChat(
+            CoffeeChatListResponse.CoffeeChatSummary coffeechat,
+            int distanceMeters
+    ) {}
+}
@@ -0,0 +1,41 @@
+package com.ktb.cafeboo.domain.coffeechat.dto;
+
+import com.ktb.cafeboo.domain.coffeechat.model.CoffeeChat;
+import com.ktb.cafeboo.domain.coffeechat.model.CoffeeChatMember;
+import com.ktb.cafeboo.global.enums.CoffeeChatStatus;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 채팅 전송 경로에서 사용하는 커피챗 방의 불변 스냅샷 (방 상태 + 참여자 목록)
+ */
+public record CoffeeChatRoomSnapshot(
+        Long coffeechatId,
+        CoffeeChatStatus status,
+        Map<Long, Member> members,
+        long loadedAtMillis
+) {
+
+    public record Member(
+            Long memberId,
+            String chatNickname,
+            String profileImageUrl,
+            boolean isHost
+    ) {
+        public static Member from(CoffeeChatMember member) {
+            return new Member(member.getId(), member.getChatNickname(), member.getProfileImageUrl(), member.isHost());
+        }
+    }
+
+    public static CoffeeChatRoomSnapshot from(CoffeeChat chat) {
+        Map<Long, Member> members = chat.getMembers().stream()
+                .map(Member::from)
+                .collect(Collectors.toUnmodifiableMap(Member::memberId, Function.identity()));
+        return new CoffeeChatRoomSnapshot(chat.getId(), chat.getStatus(), members, System.currentTimeMillis());
+    }
+
+    public Member findMember(Long memberId) {
+        return members.get(memberId);
+    }
+}
@@ -52,4 +52,31 @@ public class StompMessagePublish {
                 .build())
             .build();
     }
+
+    // 채팅 전송 경로용: 참여자 엔티티 대신 방 스냅샷의 참여자 정보를 사용
+    public static StompMessagePublish from(CoffeeChatMessage message, CoffeeChatRoomSnapshot.Member senderMember) {
+        return StompMessagePublish.builder()
+            .messageId(message.getMessageUuid())
+            .coffeechatId(message.getCoffeeChat().getId())
+            .messageType(message.getType())
+            .content(message.getContent())
+            .sentAt(message.getCreatedAt())
+            .sender(SenderInfo.builder()
+                .memberId(String.valueOf(senderMember.memberId()))
+                .chatNickname(senderMember.chatNickname())
+                .profileImageUrl(senderMember.profileImageUrl())
+                .build())
+            .build();
+    }
+
+    // 검열로 가려진 메시지를 알리는 이벤트 (message-redacted). messageId로 가릴 메시지를 식별
+    public static StompMessagePublish redacted(String messageId, Long coffeechatId, String placeholder) {
+        return StompMessagePublish.builder()
+            .messageId(messageId)
+            .coffeechatId(coffeechatId)
+            .messageType(MessageType.REDACTED)
+            .content(placeholder)
+            .sentAt(LocalDateTime.now())
+            .build();
+    }
 }
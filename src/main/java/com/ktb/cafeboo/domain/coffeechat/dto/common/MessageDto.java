@@ -9,4 +9,29 @@ public record MessageDto(
         String content,
         MessageType messageType,
         LocalDateTime sentAt
-) {}
+) {
+    // JPQL 생성자 조회용 (보낸 멤버가 없으면 senderId, senderIsHost는 null)
+    public MessageDto(
+            Long messageId,
+            Long senderId,
+            String senderChatNickname,
+            String senderProfileImageUrl,
+            Boolean senderIsHost,
+            String content,
+            MessageType messageType,
+            LocalDateTime sentAt
+    ) {
+        this(
+                String.valueOf(messageId),
+                new MemberDto(
+                        senderId != null ? senderId.toString() : null,
+                        senderChatNickname,
+                        senderProfileImageUrl,
+                        Boolean.TRUE.equals(senderIsHost)
+                ),
+                content,
+                messageType,
+                sentAt
+        );
+    }
+}
@@ -17,7 +17,11 @@ import java.util.*;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "coffee_chats")
+@Table(
+    name = "coffee_chats",
+    // 주변 커피챗 검색(위경도 범위 조회)용
+    indexes = @Index(name = "idx_coffee_chats_lat_lng", columnList = "latitude, longitude")
+)
 @Where(clause = "deleted_at IS NULL")
 public class CoffeeChat extends BaseEntity {
 
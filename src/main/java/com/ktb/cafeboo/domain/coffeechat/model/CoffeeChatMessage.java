@@ -6,6 +6,11 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
+@Table(
+    name = "coffee_chat_message",
+    // 채팅방별 id 기준 keyset 페이지네이션용
+    indexes = @Index(name = "idx_coffee_chat_message_chat_id_id", columnList = "coffee_chat_id, id")
+)
 @Getter
 @Builder
 @NoArgsConstructor
@@ -38,4 +43,12 @@ public class CoffeeChatMessage extends BaseEntity {
             .type(type)
             .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * 검열로 가려진 메시지의 내용을 대체하고 삭제 처리합니다.
+     */
+    public void redact(String placeholder) {
+        this.content = placeholder;
+        delete();
+    }
+}
@@ -2,12 +2,19 @@ package com.ktb.cafeboo.domain.coffeechat.repository;
 
 import com.ktb.cafeboo.domain.coffeechat.model.CoffeeChatMember;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
+import java.util.Set;
 
 public interface CoffeeChatMemberRepository extends JpaRepository<CoffeeChatMember, Long> {
 
     Optional<CoffeeChatMember> findByCoffeeChatIdAndUserId(Long chatId, Long Id);
     Optional<CoffeeChatMember> findByCoffeeChatIdAndId(Long chatId, Long Id);
     boolean existsByCoffeeChatIdAndChatNickname(Long chatId, String chatNickname);
+
+    // 사용자가 참여 중인 커피챗 id 목록
+    @Query("SELECT m.coffeeChat.id FROM CoffeeChatMember m WHERE m.user.id = :userId")
+    Set<Long> findCoffeeChatIdsByUserId(@Param("userId") Long userId);
 }
@@ -0,0 +1,96 @@
+package com.ktb.cafeboo.domain.coffeechat.repository;
+
+import com.ktb.cafeboo.domain.coffeechat.dto.StompMessagePublish;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * CoffeeChatMessage(coffee_chat_message) 테이블에 대한 JDBC 배치 쓰기.
+ * Kafka에서 받은 메시지를 묶어서 저장하며, message_uuid 유니크 키로 중복 저장을 막습니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CoffeeChatMessageBulkRepository {
+
+    // 재전송 등으로 같은 메시지가 다시 들어오면 무시. INSERT IGNORE와 달리 중복 키 외의 오류(잘린 값, 외래 키 위반 등)는 그대로 실패시킴
+    private static final String INSERT_SQL =
+        "INSERT INTO coffee_chat_message (message_uuid, coffee_chat_id, member_id, content, type, created_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE id = id";
+
+    private static final String REDACT_SQL =
+        "UPDATE coffee_chat_message SET content = ?, deleted_at = ?, updated_at = ? " +
+        "WHERE message_uuid = ? AND deleted_at IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public void insertAll(List<StompMessagePublish> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, messages, messages.size(), (ps, message) -> {
+            Timestamp sentAt = message.getSentAt() != null ? Timestamp.valueOf(message.getSentAt()) : now;
+            ps.setString(1, message.getMessageId());
+            ps.setLong(2, message.getCoffeechatId());
+            if (message.getSender() != null && message.getSender().getMemberId() != null) {
+                ps.setLong(3, Long.parseLong(message.getSender().getMemberId()));
+            } else {
+                ps.setNull(3, Types.BIGINT);
+            }
+            ps.setString(4, message.getContent());
+            ps.setString(5, message.getMessageType().name());
+            ps.setTimestamp(6, sentAt);
+            ps.setTimestamp(7, sentAt);
+        });
+    }
+
+    public void redactAll(List<StompMessagePublish> redactions) {
+        if (redactions.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(REDACT_SQL, redactions, redactions.size(), (ps, redaction) -> {
+            ps.setString(1, redaction.getContent());
+            ps.setTimestamp(2, now);
+            ps.setTimestamp(3, now);
+            ps.setString(4, redaction.getMessageId());
+        });
+    }
+
+    /**
+     * message_uuid로 저장된 메시지의 id와 생성 시각을 조회합니다.
+     * @return message_uuid -> 저장된 메시지
+     */
+    public Map<String, PersistedMessage> findPersistedByMessageUuids(List<String> messageUuids) {
+        if (messageUuids.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, PersistedMessage> persisted = new HashMap<>();
+        namedParameterJdbcTemplate.query(
+            "SELECT id, message_uuid, created_at FROM coffee_chat_message WHERE message_uuid IN (:uuids)",
+            Map.of("uuids", messageUuids),
+            rs -> {
+                persisted.put(rs.getString("message_uuid"),
+                    new PersistedMessage(rs.getLong("id"), rs.getTimestamp("created_at").toLocalDateTime()));
+            });
+        return persisted;
+    }
+
+    public record PersistedMessage(
+        Long id,
+        LocalDateTime createdAt
+    ) {}
+}
@@ -1,15 +1,65 @@
 package com.ktb.cafeboo.domain.coffeechat.repository;
 
+import com.ktb.cafeboo.domain.coffeechat.dto.common.MessageDto;
 import com.ktb.cafeboo.domain.coffeechat.model.CoffeeChatMessage;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface CoffeeChatMessageRepository extends JpaRepository<CoffeeChatMessage, Long> {
 
     List<CoffeeChatMessage> findByCoffeeChatId(Long coffeeChatId);
 
-    List<CoffeeChatMessage> findByCoffeeChatIdAndIdLessThanOrderByIdDesc(Long coffeeChatId, Long cursor, org.springframework.data.domain.Pageable pageable);
+    Optional<CoffeeChatMessage> findByMessageUuid(String messageUuid);
 
-    List<CoffeeChatMessage> findByCoffeeChatIdAndIdGreaterThanOrderByIdAsc(Long coffeeChatId, Long cursor, org.springframework.data.domain.Pageable pageable);
+    // beforeId보다 이전 메시지를 최신순으로 조회 (보낸 멤버를 함께 조인하여 DTO로 바로 조회)
+    @Query("""
+        SELECT new com.ktb.cafeboo.domain.coffeechat.dto.common.MessageDto(
+            m.id, s.id,
+            COALESCE(s.chatNickname, :unknownNickname),
+            COALESCE(s.profileImageUrl, :defaultProfileImageUrl),
+            s.isHost, m.content, m.type, m.createdAt)
+        FROM CoffeeChatMessage m
+        LEFT JOIN m.sender s
+        WHERE m.coffeeChat.id = :coffeeChatId
+        AND m.id < :beforeId
+        AND (:since IS NULL OR m.createdAt >= :since)
+        ORDER BY m.id DESC
+    """)
+    List<MessageDto> findMessageDtosBefore(
+        @Param("coffeeChatId") Long coffeeChatId,
+        @Param("beforeId") Long beforeId,
+        @Param("since") LocalDateTime since,
+        @Param("unknownNickname") String unknownNickname,
+        @Param("defaultProfileImageUrl") String defaultProfileImageUrl,
+        Pageable pageable
+    );
+
+    // afterId보다 이후 메시지를 오래된 순으로 조회
+    @Query("""
+        SELECT new com.ktb.cafeboo.domain.coffeechat.dto.common.MessageDto(
+            m.id, s.id,
+            COALESCE(s.chatNickname, :unknownNickname),
+            COALESCE(s.profileImageUrl, :defaultProfileImageUrl),
+            s.isHost, m.content, m.type, m.createdAt)
+        FROM CoffeeChatMessage m
+        LEFT JOIN m.sender s
+        WHERE m.coffeeChat.id = :coffeeChatId
+        AND m.id > :afterId
+        AND (:since IS NULL OR m.createdAt >= :since)
+        ORDER BY m.id ASC
+    """)
+    List<MessageDto> findMessageDtosAfter(
+        @Param("coffeeChatId") Long coffeeChatId,
+        @Param("afterId") Long afterId,
+        @Param("since") LocalDateTime since,
+        @Param("unknownNickname") String unknownNickname,
+        @Param("defaultProfileImageUrl") String defaultProfileImageUrl,
+        Pageable pageable
+    );
 }
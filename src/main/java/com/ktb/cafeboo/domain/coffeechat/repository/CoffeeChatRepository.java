@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -61,6 +62,35 @@ public interface CoffeeChatRepository extends JpaRepository<CoffeeChat, Long> {
     """)
     List<CoffeeChat> findAllActiveChats();
 
+    // 목록 피드 구성용. 참여자(작성자 정보)와 태그를 함께 조회
+    @Query("""
+        SELECT DISTINCT c FROM CoffeeChat c
+        WHERE c.status IN ('ACTIVE', 'EVENT')
+        AND c.deletedAt IS NULL
+    """)
+    @EntityGraph(attributePaths = {"members", "coffeeChatTags.tag"})
+    List<CoffeeChat> findAllActiveChatsForFeed();
+
+    @Query("SELECT DISTINCT c FROM CoffeeChat c WHERE c.id = :id")
+    @EntityGraph(attributePaths = {"members", "coffeeChatTags.tag"})
+    Optional<CoffeeChat> findForFeedById(@Param("id") Long id);
+
+    // 위경도 범위 안의 활성 커피챗 (주변 검색 후보)
+    @Query("""
+        SELECT DISTINCT c FROM CoffeeChat c
+        WHERE c.status IN ('ACTIVE', 'EVENT')
+        AND c.deletedAt IS NULL
+        AND c.latitude BETWEEN :minLatitude AND :maxLatitude
+        AND c.longitude BETWEEN :minLongitude AND :maxLongitude
+    """)
+    @EntityGraph(attributePaths = {"members", "coffeeChatTags.tag"})
+    List<CoffeeChat> findActiveChatsWithinBounds(
+        @Param("minLatitude") BigDecimal minLatitude,
+        @Param("maxLatitude") BigDecimal maxLatitude,
+        @Param("minLongitude") BigDecimal minLongitude,
+        @Param("maxLongitude") BigDecimal maxLongitude
+    );
+
     // N+1 문제 방지
     @Query("SELECT c FROM CoffeeChat c JOIN FETCH c.members m WHERE c.id = :coffeeChatId")
     Optional<CoffeeChat> findByIdWithMembers(@Param("coffeeChatId") Long coffeeChatId);
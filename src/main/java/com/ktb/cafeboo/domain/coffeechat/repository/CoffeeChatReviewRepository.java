@@ -3,9 +3,17 @@ package com.ktb.cafeboo.domain.coffeechat.repository;
 import com.ktb.cafeboo.domain.coffeechat.model.CoffeeChatMember;
 import com.ktb.cafeboo.domain.coffeechat.model.CoffeeChatReview;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Set;
 
 
 public interface CoffeeChatReviewRepository extends JpaRepository<CoffeeChatReview, Long> {
 
     boolean existsByWriter(CoffeeChatMember writer);
+
+    // 사용자가 후기를 작성한 커피챗 id 목록
+    @Query("SELECT r.coffeeChat.id FROM CoffeeChatReview r WHERE r.writer.user.id = :userId")
+    Set<Long> findCoffeeChatIdsByWriterUserId(@Param("userId") Long userId);
 }
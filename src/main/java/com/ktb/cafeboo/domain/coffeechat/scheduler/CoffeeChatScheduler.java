@@ -1,6 +1,8 @@
 package com.ktb.cafeboo.domain.coffeechat.scheduler;
 
 import com.ktb.cafeboo.domain.coffeechat.repository.CoffeeChatRepository;
+import com.ktb.cafeboo.domain.coffeechat.service.CoffeeChatListFeed;
+import com.ktb.cafeboo.domain.coffeechat.service.CoffeeChatRoomCache;
 import com.ktb.cafeboo.global.enums.CoffeeChatStatus;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +19,8 @@ import java.time.LocalDateTime;
 public class CoffeeChatScheduler {
 
     private final CoffeeChatRepository coffeeChatRepository;
+    private final CoffeeChatRoomCache coffeeChatRoomCache;
+    private final CoffeeChatListFeed coffeeChatListFeed;
 
     /**
      * 매일 오전 9시 30분에 meetingTime 기준 만료 처리
@@ -30,6 +34,10 @@ public class CoffeeChatScheduler {
                 CoffeeChatStatus.ACTIVE,
                 CoffeeChatStatus.ENDED
         );
+        if (updatedCount > 0) {
+            coffeeChatRoomCache.invalidateAll();
+            coffeeChatListFeed.invalidateAll();
+        }
         log.info("[CoffeeChatScheduler] 만료된 커피챗 {}건 처리 완료", updatedCount);
     }
 }
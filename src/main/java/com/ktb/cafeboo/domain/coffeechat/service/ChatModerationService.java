@@ -0,0 +1,58 @@
+package com.ktb.cafeboo.domain.coffeechat.service;
+
+import com.ktb.cafeboo.domain.coffeechat.dto.StompMessagePublish;
+import com.ktb.cafeboo.global.censorship.TextCensorshipFilter;
+import com.ktb.cafeboo.global.infra.chat.ChatTransport;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * 전송 후 검열 (ChatModerationMode.POST_DELIVERY).
+ * 이미 전송된 메시지를 비동기로 AI 검열하고, 유해하면 DB의 메시지를 가린 뒤
+ * 채팅방 구독자에게 message-redacted 이벤트(messageType=REDACTED)를 전송합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatModerationService {
+
+    public static final String REDACTED_PLACEHOLDER = "부적절한 표현이 포함되어 가려진 메시지입니다.";
+
+    private final TextCensorshipFilter textCensorshipFilter;
+    private final CoffeeChatMessageService coffeeChatMessageService;
+    private final ChatTransport chatTransport;
+    private final CoffeeChatMessageWindow coffeeChatMessageWindow;
+
+    @Value("${chat.persistence.write-behind.enabled:false}")
+    private boolean writeBehindEnabled;
+
+    public void moderateAfterDelivery(StompMessagePublish message) {
+        textCensorshipFilter.containsBadWordByAiAsync(message.getContent())
+            .thenAcceptAsync(toxic -> {
+                if (toxic) {
+                    redact(message);
+                }
+            })
+            .exceptionally(e -> {
+                log.error("[ChatModerationService.moderateAfterDelivery] 전송 후 검열 실패 - messageId={}, message={}",
+                    message.getMessageId(), e.getMessage(), e);
+                return null;
+            });
+    }
+
+    private void redact(StompMessagePublish message) {
+        log.info("[ChatModerationService.redact] 유해 메시지 가림 처리 - coffeechatId={}, messageId={}, senderId={}",
+            message.getCoffeechatId(), message.getMessageId(),
+            message.getSender() != null ? message.getSender().getMemberId() : null);
+
+        // write-behind 저장 중에는 원본 메시지가 아직 저장되지 않았을 수 있으므로, 가림 이벤트를 저장 리스너가 순서대로 반영
+        if (!(writeBehindEnabled && chatTransport.supportsWriteBehind())) {
+            coffeeChatMessageService.redact(message.getMessageId(), REDACTED_PLACEHOLDER);
+            coffeeChatMessageWindow.evict(message.getCoffeechatId());
+        }
+        chatTransport.publish(
+            StompMessagePublish.redacted(message.getMessageId(), message.getCoffeechatId(), REDACTED_PLACEHOLDER));
+    }
+}
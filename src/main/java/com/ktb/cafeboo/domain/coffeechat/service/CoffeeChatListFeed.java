@@ -0,0 +1,226 @@
+package com.ktb.cafeboo.domain.coffeechat.service;
+
+import com.ktb.cafeboo.domain.coffeechat.dto.CoffeeChatListResponse.CoffeeChatSummary;
+import com.ktb.cafeboo.domain.coffeechat.model.CoffeeChat;
+import com.ktb.cafeboo.domain.coffeechat.repository.CoffeeChatRepository;
+import com.ktb.cafeboo.global.apiPayload.code.status.ErrorStatus;
+import com.ktb.cafeboo.global.apiPayload.exception.CustomApiException;
+import com.ktb.cafeboo.global.enums.CoffeeChatStatus;
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 활성 커피챗 목록(ALL)의 요약을 정렬된 상태로 메모리에 보관합니다.
+ * 생성/참여/나가기/삭제 시에는 해당 커피챗 하나만 다시 조회하여 반영하고, 만료 처리 시에는 전체를 다시 만듭니다.
+ * 변경은 커밋 이후 Redis pub/sub으로 모든 서버 인스턴스에 전파되며, 누락에 대비해 주기적으로 전체를 다시 만듭니다.
+ * 사용자별 참여/후기 여부는 포함하지 않으며 조회 시점에 덧씌웁니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CoffeeChatListFeed {
+
+    private static final String UPDATE_CHANNEL = "coffeechat:list-feed:update";
+    private static final String REBUILD_ALL = "*";
+    private static final String CURSOR_DELIMITER = "_";
+
+    // 이벤트 커피챗 우선, 최신 생성 순 (동일 시각은 id 역순)
+    private static final Comparator<Entry> FEED_ORDER = Comparator
+            .comparingInt(Entry::rank)
+            .thenComparing(Entry::createdAt, Comparator.reverseOrder())
+            .thenComparing(Entry::coffeechatId, Comparator.reverseOrder());
+
+    private final CoffeeChatRepository coffeeChatRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListener;
+    private final TransactionTemplate transactionTemplate;
+
+    // 정렬된 불변 목록. 변경 시 새 목록으로 교체 (null이면 아직 만들지 않음)
+    private volatile List<Entry> entries;
+
+    private record Entry(Long coffeechatId, int rank, LocalDateTime createdAt, CoffeeChatSummary summary) {
+
+        static Entry from(CoffeeChat chat) {
+            return new Entry(chat.getId(), chat.getStatus() == CoffeeChatStatus.EVENT ? 0 : 1, chat.getCreatedAt(),
+                    CoffeeChatSummary.of(chat, false, false));
+        }
+
+        String toCursor() {
+            return rank + CURSOR_DELIMITER + createdAt + CURSOR_DELIMITER + coffeechatId;
+        }
+    }
+
+    /**
+     * @param summaries 사용자별 참여/후기 여부가 채워지지 않은 요약
+     */
+    public record Page(List<CoffeeChatSummary> summaries, String nextCursor, boolean hasNext) {
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        MessageListener listener = (message, pattern) ->
+                refreshLocal(new String(message.getBody(), StandardCharsets.UTF_8));
+        redisMessageListener.addMessageListener(listener, new ChannelTopic(UPDATE_CHANNEL));
+        log.info("[CoffeeChatListFeed.subscribe] 목록 피드 갱신 채널 구독: {}", UPDATE_CHANNEL);
+    }
+
+    /**
+     * cursor 다음부터 limit개의 요약을 반환합니다.
+     * @param cursor 이전 페이지의 nextCursor (null이면 처음부터)
+     * @param limit null이면 남은 전체 (1 미만은 1로 취급)
+     */
+    public Page page(String cursor, Integer limit) {
+        List<Entry> snapshot = entries();
+
+        int from = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            int index = Collections.binarySearch(snapshot, parseCursor(cursor), FEED_ORDER);
+            from = index >= 0 ? index + 1 : -(index + 1);
+        }
+
+        int to = limit == null ? snapshot.size() : Math.min(snapshot.size(), from + Math.max(limit, 1));
+        List<CoffeeChatSummary> summaries = snapshot.subList(from, to).stream()
+                .map(Entry::summary)
+                .toList();
+
+        boolean hasNext = to < snapshot.size();
+        String nextCursor = hasNext ? snapshot.get(to - 1).toCursor() : null;
+        return new Page(summaries, nextCursor, hasNext);
+    }
+
+    /**
+     * 커피챗 하나를 다시 조회하여 목록에 반영합니다. 트랜잭션 안에서 호출된 경우 커밋 이후에 반영됩니다.
+     */
+    public void invalidate(Long coffeechatId) {
+        runAfterCommit(() -> publish(String.valueOf(coffeechatId)));
+    }
+
+    /**
+     * 목록 전체를 다시 만듭니다. (일괄 상태 변경 이후 사용)
+     */
+    public void invalidateAll() {
+        runAfterCommit(() -> publish(REBUILD_ALL));
+    }
+
+    @Scheduled(fixedDelayString = "${chat.list-feed.rebuild-ms:300000}")
+    public void rebuildPeriodically() {
+        if (entries != null) {
+            rebuild();
+        }
+    }
+
+    private List<Entry> entries() {
+        List<Entry> snapshot = entries;
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        synchronized (this) {
+            if (entries == null) {
+                rebuild();
+            }
+            return entries;
+        }
+    }
+
+    private synchronized void rebuild() {
+        List<Entry> rebuilt = transactionTemplate.execute(status ->
+                coffeeChatRepository.findAllActiveChatsForFeed().stream()
+                        .map(Entry::from)
+                        .sorted(FEED_ORDER)
+                        .toList());
+        entries = rebuilt;
+        log.info("[CoffeeChatListFeed.rebuild] 목록 피드 재구성: size={}", rebuilt.size());
+    }
+
+    private synchronized void refresh(Long coffeechatId) {
+        if (entries == null) {
+            return;
+        }
+
+        Optional<Entry> updated = transactionTemplate.execute(status ->
+                coffeeChatRepository.findForFeedById(coffeechatId)
+                        .filter(chat -> chat.getDeletedAt() == null)
+                        .filter(chat -> EnumSet.of(CoffeeChatStatus.ACTIVE, CoffeeChatStatus.EVENT).contains(chat.getStatus()))
+                        .map(Entry::from));
+
+        List<Entry> next = new ArrayList<>(entries);
+        next.removeIf(entry -> entry.coffeechatId().equals(coffeechatId));
+        updated.ifPresent(entry -> {
+            int index = Collections.binarySearch(next, entry, FEED_ORDER);
+            next.add(index >= 0 ? index : -(index + 1), entry);
+        });
+        entries = List.copyOf(next);
+        log.debug("[CoffeeChatListFeed.refresh] 목록 피드 갱신: coffeechatId={}, present={}", coffeechatId, updated.isPresent());
+    }
+
+    private void refreshLocal(String target) {
+        try {
+            if (REBUILD_ALL.equals(target)) {
+                if (entries != null) {
+                    rebuild();
+                }
+                return;
+            }
+            refresh(Long.valueOf(target));
+        } catch (NumberFormatException e) {
+            log.warn("[CoffeeChatListFeed.refreshLocal] 잘못된 갱신 메시지: {}", target);
+        } catch (Exception e) {
+            // 다음 주기적 재구성에서 복구
+            log.warn("[CoffeeChatListFeed.refreshLocal] 목록 피드 갱신 실패: target={}, error={}", target, e.getMessage());
+        }
+    }
+
+    private void publish(String target) {
+        try {
+            stringRedisTemplate.convertAndSend(UPDATE_CHANNEL, target);
+        } catch (Exception e) {
+            // 발행에 실패하면 이 인스턴스만이라도 갱신. 다른 인스턴스는 주기적 재구성으로 복구
+            log.warn("[CoffeeChatListFeed.publish] 갱신 메시지 발행 실패: target={}, error={}", target, e.getMessage());
+            refreshLocal(target);
+        }
+    }
+
+    private Entry parseCursor(String cursor) {
+        String[] parts = cursor.split(CURSOR_DELIMITER);
+        if (parts.length != 3) {
+            throw new CustomApiException(ErrorStatus.INVALID_CURSOR);
+        }
+        try {
+            return new Entry(Long.valueOf(parts[2]), Integer.parseInt(parts[0]), LocalDateTime.parse(parts[1]), null);
+        } catch (RuntimeException e) {
+            throw new CustomApiException(ErrorStatus.INVALID_CURSOR);
+        }
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
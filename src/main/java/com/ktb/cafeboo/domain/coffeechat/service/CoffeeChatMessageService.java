@@ -2,7 +2,6 @@ package com.ktb.cafeboo.domain.coffeechat.service;
 
 import com.ktb.cafeboo.domain.coffeechat.dto.CoffeeChatMessagesResponse;
 import com.ktb.cafeboo.domain.coffeechat.dto.common.MessageDto;
-import com.ktb.cafeboo.domain.coffeechat.dto.common.MemberDto;
 import com.ktb.cafeboo.domain.coffeechat.model.CoffeeChat;
 import com.ktb.cafeboo.domain.coffeechat.model.CoffeeChatMember;
 import com.ktb.cafeboo.domain.coffeechat.model.CoffeeChatMessage;
@@ -12,6 +11,8 @@ import com.ktb.cafeboo.domain.coffeechat.repository.CoffeeChatRepository;
 import com.ktb.cafeboo.global.apiPayload.code.status.ErrorStatus;
 import com.ktb.cafeboo.global.apiPayload.exception.CustomApiException;
 import com.ktb.cafeboo.global.enums.CoffeeChatStatus;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.Optional;
@@ -20,25 +21,29 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class CoffeeChatMessageService {
 
+    // 보낸 멤버가 없는(탈퇴 등) 메시지의 닉네임
+    public static final String UNKNOWN_SENDER_NICKNAME = "<알 수 없음>";
+
     private final CoffeeChatRepository coffeeChatRepository;
     private final CoffeeChatMessageRepository messageRepository;
     private final CoffeeChatMemberRepository memberRepository;
+    private final CoffeeChatMessageWindow coffeeChatMessageWindow;
 
     @Value("${DEFAULT_PROFILE_IMAGE_URL}")
     private String defaultProfileImageUrl;
 
-    public CoffeeChatMessagesResponse getMessages(Long userId, Long coffeechatId, String cursor, int limit, String order) {
-        log.info("[CoffeeChatMessageService.getMessages] 커피챗 메시지 조회 요청: userId={}, chatId={}, cursor={}, limit={}, order={}",
-                userId, coffeechatId, cursor, limit, order);
+    public CoffeeChatMessagesResponse getMessages(Long userId, Long coffeechatId, String cursor, int limit, String order, LocalDateTime since) {
+        log.info("[CoffeeChatMessageService.getMessages] 커피챗 메시지 조회 요청: userId={}, chatId={}, cursor={}, limit={}, order={}, since={}",
+                userId, coffeechatId, cursor, limit, order, since);
 
         CoffeeChat chat = coffeeChatRepository.findById(coffeechatId)
                 .orElseThrow(() -> new CustomApiException(ErrorStatus.COFFEECHAT_NOT_FOUND));
@@ -50,7 +55,7 @@ public class CoffeeChatMessageService {
         CoffeeChatMember member = memberRepository.findByCoffeeChatIdAndUserId(coffeechatId, userId)
                 .orElseThrow(() -> new CustomApiException(ErrorStatus.COFFEECHAT_MEMBER_NOT_FOUND));
 
-        List<CoffeeChatMessage> messages = fetchMessagesByCursor(coffeechatId, cursor, limit, order);
+        List<MessageDto> messages = fetchMessagesByCursor(coffeechatId, cursor, limit, order, since);
         log.info("[CoffeeChatMessageService.getMessages] 커피챗 메시지 조회 크기 : {}", messages.size());
 
         boolean hasNext = messages.size() > limit;
@@ -58,43 +63,7 @@ public class CoffeeChatMessageService {
             messages = messages.subList(0, limit);
         }
 
-        List<MessageDto> messageDtos = messages.stream()
-                .map(m -> {
-                    CoffeeChatMember sender = m.getSender();
-
-                    // Optional.ofNullable을 사용하여 sender가 null인 경우를 안전하게 처리
-                    String senderId = Optional.ofNullable(sender)
-                        .map(s -> s.getId().toString())
-                        .orElse(null); // sender가 null이면 ID도 null
-
-                    String senderChatNickname = Optional.ofNullable(sender)
-                        .map(CoffeeChatMember::getChatNickname)
-                        .orElse("<알 수 없음>"); // sender가 null이면 "<알수없음>"
-
-                    String senderProfileImageUrl = Optional.ofNullable(sender)
-                        .map(CoffeeChatMember::getProfileImageUrl)
-                        .orElse(defaultProfileImageUrl); // sender가 null이면 기본 이미지 URL
-                    // 예: "/images/default_profile.png"
-
-                    boolean senderIsHost = Optional.ofNullable(sender)
-                        .map(CoffeeChatMember::isHost)
-                        .orElse(false); // sender가 null이면 호스트 아님
-
-                    return new MessageDto(
-                            String.valueOf(m.getId()),
-                            new MemberDto(
-                                senderId,
-                                senderChatNickname,
-                                senderProfileImageUrl,
-                                senderIsHost
-                            ),
-                            m.getContent(),
-                            m.getType(),
-                            m.getCreatedAt()
-                    );
-                })
-                .collect(Collectors.toList());
-
+        List<MessageDto> messageDtos = new ArrayList<>(messages);
         Collections.reverse(messageDtos);
         log.info("[CoffeeChatMessageService.getMessages] 커피챗 메시지 DTO 크기 : {}", messageDtos.size());
 
@@ -109,37 +78,84 @@ public class CoffeeChatMessageService {
         );
     }
 
-    private List<CoffeeChatMessage> fetchMessagesByCursor(Long chatId, String cursor, int limit, String order) {
-        PageRequest pageRequest = PageRequest.of(0, limit + 1);
+    private List<MessageDto> fetchMessagesByCursor(Long chatId, String cursor, int limit, String order, LocalDateTime since) {
+        Long cursorId = parseCursor(cursor);
+        int count = limit + 1;
 
-        if (cursor == null || cursor.equals("0")) {
+        if (order.equalsIgnoreCase("asc")) {
+            if (cursorId != null && since == null) {
+                Optional<List<MessageDto>> cached = coffeeChatMessageWindow.readAfter(chatId, cursorId, count);
+                if (cached.isPresent()) {
+                    return cached.get();
+                }
+            }
+            return findAfter(chatId, cursorId != null ? cursorId : 0L, since, count);
+        }
+
+        // since 조건이 없으면 최근 메시지 창 안의 페이지는 Redis에서 응답
+        if (since == null) {
+            Optional<List<MessageDto>> cached = coffeeChatMessageWindow.readBefore(chatId, cursorId, count);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+        }
+
+        if (cursorId == null) {
             log.info("[CoffeeChatMessageService.fetchMessageByCursor] - cursor null 분기 실행");
-            return messageRepository.findByCoffeeChatId(chatId)
-                    .stream()
-                    .sorted(order.equalsIgnoreCase("asc")
-                            ? java.util.Comparator.comparing(CoffeeChatMessage::getId)
-                            : java.util.Comparator.comparing(CoffeeChatMessage::getId).reversed())
-                    .limit(limit + 1)
-                    .collect(Collectors.toList());
+            if (since != null || coffeeChatMessageWindow.exists(chatId)) {
+                return findBefore(chatId, Long.MAX_VALUE, since, count);
+            }
+
+            // 창이 없으면 최근 메시지로 창을 채운 뒤 첫 페이지를 응답 (읽는 동안 창이 제거되면 채우지 않도록 세대를 먼저 조회)
+            long epoch = coffeeChatMessageWindow.epoch(chatId);
+            int primeSize = Math.max(coffeeChatMessageWindow.windowSize(), count);
+            List<MessageDto> recent = findBefore(chatId, Long.MAX_VALUE, null, primeSize);
+            coffeeChatMessageWindow.prime(chatId, epoch, recent, recent.size() < primeSize);
+            return recent.subList(0, Math.min(count, recent.size()));
         }
 
-        log.info("[CoffeeChatMessageService.fetchMessageByCursor] - cursor is not null 분기 실행");
-        Long cursorId;
+        log.info("[CoffeeChatMessageService.fetchMessageByCursor] - cursorId: {}", cursorId);
+        return findBefore(chatId, cursorId, since, count);
+    }
+
+    private List<MessageDto> findBefore(Long chatId, Long beforeId, LocalDateTime since, int count) {
+        return messageRepository.findMessageDtosBefore(
+            chatId, beforeId, since, UNKNOWN_SENDER_NICKNAME, defaultProfileImageUrl, PageRequest.of(0, count));
+    }
+
+    private List<MessageDto> findAfter(Long chatId, Long afterId, LocalDateTime since, int count) {
+        return messageRepository.findMessageDtosAfter(
+            chatId, afterId, since, UNKNOWN_SENDER_NICKNAME, defaultProfileImageUrl, PageRequest.of(0, count));
+    }
+
+    private Long parseCursor(String cursor) {
+        if (cursor == null || cursor.equals("0")) {
+            return null;
+        }
         try {
-            cursorId = Long.parseLong(cursor);
+            return Long.parseLong(cursor);
         } catch (NumberFormatException e) {
             throw new CustomApiException(ErrorStatus.INVALID_CURSOR);
         }
-        log.info("[CoffeeChatMessageService.fetchMessageByCursor] - cursorId: {}", cursorId);
-        if (order.equalsIgnoreCase("asc")) {
-            return messageRepository.findByCoffeeChatIdAndIdGreaterThanOrderByIdAsc(chatId, cursorId, pageRequest);
-        } else {
-            return messageRepository.findByCoffeeChatIdAndIdLessThanOrderByIdDesc(chatId, cursorId, pageRequest);
-        }
     }
 
     public CoffeeChatMessage save(CoffeeChatMessage coffeeChatMessage){
         CoffeeChatMessage savedMessage = messageRepository.save(coffeeChatMessage);
         return savedMessage;
     }
+
+    /**
+     * 메시지를 가림 처리합니다.
+     * @return 가림 처리한 경우 true, 메시지가 없거나 이미 가려진 경우 false
+     */
+    @Transactional
+    public boolean redact(String messageUuid, String placeholder) {
+        return messageRepository.findByMessageUuid(messageUuid)
+            .filter(message -> message.getDeletedAt() == null)
+            .map(message -> {
+                message.redact(placeholder);
+                return true;
+            })
+            .orElse(false);
+    }
 }
@@ -0,0 +1,301 @@
+package com.ktb.cafeboo.domain.coffeechat.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.cafeboo.domain.coffeechat.dto.StompMessagePublish;
+import com.ktb.cafeboo.domain.coffeechat.dto.common.MemberDto;
+import com.ktb.cafeboo.domain.coffeechat.dto.common.MessageDto;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅방별 최근 메시지 N개를 Redis Sorted Set(score = 메시지 id, member = MessageDto JSON)으로 보관합니다.
+ * 저장된 메시지는 창이 있든 없든 항상 추가하고(append), DB에서 최근 메시지를 읽어 채울 때(prime) 하한(low-watermark) id를 기록합니다.
+ * 하한 이상의 메시지는 모두 창에 있으므로, 요청한 페이지가 하한 이상 구간에 있으면 DB 조회 없이 응답합니다.
+ * 하한이 없으면(아직 채우지 않았거나 제거된 창) 창을 신뢰하지 않습니다.
+ * 창을 제거할 때마다 세대(epoch)를 올려, 제거 이전에 DB를 읽은 prime(가림 이전 내용)이 창을 다시 채우지 못하게 합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CoffeeChatMessageWindow {
+
+    private static final String KEY_PREFIX = "coffeechat:messages:";
+
+    // KEYS: 창, 하한 / ARGV: id, JSON, 창 크기, TTL(초)
+    // 하한보다 오래된 메시지는 추가하지 않고, 같은 id가 이미 있으면 DB에서 읽은 값(prime)을 우선하여 유지
+    private static final RedisScript<Long> APPEND_SCRIPT = new DefaultRedisScript<>(
+        "local low = redis.call('GET', KEYS[2]) " +
+        "if low and tonumber(ARGV[1]) < tonumber(low) then return 0 end " +
+        "if redis.call('ZCOUNT', KEYS[1], ARGV[1], ARGV[1]) > 0 then return 0 end " +
+        "redis.call('ZADD', KEYS[1], ARGV[1], ARGV[2]) " +
+        "local removed = redis.call('ZREMRANGEBYRANK', KEYS[1], 0, -(tonumber(ARGV[3]) + 1)) " +
+        "if low then " +
+            "if removed > 0 then " +
+                "local oldest = redis.call('ZRANGE', KEYS[1], 0, 0, 'WITHSCORES') " +
+                "low = math.max(tonumber(low), tonumber(oldest[2])) " +
+            "end " +
+            "redis.call('SET', KEYS[2], low, 'EX', ARGV[4]) " +
+        "end " +
+        "redis.call('EXPIRE', KEYS[1], ARGV[4]) " +
+        "return 1",
+        Long.class);
+
+    // KEYS: 창, 하한, 세대 / ARGV: 읽기 전 세대, 하한, 읽은 최대 id, 창 크기, TTL(초), (id, JSON)...
+    // 읽은 최대 id 이하의 기존 항목은 DB 값으로 교체하고, 그 이후에 추가된 항목은 유지
+    private static final RedisScript<Long> PRIME_SCRIPT = new DefaultRedisScript<>(
+        "local epoch = redis.call('GET', KEYS[3]) or '0' " +
+        "if epoch ~= ARGV[1] then return 0 end " +
+        "redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', ARGV[3]) " +
+        "for i = 6, #ARGV, 2 do redis.call('ZADD', KEYS[1], ARGV[i], ARGV[i + 1]) end " +
+        "local low = tonumber(ARGV[2]) " +
+        "local removed = redis.call('ZREMRANGEBYRANK', KEYS[1], 0, -(tonumber(ARGV[4]) + 1)) " +
+        "if removed > 0 then " +
+            "local oldest = redis.call('ZRANGE', KEYS[1], 0, 0, 'WITHSCORES') " +
+            "low = math.max(low, tonumber(oldest[2])) " +
+        "end " +
+        "redis.call('SET', KEYS[2], low, 'EX', ARGV[5]) " +
+        "redis.call('EXPIRE', KEYS[1], ARGV[5]) " +
+        "return 1",
+        Long.class);
+
+    // KEYS: 창, 하한 / ARGV: 방향(desc|asc), 경계 score, 개수
+    // 결과의 첫 값은 하한, 이후는 하한 이상 구간의 메시지. 하한이 없으면 nil
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> READ_SCRIPT = new DefaultRedisScript<>(
+        "local low = redis.call('GET', KEYS[2]) " +
+        "if not low then return nil end " +
+        "local values " +
+        "if ARGV[1] == 'desc' then " +
+            "values = redis.call('ZREVRANGEBYSCORE', KEYS[1], ARGV[2], low, 'LIMIT', 0, ARGV[3]) " +
+        "else " +
+            "values = redis.call('ZRANGEBYSCORE', KEYS[1], ARGV[2], '+inf', 'LIMIT', 0, ARGV[3]) " +
+        "end " +
+        "table.insert(values, 1, low) " +
+        "return values",
+        List.class);
+
+    // KEYS: 창, 하한, 세대 / ARGV: TTL(초)
+    private static final RedisScript<Long> EVICT_SCRIPT = new DefaultRedisScript<>(
+        "redis.call('DEL', KEYS[1], KEYS[2]) " +
+        "local epoch = redis.call('INCR', KEYS[3]) " +
+        "redis.call('EXPIRE', KEYS[3], ARGV[1]) " +
+        "return epoch",
+        Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${chat.history.window-size:200}")
+    private int windowSize;
+
+    @Value("${chat.history.window-ttl-hours:24}")
+    private long windowTtlHours;
+
+    @Value("${DEFAULT_PROFILE_IMAGE_URL}")
+    private String defaultProfileImageUrl;
+
+    public int windowSize() {
+        return windowSize;
+    }
+
+    /**
+     * 창이 DB에서 채워져 하한이 기록되어 있는지 확인합니다.
+     */
+    public boolean exists(Long coffeechatId) {
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.hasKey(lowKey(coffeechatId)));
+        } catch (Exception e) {
+            log.warn("[CoffeeChatMessageWindow.exists] Redis 조회 실패: coffeechatId={}, error={}", coffeechatId, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 창의 현재 세대를 반환합니다. prime에 사용할 메시지를 DB에서 읽기 전에 조회합니다.
+     * @return 현재 세대, Redis를 사용할 수 없으면 -1 (prime하지 않음)
+     */
+    public long epoch(Long coffeechatId) {
+        try {
+            String epoch = stringRedisTemplate.opsForValue().get(epochKey(coffeechatId));
+            return epoch == null ? 0 : Long.parseLong(epoch);
+        } catch (Exception e) {
+            log.warn("[CoffeeChatMessageWindow.epoch] Redis 조회 실패: coffeechatId={}, error={}", coffeechatId, e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * DB에서 읽은 최근 메시지로 창을 채우고 하한을 기록합니다. 읽기 전 조회한 세대 이후 창이 제거되었다면 채우지 않습니다.
+     * @param epoch 메시지를 DB에서 읽기 전에 조회한 세대
+     * @param messages 최신순으로 읽은 최근 메시지
+     * @param complete 채팅방의 모든 메시지를 읽었는지 여부 (true이면 하한은 0)
+     */
+    public void prime(Long coffeechatId, long epoch, List<MessageDto> messages, boolean complete) {
+        if (epoch < 0) {
+            return;
+        }
+
+        long lowest = Long.MAX_VALUE;
+        long highest = 0;
+        List<String> args = new ArrayList<>(5 + messages.size() * 2);
+        args.add(String.valueOf(epoch));
+        args.add(null);
+        args.add(null);
+        args.add(String.valueOf(windowSize));
+        args.add(String.valueOf(ttlSeconds()));
+        for (MessageDto message : messages) {
+            long id = Long.parseLong(message.messageId());
+            lowest = Math.min(lowest, id);
+            highest = Math.max(highest, id);
+            args.add(String.valueOf(id));
+            args.add(toJson(message));
+        }
+        args.set(1, String.valueOf(complete || messages.isEmpty() ? 0 : lowest));
+        args.set(2, String.valueOf(highest));
+
+        try {
+            Long primed = stringRedisTemplate.execute(PRIME_SCRIPT,
+                List.of(key(coffeechatId), lowKey(coffeechatId), epochKey(coffeechatId)), args.toArray());
+            if (primed == null || primed == 0) {
+                log.info("[CoffeeChatMessageWindow.prime] 읽는 동안 창이 제거되어 채우지 않음: coffeechatId={}", coffeechatId);
+            }
+        } catch (Exception e) {
+            log.warn("[CoffeeChatMessageWindow.prime] Redis 저장 실패: coffeechatId={}, error={}", coffeechatId, e.getMessage());
+        }
+    }
+
+    /**
+     * 저장된 메시지를 창에 추가합니다. DB 조회 결과와 같은 형태가 되도록 보낸 사람 정보의 기본값을 채웁니다.
+     * @param messageId DB에 저장된 메시지 id
+     * @param senderIsHost 보낸 사람의 방장 여부
+     * @param persistedAt DB에 저장된 메시지의 생성 시각 (created_at)
+     */
+    public void append(Long messageId, StompMessagePublish message, boolean senderIsHost, LocalDateTime persistedAt) {
+        StompMessagePublish.SenderInfo sender = message.getSender();
+        String nickname = sender != null ? sender.getChatNickname() : null;
+        String profileImageUrl = sender != null ? sender.getProfileImageUrl() : null;
+        MessageDto dto = new MessageDto(
+            String.valueOf(messageId),
+            new MemberDto(
+                sender != null ? sender.getMemberId() : null,
+                nickname != null ? nickname : CoffeeChatMessageService.UNKNOWN_SENDER_NICKNAME,
+                profileImageUrl != null ? profileImageUrl : defaultProfileImageUrl,
+                senderIsHost
+            ),
+            message.getContent(),
+            message.getMessageType(),
+            persistedAt
+        );
+
+        try {
+            stringRedisTemplate.execute(APPEND_SCRIPT, List.of(key(message.getCoffeechatId()), lowKey(message.getCoffeechatId())),
+                String.valueOf(messageId), toJson(dto), String.valueOf(windowSize), String.valueOf(ttlSeconds()));
+        } catch (Exception e) {
+            // 추가에 실패하면 창이 연속 구간이 아니게 되므로 제거
+            log.warn("[CoffeeChatMessageWindow.append] Redis 저장 실패: coffeechatId={}, error={}", message.getCoffeechatId(), e.getMessage());
+            evict(message.getCoffeechatId());
+        }
+    }
+
+    /**
+     * beforeId보다 오래된 메시지를 최신순으로 count개 반환합니다. (beforeId가 null이면 가장 최근부터)
+     * @return 하한 이상 구간에서 count개를 모두 채울 수 없으면 empty (하한이 0이면 채운 만큼 반환)
+     */
+    public Optional<List<MessageDto>> readBefore(Long coffeechatId, Long beforeId, int count) {
+        try {
+            List<String> result = read(coffeechatId, "desc", beforeId == null ? "+inf" : "(" + beforeId, count);
+            if (result == null) {
+                return Optional.empty();
+            }
+
+            long low = Long.parseLong(result.getFirst());
+            List<String> values = result.subList(1, result.size());
+            if (values.size() < count && low > 0) {
+                return Optional.empty();
+            }
+            return Optional.of(fromJson(values));
+        } catch (Exception e) {
+            log.warn("[CoffeeChatMessageWindow.readBefore] Redis 조회 실패: coffeechatId={}, error={}", coffeechatId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * afterId보다 새로운 메시지를 오래된 순으로 최대 count개 반환합니다.
+     * @return afterId 이후 구간이 하한 이상에 있지 않으면 empty
+     */
+    public Optional<List<MessageDto>> readAfter(Long coffeechatId, long afterId, int count) {
+        try {
+            List<String> result = read(coffeechatId, "asc", "(" + afterId, count);
+            if (result == null || Long.parseLong(result.getFirst()) > afterId + 1) {
+                return Optional.empty();
+            }
+            return Optional.of(fromJson(result.subList(1, result.size())));
+        } catch (Exception e) {
+            log.warn("[CoffeeChatMessageWindow.readAfter] Redis 조회 실패: coffeechatId={}, error={}", coffeechatId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 창을 제거합니다. 메시지 내용이 바뀐 경우(가림, 삭제) 다음 조회 시 DB에서 다시 채웁니다.
+     */
+    public void evict(Long coffeechatId) {
+        try {
+            stringRedisTemplate.execute(EVICT_SCRIPT,
+                List.of(key(coffeechatId), lowKey(coffeechatId), epochKey(coffeechatId)), String.valueOf(ttlSeconds()));
+        } catch (Exception e) {
+            log.warn("[CoffeeChatMessageWindow.evict] Redis 삭제 실패: coffeechatId={}, error={}", coffeechatId, e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> read(Long coffeechatId, String direction, String bound, int count) {
+        return stringRedisTemplate.execute(READ_SCRIPT, List.of(key(coffeechatId), lowKey(coffeechatId)),
+            direction, bound, String.valueOf(count));
+    }
+
+    // 창, 하한, 세대 키는 같은 해시 슬롯에 두어 스크립트 하나로 함께 다룸
+    private String key(Long coffeechatId) {
+        return KEY_PREFIX + "{" + coffeechatId + "}";
+    }
+
+    private String lowKey(Long coffeechatId) {
+        return key(coffeechatId) + ":low";
+    }
+
+    private String epochKey(Long coffeechatId) {
+        return key(coffeechatId) + ":epoch";
+    }
+
+    private long ttlSeconds() {
+        return Duration.ofHours(windowTtlHours).toSeconds();
+    }
+
+    private String toJson(MessageDto message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("메시지 직렬화 실패: " + message.messageId(), e);
+        }
+    }
+
+    private List<MessageDto> fromJson(List<String> values) throws JsonProcessingException {
+        List<MessageDto> messages = new ArrayList<>(values.size());
+        for (String value : values) {
+            messages.add(objectMapper.readValue(value, MessageDto.class));
+        }
+        return messages;
+    }
+}
@@ -0,0 +1,181 @@
+package com.ktb.cafeboo.domain.coffeechat.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ktb.cafeboo.domain.coffeechat.dto.CoffeeChatRoomSnapshot;
+import com.ktb.cafeboo.domain.coffeechat.repository.CoffeeChatRepository;
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 채팅 전송 경로에서 커피챗/참여자 조회를 대신하는 로컬 캐시.
+ * 방 단위로 불변 스냅샷을 보관하고, 참여/나가기/삭제 시 커밋 이후에 무효화합니다.
+ * 무효화는 Redis pub/sub으로 다른 서버 인스턴스에도 전파됩니다.
+ * 스냅샷은 최대 개수를 넘으면 오래 사용되지 않은 것부터 제거되고, TTL이 지나면 만료됩니다.
+ */
+@Slf4j
+@Component
+public class CoffeeChatRoomCache {
+
+    private static final String INVALIDATION_CHANNEL = "coffeechat:room-cache:invalidate";
+    private static final String INVALIDATE_ALL = "*";
+
+    private final CoffeeChatRepository coffeeChatRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListener;
+
+    private final long memberMissReloadMs;
+
+    // coffeechatId -> 방 스냅샷
+    private final Cache<Long, CoffeeChatRoomSnapshot> snapshots;
+
+    // 무효화가 일어날 때마다 증가. 조회 도중 무효화된 스냅샷이 캐시에 들어가는 것을 방지
+    private final AtomicLong invalidationSeq = new AtomicLong();
+
+    public CoffeeChatRoomCache(
+        CoffeeChatRepository coffeeChatRepository,
+        StringRedisTemplate stringRedisTemplate,
+        RedisMessageListenerContainer redisMessageListener,
+        @Value("${chat.room-cache.ttl-seconds:600}") long ttlSeconds,
+        @Value("${chat.room-cache.max-size:10000}") long maxSize,
+        @Value("${chat.room-cache.member-miss-reload-ms:1000}") long memberMissReloadMs
+    ) {
+        this.coffeeChatRepository = coffeeChatRepository;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisMessageListener = redisMessageListener;
+        this.memberMissReloadMs = memberMissReloadMs;
+        this.snapshots = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .build();
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        MessageListener listener = (message, pattern) ->
+                evictLocal(new String(message.getBody(), StandardCharsets.UTF_8));
+        redisMessageListener.addMessageListener(listener, new ChannelTopic(INVALIDATION_CHANNEL));
+        log.info("[CoffeeChatRoomCache.subscribe] 무효화 채널 구독: {}", INVALIDATION_CHANNEL);
+    }
+
+    /**
+     * 방 스냅샷을 반환합니다. 캐시에 없거나 만료된 경우에만 DB에서 조회합니다.
+     * @return 방이 존재하지 않으면 null
+     */
+    public CoffeeChatRoomSnapshot get(Long coffeechatId) {
+        CoffeeChatRoomSnapshot snapshot = snapshots.getIfPresent(coffeechatId);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        return load(coffeechatId);
+    }
+
+    /**
+     * 방의 참여자 정보를 반환합니다.
+     * 스냅샷에 없는 참여자는 무효화 메시지 유실에 대비해 스냅샷이 오래된 경우 한 번만 다시 조회합니다.
+     * @return 방 또는 참여자가 존재하지 않으면 null
+     */
+    public CoffeeChatRoomSnapshot.Member getMember(Long coffeechatId, Long memberId) {
+        CoffeeChatRoomSnapshot snapshot = get(coffeechatId);
+        if (snapshot == null) {
+            return null;
+        }
+
+        CoffeeChatRoomSnapshot.Member member = snapshot.findMember(memberId);
+        if (member == null && System.currentTimeMillis() - snapshot.loadedAtMillis() > memberMissReloadMs) {
+            CoffeeChatRoomSnapshot reloaded = load(coffeechatId);
+            member = reloaded != null ? reloaded.findMember(memberId) : null;
+        }
+        return member;
+    }
+
+    /**
+     * 방 스냅샷을 무효화합니다. 트랜잭션 안에서 호출된 경우 커밋 이후에 반영됩니다.
+     */
+    public void invalidate(Long coffeechatId) {
+        runAfterCommit(() -> {
+            evictLocal(String.valueOf(coffeechatId));
+            publish(String.valueOf(coffeechatId));
+        });
+    }
+
+    /**
+     * 모든 방 스냅샷을 무효화합니다. (일괄 상태 변경 이후 사용)
+     */
+    public void invalidateAll() {
+        runAfterCommit(() -> {
+            evictLocal(INVALIDATE_ALL);
+            publish(INVALIDATE_ALL);
+        });
+    }
+
+    private CoffeeChatRoomSnapshot load(Long coffeechatId) {
+        long seq = invalidationSeq.get();
+        CoffeeChatRoomSnapshot snapshot = coffeeChatRepository.findByIdWithMembers(coffeechatId)
+                .map(CoffeeChatRoomSnapshot::from)
+                .orElse(null);
+
+        if (snapshot == null) {
+            snapshots.invalidate(coffeechatId);
+            return null;
+        }
+
+        if (seq == invalidationSeq.get()) {
+            snapshots.put(coffeechatId, snapshot);
+            // 확인과 저장 사이에 무효화가 끼어들었다면 방금 넣은 스냅샷을 제거
+            if (seq != invalidationSeq.get()) {
+                snapshots.invalidate(coffeechatId);
+            }
+        }
+        return snapshot;
+    }
+
+    private void evictLocal(String target) {
+        invalidationSeq.incrementAndGet();
+        if (INVALIDATE_ALL.equals(target)) {
+            snapshots.invalidateAll();
+            log.info("[CoffeeChatRoomCache.evictLocal] 전체 스냅샷 무효화");
+            return;
+        }
+
+        try {
+            snapshots.invalidate(Long.valueOf(target));
+            log.debug("[CoffeeChatRoomCache.evictLocal] 스냅샷 무효화: coffeechatId={}", target);
+        } catch (NumberFormatException e) {
+            log.warn("[CoffeeChatRoomCache.evictLocal] 잘못된 무효화 메시지: {}", target);
+        }
+    }
+
+    private void publish(String target) {
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, target);
+        } catch (Exception e) {
+            // 다른 인스턴스는 TTL 만료 또는 참여자 미스 재조회로 복구
+            log.warn("[CoffeeChatRoomCache.publish] 무효화 메시지 발행 실패: target={}, error={}", target, e.getMessage());
+        }
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
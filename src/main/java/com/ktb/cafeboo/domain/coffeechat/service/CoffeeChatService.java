@@ -8,6 +8,7 @@ import com.ktb.cafeboo.domain.coffeechat.model.CoffeeChatMember;
 import com.ktb.cafeboo.domain.coffeechat.model.CoffeeChatMessage;
 import com.ktb.cafeboo.domain.coffeechat.repository.CoffeeChatMemberRepository;
 import com.ktb.cafeboo.domain.coffeechat.repository.CoffeeChatRepository;
+import com.ktb.cafeboo.domain.coffeechat.repository.CoffeeChatReviewRepository;
 import com.ktb.cafeboo.domain.tag.service.TagService;
 import com.ktb.cafeboo.domain.user.model.User;
 import com.ktb.cafeboo.domain.user.repository.UserRepository;
@@ -21,12 +22,17 @@ import com.ktb.cafeboo.global.infra.sse.SseSender;
 import com.ktb.cafeboo.global.util.AuthChecker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -34,14 +40,26 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CoffeeChatService {
 
+    private static final double EARTH_RADIUS_METERS = 6_371_000;
+
     private final CoffeeChatRepository coffeeChatRepository;
     private final CoffeeChatMemberRepository coffeeChatMemberRepository;
+    private final CoffeeChatReviewRepository coffeeChatReviewRepository;
     private final UserRepository userRepository;
     private final TagService tagService;
     private final ChatService chatService;
     private final S3Properties s3Properties;
     private final CoffeeChatSseService coffeeChatSseService;
     private final SseSender sseSender;
+    private final CoffeeChatRoomCache coffeeChatRoomCache;
+    private final CoffeeChatMessageWindow coffeeChatMessageWindow;
+    private final CoffeeChatListFeed coffeeChatListFeed;
+
+    @Value("${chat.nearby.max-radius-m:20000}")
+    private int nearbyMaxRadiusMeters;
+
+    @Value("${chat.nearby.max-limit:100}")
+    private int nearbyMaxLimit;
 
     @Transactional
     public CoffeeChatCreateResponse create(Long userId, CoffeeChatCreateRequest request) {
@@ -78,6 +96,7 @@ public class CoffeeChatService {
         );
         joinMember(user, saved.getId(), joinRequest, true);
 
+        coffeeChatListFeed.invalidate(saved.getId());
         sseSender.sendAfterCommit(() -> coffeeChatSseService.sendNewCoffeeChat(saved));
 
         return new CoffeeChatCreateResponse(saved.getId().toString());
@@ -90,16 +109,20 @@ public class CoffeeChatService {
 
         boolean isHost = false;
         CoffeeChatJoinResponse response = joinMember(user, coffeechatId, request, isHost);
+        List<Long> memberUserIds = coffeeChatRepository.findById(coffeechatId)
+                .map(this::getMemberUserIds)
+                .orElse(List.of());
 
         sseSender.sendAfterCommit(() -> coffeeChatSseService.sendCurrentMemberCountUpdate(
-                coffeechatId, response.currentMemberCount()));
+                coffeechatId, response.currentMemberCount(), memberUserIds));
 
         return response;
     }
 
     @Transactional(readOnly = true)
-    public CoffeeChatListResponse getCoffeeChatsByStatus(Long userId, String status) {
-        log.info("[CoffeeChatService.getCoffeeChatsByStatus] 커피챗 목록 조회 요청: userId={}, status={}", userId, status);
+    public CoffeeChatListResponse getCoffeeChatsByStatus(Long userId, String status, String cursor, Integer limit) {
+        log.info("[CoffeeChatService.getCoffeeChatsByStatus] 커피챗 목록 조회 요청: userId={}, status={}, cursor={}, limit={}",
+                userId, status, cursor, limit);
 
         CoffeeChatFilterType filter;
         try {
@@ -109,6 +132,15 @@ public class CoffeeChatService {
             throw new CustomApiException(ErrorStatus.INVALID_COFFEECHAT_FILTER);
         }
 
+        if (limit != null && limit < 1) {
+            log.warn("[CoffeeChatService.getCoffeeChatsByStatus] 유효하지 않은 limit: userId={}, limit={}", userId, limit);
+            throw new CustomApiException(ErrorStatus.INVALID_PARAMETER);
+        }
+
+        if (filter == CoffeeChatFilterType.ALL) {
+            return getActiveCoffeeChats(userId, cursor, limit);
+        }
+
         List<CoffeeChat> chats = getChatsByFilter(filter, userId);
         List<CoffeeChatListResponse.CoffeeChatSummary> summaryList = chats.stream()
                 .map(chat -> {
@@ -159,11 +191,16 @@ public class CoffeeChatService {
             throw new CustomApiException(ErrorStatus.CANNOT_LEAVE_CHAT_OWNER);
         }
 
+        // 나가는 사용자의 다른 탭에도 전달되도록 제거 전에 참여자 목록을 구함
+        List<Long> memberUserIds = getMemberUserIds(chat);
+
         chat.removeMember(member);
         coffeeChatMemberRepository.delete(member);
+        coffeeChatRoomCache.invalidate(coffeechatId);
+        coffeeChatListFeed.invalidate(coffeechatId);
 
         sseSender.sendAfterCommit(() -> coffeeChatSseService.sendCurrentMemberCountUpdate(
-                coffeechatId, chat.getCurrentMemberCount()));
+                coffeechatId, chat.getCurrentMemberCount(), memberUserIds));
     }
 
     @Transactional
@@ -183,14 +220,18 @@ public class CoffeeChatService {
             message.delete();
         }
 
+        List<Long> memberUserIds = getMemberUserIds(chat);
         for (CoffeeChatMember member : chat.getMembers()) {
             member.delete();
         }
 
         chat.softDelete();
         coffeeChatRepository.save(chat);
+        coffeeChatRoomCache.invalidate(coffeechatId);
+        coffeeChatListFeed.invalidate(coffeechatId);
+        coffeeChatMessageWindow.evict(coffeechatId);
 
-        coffeeChatSseService.sendDeletedCoffeeChat(coffeechatId);
+        coffeeChatSseService.sendDeletedCoffeeChat(coffeechatId, memberUserIds);
     }
 
     @Transactional(readOnly = true)
@@ -219,6 +260,106 @@ public class CoffeeChatService {
         chatService.startListeningToCoffeeChat(coffeechatId);
     }
 
+    /**
+     * 반경 안의 활성 커피챗을 거리, 모임 시간 순으로 조회합니다.
+     * 위경도 인덱스로 반경을 감싸는 사각형 범위의 후보만 읽은 뒤 실제 거리로 거릅니다.
+     */
+    @Transactional(readOnly = true)
+    public CoffeeChatNearbyResponse getNearbyCoffeeChats(Long userId, double latitude, double longitude, int radiusMeters, int limit) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180
+                || radiusMeters <= 0 || radiusMeters > nearbyMaxRadiusMeters
+                || limit <= 0 || limit > nearbyMaxLimit) {
+            throw new CustomApiException(ErrorStatus.INVALID_PARAMETER);
+        }
+
+        // 위도 범위는 ±90으로 자르고, 경도 범위는 날짜변경선(±180)을 넘으면 두 구간으로 나누어 조회
+        double angularRadius = radiusMeters / EARTH_RADIUS_METERS;
+        double latitudeDelta = Math.toDegrees(angularRadius);
+        BigDecimal minLatitude = BigDecimal.valueOf(Math.max(latitude - latitudeDelta, -90));
+        BigDecimal maxLatitude = BigDecimal.valueOf(Math.min(latitude + latitudeDelta, 90));
+
+        List<CoffeeChat> candidates = new ArrayList<>();
+        for (double[] range : longitudeRanges(latitude, longitude, angularRadius)) {
+            candidates.addAll(coffeeChatRepository.findActiveChatsWithinBounds(
+                    minLatitude, maxLatitude, BigDecimal.valueOf(range[0]), BigDecimal.valueOf(range[1])));
+        }
+
+        Set<Long> joinedIds = coffeeChatMemberRepository.findCoffeeChatIdsByUserId(userId);
+        Set<Long> reviewedIds = coffeeChatReviewRepository.findCoffeeChatIdsByWriterUserId(userId);
+
+        record Candidate(CoffeeChat chat, int distanceMeters) {}
+        List<CoffeeChatNearbyResponse.NearbyCoffeeChat> nearby = candidates.stream()
+                .map(chat -> new Candidate(chat, (int) Math.round(distanceMeters(
+                        latitude, longitude, chat.getLatitude().doubleValue(), chat.getLongitude().doubleValue()))))
+                .filter(candidate -> candidate.distanceMeters() <= radiusMeters)
+                .sorted(Comparator.comparingInt(Candidate::distanceMeters)
+                        .thenComparing(candidate -> candidate.chat().getMeetingTime()))
+                .limit(limit)
+                .map(candidate -> new CoffeeChatNearbyResponse.NearbyCoffeeChat(
+                        CoffeeChatListResponse.CoffeeChatSummary.of(
+                                candidate.chat(),
+                                joinedIds.contains(candidate.chat().getId()),
+                                reviewedIds.contains(candidate.chat().getId())
+                        ),
+                        candidate.distanceMeters()
+                ))
+                .toList();
+
+        log.info("[CoffeeChatService.getNearbyCoffeeChats] 주변 커피챗 조회: userId={}, candidates={}, result={}",
+                userId, candidates.size(), nearby.size());
+        return new CoffeeChatNearbyResponse(latitude, longitude, radiusMeters, nearby);
+    }
+
+    // 반경을 감싸는 경도 구간 [min, max] 목록. 극점이 반경 안에 있으면 전체 경도
+    static List<double[]> longitudeRanges(double latitude, double longitude, double angularRadius) {
+        double cosLatitude = Math.cos(Math.toRadians(latitude));
+        if (Math.sin(angularRadius) >= cosLatitude) {
+            return List.of(new double[]{-180, 180});
+        }
+
+        double longitudeDelta = Math.toDegrees(Math.asin(Math.sin(angularRadius) / cosLatitude));
+        double minLongitude = longitude - longitudeDelta;
+        double maxLongitude = longitude + longitudeDelta;
+        if (minLongitude < -180) {
+            return List.of(new double[]{minLongitude + 360, 180}, new double[]{-180, maxLongitude});
+        }
+        if (maxLongitude > 180) {
+            return List.of(new double[]{minLongitude, 180}, new double[]{-180, maxLongitude - 360});
+        }
+        return List.of(new double[]{minLongitude, maxLongitude});
+    }
+
+    // 두 좌표 사이의 거리 (하버사인 공식, 미터)
+    private static double distanceMeters(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double latitudeDistance = Math.toRadians(latitude2 - latitude1);
+        double longitudeDistance = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(latitudeDistance / 2) * Math.sin(latitudeDistance / 2)
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+                * Math.sin(longitudeDistance / 2) * Math.sin(longitudeDistance / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    // 전체 목록은 메모리의 목록 피드에서 페이지를 잘라 사용자별 참여/후기 여부만 덧씌움
+    private CoffeeChatListResponse getActiveCoffeeChats(Long userId, String cursor, Integer limit) {
+        CoffeeChatListFeed.Page page = coffeeChatListFeed.page(cursor, limit);
+        Set<Long> joinedIds = coffeeChatMemberRepository.findCoffeeChatIdsByUserId(userId);
+        Set<Long> reviewedIds = coffeeChatReviewRepository.findCoffeeChatIdsByWriterUserId(userId);
+
+        List<CoffeeChatListResponse.CoffeeChatSummary> summaryList = page.summaries().stream()
+                .map(summary -> {
+                    Long coffeeChatId = Long.valueOf(summary.coffeeChatId());
+                    return summary.withUserFlags(joinedIds.contains(coffeeChatId), reviewedIds.contains(coffeeChatId));
+                })
+                .toList();
+
+        return new CoffeeChatListResponse(
+                CoffeeChatFilterType.ALL.name().toLowerCase(),
+                summaryList,
+                page.nextCursor(),
+                page.hasNext()
+        );
+    }
+
     private List<CoffeeChat> getChatsByFilter(CoffeeChatFilterType filter, Long userId) {
         LocalDateTime now = LocalDateTime.now().plusHours(9);
         return switch (filter) {
@@ -236,6 +377,12 @@ public class CoffeeChatService {
         }
     }
 
+    private List<Long> getMemberUserIds(CoffeeChat chat) {
+        return chat.getMembers().stream()
+                .map(member -> member.getUser().getId())
+                .toList();
+    }
+
     private CoffeeChatJoinResponse joinMember(User user, Long coffeechatId, CoffeeChatJoinRequest request, Boolean isHost) {
         log.info("[CoffeeChatService.join] 커피챗 참여 요청: userId={}, chatId={}", user.getId(), coffeechatId);
 
@@ -246,9 +393,6 @@ public class CoffeeChatService {
             throw new CustomApiException(ErrorStatus.COFFEECHAT_NOT_ACTIVE);
         }
 
-        //커피챗 구독, 커피챗에서 오가는 메시지를 수신받기 위한 consumer group 등록
-        chatService.startListeningToCoffeeChat(String.valueOf(coffeechatId));
-
         if (chat.isJoinedBy(user.getId())) {
             throw new CustomApiException(ErrorStatus.COFFEECHAT_ALREADY_JOINED);
         }
@@ -273,6 +417,8 @@ public class CoffeeChatService {
         chat.addMember(member);
 
         CoffeeChatMember saved = coffeeChatMemberRepository.save(member);
+        coffeeChatRoomCache.invalidate(coffeechatId);
+        coffeeChatListFeed.invalidate(coffeechatId);
         log.info("[CoffeeChatService.join] 참여자 닉네임: {}", request.chatNickname());
 
         return CoffeeChatJoinResponse.of(saved.getId(), chat.getCurrentMemberCount());
@@ -4,72 +4,127 @@ import com.ktb.cafeboo.domain.coffeechat.dto.sse.CoffeeChatUpdatePayload;
 import com.ktb.cafeboo.domain.coffeechat.dto.sse.DeletedCoffeeChatPayload;
 import com.ktb.cafeboo.domain.coffeechat.dto.sse.NewCoffeeChatPayload;
 import com.ktb.cafeboo.domain.coffeechat.model.CoffeeChat;
+import com.ktb.cafeboo.global.infra.sse.SseHub;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * 커피챗 SSE 이벤트를 토픽 단위로 발행합니다.
+ * - 목록 피드: 커피챗 생성/삭제, 참여 인원 변경
+ * - 커피챗 상세 피드: 해당 커피챗의 참여 인원 변경, 삭제
+ * - 내 커피챗 피드(사용자별): 참여 중인 커피챗의 참여 인원 변경, 삭제
+ * 참여 인원 변경은 커피챗별로 모아 두었다가 debounce 주기마다 최신 값만 발행합니다.
+ * 모아 두는 것은 인스턴스별이므로 같은 커피챗의 변경이 여러 인스턴스에서 일어나면 각 인스턴스가 따로 발행합니다.
+ * 이때 인스턴스마다 다른 값을 순서 없이 발행하지 않도록, 최신 인원은 Redis에 기록하고 발행 시점에 다시 읽습니다.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class CoffeeChatSseService {
 
-    // 클라이언트별 SseEmitter 저장소 (userId 기준)
-    private final Map<Long, SseEmitter> emitters = new ConcurrentHashMap<>();
+    private static final String LIST_TOPIC = "coffeechats";
+    private static final String COFFEECHAT_TOPIC_PREFIX = "coffeechat:";
+    private static final String USER_TOPIC_PREFIX = "user:";
+    private static final String MEMBER_COUNT_KEY_PREFIX = "coffeechat:member-count:";
+    // 삭제된 커피챗 표시. 다른 인스턴스에 남은 변경을 발행하지 않도록 함
+    private static final String DELETED_MARKER = "deleted";
+    private static final Duration MEMBER_COUNT_TTL = Duration.ofMinutes(1);
 
-    // SSE 연결 구독
-    public SseEmitter subscribe(Long userId) {
-        SseEmitter emitter = new SseEmitter(10 * 60 * 1000L); // 10분 타임아웃
+    private final SseHub sseHub;
+    private final StringRedisTemplate stringRedisTemplate;
 
-        emitters.put(userId, emitter);
+    // coffeechatId -> 발행 대기 중인 참여 인원 변경
+    private final Map<Long, PendingMemberCount> pendingMemberCounts = new ConcurrentHashMap<>();
 
-        emitter.onCompletion(() -> {
-            emitter.complete();
-            emitters.remove(userId);
-        });
-
-        emitter.onTimeout(() -> {
-            emitter.complete();
-            emitters.remove(userId);
-        });
+    private record PendingMemberCount(Integer currentMemberCount, Set<String> topics) {
+    }
 
-        emitter.onError((e) -> {
-            emitter.complete();
-            emitters.remove(userId);
-        });
+    /**
+     * SSE 연결 구독 (재연결 시 lastEventId 이후 놓친 이벤트를 재전송)
+     * @param list 커피챗 목록 피드 구독 여부
+     * @param my 내가 참여한 커피챗 피드 구독 여부
+     * @param coffeechatIds 상세 피드를 구독할 커피챗 id 목록
+     */
+    public SseEmitter subscribe(Long userId, boolean list, boolean my, List<Long> coffeechatIds, String lastEventId) {
+        Set<String> topics = new HashSet<>();
+        if (list) {
+            topics.add(LIST_TOPIC);
+        }
+        if (my) {
+            topics.add(userTopic(userId));
+        }
+        if (coffeechatIds != null) {
+            coffeechatIds.forEach(id -> topics.add(coffeeChatTopic(id)));
+        }
+        return sseHub.connect(userId, topics, lastEventId);
+    }
 
+    /**
+     * 참여 인원 변경을 목록 피드, 해당 커피챗 상세 피드와 참여자들의 내 커피챗 피드로 보냅니다.
+     * 같은 커피챗의 변경은 debounce 주기 안에서 마지막 값 하나로 합쳐집니다.
+     * @param memberUserIds 커피챗 참여자의 userId (나간 사용자 포함)
+     */
+    public void sendCurrentMemberCountUpdate(Long coffeeChatId, Integer currentMemberCount, Collection<Long> memberUserIds) {
+        Set<String> topics = new HashSet<>();
+        topics.add(LIST_TOPIC);
+        topics.add(coffeeChatTopic(coffeeChatId));
+        memberUserIds.forEach(userId -> topics.add(userTopic(userId)));
 
-        // 연결 확인용 더미 이벤트 전송
         try {
-            emitter.send(SseEmitter.event()
-                    .name("connect")
-                    .data("SSE connection established.")); // 503 에러 방지를 위한 더미 데이터
-        } catch (IOException e) {
-            emitter.completeWithError(e);
+            stringRedisTemplate.opsForValue().set(memberCountKey(coffeeChatId), currentMemberCount.toString(), MEMBER_COUNT_TTL);
+        } catch (Exception e) {
+            // 기록에 실패하면 이 인스턴스가 받은 값으로 발행
+            log.warn("[CoffeeChatSseService.sendCurrentMemberCountUpdate] 참여 인원 기록 실패: coffeeChatId={}, error={}", coffeeChatId, e.getMessage());
         }
 
-        return emitter;
+        pendingMemberCounts.merge(coffeeChatId, new PendingMemberCount(currentMemberCount, topics),
+                (previous, latest) -> {
+                    Set<String> merged = new HashSet<>(previous.topics());
+                    merged.addAll(latest.topics());
+                    return new PendingMemberCount(latest.currentMemberCount(), merged);
+                });
     }
 
-    public void sendCurrentMemberCountUpdate(Long coffeeChatId, Integer currentMemberCount) {
-        CoffeeChatUpdatePayload payload = new CoffeeChatUpdatePayload(
-                coffeeChatId.toString(),
-                currentMemberCount
-        );
+    @Scheduled(fixedDelayString = "${chat.sse.member-count-debounce-ms:500}")
+    public void flushMemberCountUpdates() {
+        for (Long coffeeChatId : pendingMemberCounts.keySet()) {
+            PendingMemberCount pending = pendingMemberCounts.remove(coffeeChatId);
+            if (pending == null) {
+                continue;
+            }
 
-        emitters.forEach((userId, emitter) -> {
+            Integer currentMemberCount = pending.currentMemberCount();
             try {
-                emitter.send(SseEmitter.event()
-                        .name("current-member-count")
-                        .data(payload));
-            } catch (IOException e) {
-                emitter.complete();
-                emitters.remove(userId);
+                String latest = stringRedisTemplate.opsForValue().get(memberCountKey(coffeeChatId));
+                if (DELETED_MARKER.equals(latest)) {
+                    continue;
+                }
+                if (latest != null) {
+                    currentMemberCount = Integer.valueOf(latest);
+                }
+            } catch (Exception e) {
+                log.warn("[CoffeeChatSseService.flushMemberCountUpdates] 참여 인원 조회 실패: coffeeChatId={}, error={}", coffeeChatId, e.getMessage());
             }
-        });
+
+            CoffeeChatUpdatePayload payload = new CoffeeChatUpdatePayload(
+                    coffeeChatId.toString(),
+                    currentMemberCount
+            );
+            sseHub.publish("current-member-count", payload, pending.topics());
+        }
     }
 
     public void sendNewCoffeeChat(CoffeeChat chat) {
@@ -92,32 +147,38 @@ public class CoffeeChatSseService {
                 )
         );
 
-        emitters.forEach((userId, emitter) -> {
-            try {
-                emitter.send(SseEmitter.event()
-                        .name("new-coffeechat")
-                        .data(payload));
-            } catch (IOException e) {
-                emitter.complete();
-                emitters.remove(userId);
-            }
-        });
+        sseHub.publish("new-coffeechat", payload, List.of(LIST_TOPIC));
     }
 
 
-    public void sendDeletedCoffeeChat(Long coffeeChatId) {
+    public void sendDeletedCoffeeChat(Long coffeeChatId, Collection<Long> memberUserIds) {
         DeletedCoffeeChatPayload payload = new DeletedCoffeeChatPayload(coffeeChatId.toString());
 
-        emitters.forEach((userId, emitter) -> {
-            try {
-                emitter.send(SseEmitter.event()
-                        .name("deleted-coffeechat")
-                        .data(payload));
-            } catch (IOException e) {
-                emitter.complete();
-                emitters.remove(userId);
-            }
-        });
+        // 삭제 전에 쌓인 참여 인원 변경은 보내지 않음
+        pendingMemberCounts.remove(coffeeChatId);
+        try {
+            stringRedisTemplate.opsForValue().set(memberCountKey(coffeeChatId), DELETED_MARKER, MEMBER_COUNT_TTL);
+        } catch (Exception e) {
+            log.warn("[CoffeeChatSseService.sendDeletedCoffeeChat] 삭제 표시 실패: coffeeChatId={}, error={}", coffeeChatId, e.getMessage());
+        }
+
+        Set<String> topics = new HashSet<>();
+        topics.add(LIST_TOPIC);
+        topics.add(coffeeChatTopic(coffeeChatId));
+        memberUserIds.forEach(userId -> topics.add(userTopic(userId)));
+        sseHub.publish("deleted-coffeechat", payload, topics);
+    }
+
+    private String coffeeChatTopic(Long coffeeChatId) {
+        return COFFEECHAT_TOPIC_PREFIX + coffeeChatId;
+    }
+
+    private String memberCountKey(Long coffeeChatId) {
+        return MEMBER_COUNT_KEY_PREFIX + coffeeChatId;
+    }
+
+    private String userTopic(Long userId) {
+        return USER_TOPIC_PREFIX + userId;
     }
 
 }
@@ -0,0 +1,43 @@
+package com.ktb.cafeboo.domain.report.model;
+
+import com.ktb.cafeboo.global.BaseEntity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 섭취 기록 변경에 따른 통계 반영 이벤트 (transactional outbox).
+ * 섭취 기록과 같은 트랜잭션에서 저장되며, 롤업 스케줄러가 비동기로 일/주/월/연 통계에 반영합니다.
+ */
+@Entity
+@Table(name = "DailyStatisticsEvents", indexes = {
+    @Index(name = "idx_daily_statistics_event_pending", columnList = "processed_at, user_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyStatisticsEvent extends BaseEntity {
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "target_date", nullable = false)
+    private LocalDate targetDate;
+
+    @Column(name = "caffeine_delta_mg", nullable = false)
+    private Float caffeineDeltaMg;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    // 롤업 스케줄러가 처리 대상으로 가져간 시각. 처리 도중 실패한 인스턴스의 이벤트는 일정 시간이 지나면 다시 가져갈 수 있음
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    @Builder.Default
+    @Column(name = "attempts", nullable = false)
+    private int attempts = 0;
+}
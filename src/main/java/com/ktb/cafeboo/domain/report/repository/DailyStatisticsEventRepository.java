@@ -0,0 +1,73 @@
+package com.ktb.cafeboo.domain.report.repository;
+
+import com.ktb.cafeboo.domain.report.model.DailyStatisticsEvent;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface DailyStatisticsEventRepository extends JpaRepository<DailyStatisticsEvent, Long> {
+
+    // 미처리 이벤트가 있는 사용자 목록 조회 (다른 인스턴스가 처리 중인 이벤트 제외)
+    @Query("SELECT DISTINCT e.userId FROM DailyStatisticsEvent e " +
+        "WHERE e.processedAt IS NULL AND e.attempts < :maxAttempts " +
+        "AND (e.claimedAt IS NULL OR e.claimedAt < :claimExpiredBefore)")
+    List<Long> findPendingUserIds(
+        @Param("maxAttempts") int maxAttempts,
+        @Param("claimExpiredBefore") LocalDateTime claimExpiredBefore,
+        Pageable pageable
+    );
+
+    // 특정 사용자의 미처리 이벤트를 잠금과 함께 조회. 다른 인스턴스가 잠그거나 가져간 이벤트는 건너뜀
+    @Query(value = "SELECT * FROM daily_statistics_events " +
+        "WHERE user_id = :userId AND processed_at IS NULL AND attempts < :maxAttempts " +
+        "AND (claimed_at IS NULL OR claimed_at < :claimExpiredBefore) " +
+        "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<DailyStatisticsEvent> findPendingByUserIdForUpdate(
+        @Param("userId") Long userId,
+        @Param("maxAttempts") int maxAttempts,
+        @Param("claimExpiredBefore") LocalDateTime claimExpiredBefore,
+        @Param("limit") int limit
+    );
+
+    // 처리 대상으로 가져간 이벤트 표시. 시도 횟수는 가져간 이벤트에 대해서만 증가
+    @Modifying
+    @Query("UPDATE DailyStatisticsEvent e SET e.claimedAt = :claimedAt, e.attempts = e.attempts + 1 WHERE e.id IN :ids")
+    int claim(@Param("ids") List<Long> ids, @Param("claimedAt") LocalDateTime claimedAt);
+
+    // 가져간 이벤트의 처리 완료 표시. 가져간 이후 다른 인스턴스가 다시 가져간 이벤트는 제외
+    @Modifying
+    @Query("UPDATE DailyStatisticsEvent e SET e.processedAt = :processedAt " +
+        "WHERE e.id IN :ids AND e.claimedAt = :claimedAt AND e.processedAt IS NULL")
+    int markProcessed(
+        @Param("ids") List<Long> ids,
+        @Param("claimedAt") LocalDateTime claimedAt,
+        @Param("processedAt") LocalDateTime processedAt
+    );
+
+    // 처리에 실패한 이벤트를 다음 주기에 다시 가져갈 수 있도록 표시 해제
+    @Transactional
+    @Modifying
+    @Query("UPDATE DailyStatisticsEvent e SET e.claimedAt = NULL " +
+        "WHERE e.id IN :ids AND e.claimedAt = :claimedAt AND e.processedAt IS NULL")
+    int releaseClaim(@Param("ids") List<Long> ids, @Param("claimedAt") LocalDateTime claimedAt);
+
+    @Query("SELECT COUNT(e) FROM DailyStatisticsEvent e WHERE e.processedAt IS NULL AND e.attempts >= :maxAttempts")
+    long countExhausted(@Param("maxAttempts") int maxAttempts);
+
+    // 최대 시도 횟수를 넘겨 제외된 이벤트를 다시 처리 대상으로 되돌림
+    @Transactional
+    @Modifying
+    @Query("UPDATE DailyStatisticsEvent e SET e.attempts = 0, e.claimedAt = NULL " +
+        "WHERE e.processedAt IS NULL AND e.attempts >= :maxAttempts")
+    int resetExhausted(@Param("maxAttempts") int maxAttempts);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM DailyStatisticsEvent e WHERE e.processedAt < :before")
+    int deleteProcessedBefore(@Param("before") LocalDateTime before);
+}
@@ -2,11 +2,14 @@ package com.ktb.cafeboo.domain.report.repository;
 
 import com.ktb.cafeboo.domain.report.model.DailyStatistics;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface DailyStatisticsRepository extends JpaRepository<DailyStatistics, Long> {
     Optional<DailyStatistics> findByUserIdAndDate(Long userId, LocalDate date);
@@ -27,4 +30,16 @@ public interface DailyStatisticsRepository extends JpaRepository<DailyStatistics
 
 
     List<DailyStatistics> findByUserIdAndDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
+
+    // 비동기로 도착한 AI 판정 메시지 반영. 판정 요청 이후 다시 갱신된 통계(더 최신 판정 대상)는 덮어쓰지 않음
+    @Transactional
+    @Modifying
+    @Query("UPDATE DailyStatistics ds SET ds.aiMessage = :aiMessage " +
+        "WHERE ds.user.id = :userId AND ds.date = :date AND ds.updatedAt <= :requestedAt")
+    int updateAiMessage(
+        @Param("userId") Long userId,
+        @Param("date") LocalDate date,
+        @Param("aiMessage") String aiMessage,
+        @Param("requestedAt") LocalDateTime requestedAt
+    );
 }
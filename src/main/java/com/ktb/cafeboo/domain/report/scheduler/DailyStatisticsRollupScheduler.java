@@ -0,0 +1,62 @@
+package com.ktb.cafeboo.domain.report.scheduler;
+
+import com.ktb.cafeboo.domain.report.service.DailyStatisticsEventService;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DailyStatisticsRollupScheduler {
+
+    private final DailyStatisticsEventService eventService;
+
+    @Value("${statistics.rollup.users-per-run:100}")
+    private int usersPerRun;
+
+    @Value("${statistics.rollup.retention-days:7}")
+    private int retentionDays;
+
+    @Value("${statistics.rollup.redrive-enabled:true}")
+    private boolean redriveEnabled;
+
+    // 섭취 기록 이벤트를 사용자 단위로 모아 통계에 반영
+    @Scheduled(fixedDelayString = "${statistics.rollup.fixed-delay-ms:1000}")
+    public void rollup() {
+        List<Long> userIds = eventService.findPendingUserIds(usersPerRun);
+
+        for (Long userId : userIds) {
+            try {
+                eventService.processPendingEvents(userId);
+            } catch (Exception e) {
+                // 실패한 사용자의 이벤트는 다음 주기에 재시도, 최대 시도 횟수를 넘으면 제외
+                log.error("[DailyStatisticsRollupScheduler.rollup] 통계 반영 실패 - userId={}, message={}", userId, e.getMessage(), e);
+            }
+        }
+    }
+
+    // 매일 오전 4시, 처리 완료된 오래된 이벤트 정리
+    @Scheduled(cron = "0 0 4 * * *")
+    public void cleanup() {
+        int deleted = eventService.deleteProcessedBefore(LocalDateTime.now().minusDays(retentionDays));
+        log.info("[DailyStatisticsRollupScheduler.cleanup] 처리 완료 이벤트 {}건 삭제", deleted);
+    }
+
+    // 매일 오전 4시 30분, 최대 시도 횟수를 넘겨 제외된 이벤트를 다시 처리 대상으로 등록 (하루 한 번 재시도 기회 부여)
+    @Scheduled(cron = "0 30 4 * * *")
+    public void redriveExhausted() {
+        long exhausted = eventService.countExhaustedEvents();
+        if (exhausted == 0) {
+            return;
+        }
+        log.error("[DailyStatisticsRollupScheduler.redriveExhausted] 최대 시도 횟수를 넘긴 처리 실패 이벤트 {}건 존재", exhausted);
+        if (redriveEnabled) {
+            eventService.redriveExhaustedEvents();
+        }
+    }
+}
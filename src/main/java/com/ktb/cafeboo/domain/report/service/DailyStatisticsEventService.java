@@ -0,0 +1,156 @@
+package com.ktb.cafeboo.domain.report.service;
+
+import com.ktb.cafeboo.domain.report.model.DailyStatisticsEvent;
+import com.ktb.cafeboo.domain.report.repository.DailyStatisticsEventRepository;
+import com.ktb.cafeboo.domain.user.model.User;
+import com.ktb.cafeboo.domain.user.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 섭취 기록 변경 이벤트를 outbox 테이블에 기록하고, 사용자 단위로 모아 통계에 반영합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DailyStatisticsEventService {
+
+    private final DailyStatisticsEventRepository eventRepository;
+    private final DailyStatisticsService dailyStatisticsService;
+    private final UserService userService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${statistics.rollup.batch-size:500}")
+    private int batchSize;
+
+    @Value("${statistics.rollup.max-attempts:5}")
+    private int maxAttempts;
+
+    // 가져간 뒤 이 시간 안에 처리 완료되지 않은 이벤트는 다른 인스턴스가 다시 가져감 (처리 중 종료 대비)
+    @Value("${statistics.rollup.claim-timeout-seconds:300}")
+    private long claimTimeoutSeconds;
+
+    /**
+     * 통계 반영 이벤트를 기록합니다. 호출한 트랜잭션(섭취 기록 저장)과 함께 커밋됩니다.
+     * @param userId 사용자 고유키
+     * @param date 섭취 날짜
+     * @param caffeineDelta 통계에 반영할 카페인 변화량 (mg)
+     */
+    @Transactional
+    public void publish(Long userId, LocalDate date, float caffeineDelta) {
+        eventRepository.save(DailyStatisticsEvent.builder()
+            .userId(userId)
+            .targetDate(date)
+            .caffeineDeltaMg(caffeineDelta)
+            .build());
+    }
+
+    public List<Long> findPendingUserIds(int limit) {
+        return eventRepository.findPendingUserIds(maxAttempts, claimExpiredBefore(), PageRequest.of(0, limit));
+    }
+
+    /**
+     * 사용자의 미처리 이벤트를 날짜별로 합산하여 한 번씩 통계에 반영합니다.
+     * 1. 짧은 트랜잭션에서 이벤트를 잠그고 가져간 것으로 표시한 뒤 커밋합니다. (시도 횟수는 가져간 이벤트만 증가)
+     * 2. 잠금 없이 별도 트랜잭션에서 통계를 갱신하고, 같은 트랜잭션에서 처리 완료를 표시하므로 같은 이벤트가 두 번 반영되지 않습니다.
+     * 실패하면 가져간 표시를 해제하여 다음 주기에 재시도합니다.
+     * @param userId 사용자 고유키
+     * @return 처리한 이벤트 수
+     */
+    public int processPendingEvents(Long userId) {
+        LocalDateTime claimedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        List<DailyStatisticsEvent> events = transactionTemplate.execute(status -> claim(userId, claimedAt));
+        if (events == null || events.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = events.stream().map(DailyStatisticsEvent::getId).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> apply(userId, events, ids, claimedAt));
+        } catch (RuntimeException e) {
+            eventRepository.releaseClaim(ids, claimedAt);
+            reportExhausted(userId, events);
+            throw e;
+        }
+
+        log.info("[DailyStatisticsEventService.processPendingEvents] 통계 반영 완료 - userId={}, events={}", userId, events.size());
+        return events.size();
+    }
+
+    /**
+     * 최대 시도 횟수를 넘겨 제외된 이벤트를 다시 처리 대상으로 되돌립니다.
+     * @return 되돌린 이벤트 수
+     */
+    public int redriveExhaustedEvents() {
+        int redriven = eventRepository.resetExhausted(maxAttempts);
+        if (redriven > 0) {
+            log.warn("[DailyStatisticsEventService.redriveExhaustedEvents] 처리 실패 이벤트 재처리 등록 - events={}", redriven);
+        }
+        return redriven;
+    }
+
+    public long countExhaustedEvents() {
+        return eventRepository.countExhausted(maxAttempts);
+    }
+
+    private List<DailyStatisticsEvent> claim(Long userId, LocalDateTime claimedAt) {
+        List<DailyStatisticsEvent> events =
+            eventRepository.findPendingByUserIdForUpdate(userId, maxAttempts, claimExpiredBefore(), batchSize);
+        if (!events.isEmpty()) {
+            eventRepository.claim(events.stream().map(DailyStatisticsEvent::getId).toList(), claimedAt);
+        }
+        return events;
+    }
+
+    private void apply(Long userId, List<DailyStatisticsEvent> events, List<Long> ids, LocalDateTime claimedAt) {
+        Map<LocalDate, Float> deltaByDate = new TreeMap<>();
+        for (DailyStatisticsEvent event : events) {
+            deltaByDate.merge(event.getTargetDate(), event.getCaffeineDeltaMg(), Float::sum);
+        }
+
+        User user = userService.findUserById(userId);
+        for (Map.Entry<LocalDate, Float> entry : deltaByDate.entrySet()) {
+            dailyStatisticsService.updateDailyStatistics(user, entry.getKey(), entry.getValue());
+        }
+
+        int marked = eventRepository.markProcessed(ids, claimedAt, LocalDateTime.now());
+        if (marked != ids.size()) {
+            // 처리 시간이 길어져 다른 인스턴스가 다시 가져간 경우. 중복 반영을 막기 위해 롤백
+            throw new IllegalStateException("이벤트 처리 권한 만료 - expected=" + ids.size() + ", marked=" + marked);
+        }
+    }
+
+    private void reportExhausted(Long userId, List<DailyStatisticsEvent> events) {
+        // 가져갈 때 증가한 시도 횟수 기준
+        List<Long> exhaustedIds = events.stream()
+            .filter(event -> event.getAttempts() + 1 >= maxAttempts)
+            .map(DailyStatisticsEvent::getId)
+            .toList();
+        if (exhaustedIds.isEmpty()) {
+            return;
+        }
+        meterRegistry.counter("statistics.rollup.events.exhausted").increment(exhaustedIds.size());
+        log.error("[DailyStatisticsEventService.reportExhausted] 최대 시도 횟수 초과로 통계 반영 제외 - userId={}, eventIds={}", userId, exhaustedIds);
+    }
+
+    private LocalDateTime claimExpiredBefore() {
+        return LocalDateTime.now().minusSeconds(claimTimeoutSeconds);
+    }
+
+    public int deleteProcessedBefore(LocalDateTime before) {
+        return eventRepository.deleteProcessedBefore(before);
+    }
+}
@@ -66,7 +66,8 @@ public class DailyStatisticsService {
         int currentCaffeine = Math.round(statistics.getTotalCaffeineMg());
         double caffeineResidualAtSleep = residualAtSleep.getResidueAmountMg();
 
-        String message = intakeSuggestionService.getPredictedIntakeSuggestion(user, currentCaffeine, caffeineResidualAtSleep);
+        String message = intakeSuggestionService.getPredictedIntakeSuggestion(user, currentCaffeine, caffeineResidualAtSleep,
+            (aiMessage, requestedAt) -> dailyStatisticsRepository.updateAiMessage(user.getId(), date, aiMessage, requestedAt));
 
         statistics.setAiMessage(message);
 
@@ -123,7 +124,8 @@ public class DailyStatisticsService {
         int currentCaffeine = Math.round(statistics.getTotalCaffeineMg());
         double caffeineResidualAtSleep = residualAtSleep.getResidueAmountMg();
 
-        String message = intakeSuggestionService.getPredictedIntakeSuggestion(user, currentCaffeine, caffeineResidualAtSleep);
+        String message = intakeSuggestionService.getPredictedIntakeSuggestion(user, currentCaffeine, caffeineResidualAtSleep,
+            (aiMessage, requestedAt) -> dailyStatisticsRepository.updateAiMessage(user.getId(), date, aiMessage, requestedAt));
 
         statistics.setAiMessage(message);
 
@@ -3,6 +3,8 @@ package com.ktb.cafeboo.domain.user.service;
 import com.ktb.cafeboo.domain.drink.model.DrinkType;
 import com.ktb.cafeboo.domain.drink.repository.DrinkTypeRepository;
 import com.ktb.cafeboo.domain.ai.service.CaffeineRecommendationService;
+import com.ktb.cafeboo.domain.caffeinediary.service.CaffeineEliminationModel;
+import com.ktb.cafeboo.domain.caffeinediary.service.CaffeineResidualService;
 import com.ktb.cafeboo.domain.report.service.DailyStatisticsService;
 import com.ktb.cafeboo.domain.user.dto.*;
 import com.ktb.cafeboo.domain.user.mapper.UserCaffeineInfoMapper;
@@ -35,6 +37,8 @@ public class UserCaffeineInfoService {
     private final DrinkTypeRepository drinkTypeRepository;
     private final CaffeineRecommendationService caffeineRecommendationService;
     private final DailyStatisticsService dailyStatisticsService;
+    private final CaffeineEliminationModel caffeineEliminationModel;
+    private final CaffeineResidualService caffeineResidualService;
 
     @Transactional
     public UserCaffeineInfoCreateResponse create(Long userId, UserCaffeineInfoCreateRequest request) {
@@ -79,6 +83,10 @@ public class UserCaffeineInfoService {
 
             user.setFavoriteDrinks(favoriteDrinkTypes);
             userCaffeineInfoRepository.save(entity);
+            user.setCaffeinInfo(entity);
+            // 카페인 민감도가 반감기에 반영되므로 제거 모델 및 저장된 잔존량 갱신
+            caffeineEliminationModel.evict(userId);
+            caffeineResidualService.rebuildStoredResiduals(user);
 
             log.info("[UserCaffeineInfoService.create] 카페인 정보 생성 완료 - userId={}", userId);
 
@@ -111,6 +119,8 @@ public class UserCaffeineInfoService {
 
         try {
             UserCaffeineInfoMapper.updateEntity(entity, request);
+            caffeineEliminationModel.evict(userId);
+            caffeineResidualService.rebuildStoredResiduals(user);
 
             try {
                 float predictedLimit = caffeineRecommendationService.getPredictedCaffeineLimitByRule(user, entity.getCaffeineSensitivity());
@@ -1,6 +1,8 @@
 package com.ktb.cafeboo.domain.user.service;
 
 import com.ktb.cafeboo.domain.ai.service.CaffeineRecommendationService;
+import com.ktb.cafeboo.domain.caffeinediary.service.CaffeineEliminationModel;
+import com.ktb.cafeboo.domain.caffeinediary.service.CaffeineResidualService;
 import com.ktb.cafeboo.domain.report.service.DailyStatisticsService;
 import com.ktb.cafeboo.domain.user.dto.*;
 import com.ktb.cafeboo.domain.user.mapper.UserHealthInfoMapper;
@@ -26,6 +28,8 @@ public class UserHealthInfoService {
     private final UserHealthInfoRepository userHealthInfoRepository;
     private final CaffeineRecommendationService caffeineRecommendationService;
     private final DailyStatisticsService dailyStatisticsService;
+    private final CaffeineEliminationModel caffeineEliminationModel;
+    private final CaffeineResidualService caffeineResidualService;
 
     @Transactional
     public UserHealthInfoCreateResponse create(Long userId, UserHealthInfoCreateRequest request) {
@@ -45,6 +49,10 @@ public class UserHealthInfoService {
         try {
             UserHealthInfo entity = UserHealthInfoMapper.toEntity(request, user);
             userHealthInfoRepository.save(entity);
+            user.setHealthInfo(entity);
+            // 건강 정보가 반감기에 반영되므로 제거 모델 및 저장된 잔존량 갱신
+            caffeineEliminationModel.evict(userId);
+            caffeineResidualService.rebuildStoredResiduals(user);
 
             log.info("[UserHealthInfoService.create] 건강 정보 생성 완료 - userId={}", userId);
             return new UserHealthInfoCreateResponse(
@@ -75,6 +83,8 @@ public class UserHealthInfoService {
 
         try {
             UserHealthInfoMapper.updateEntity(healthInfo, request);
+            caffeineEliminationModel.evict(userId);
+            caffeineResidualService.rebuildStoredResiduals(user);
 
             try {
                 UserCaffeineInfo caffeinInfo = user.getCaffeinInfo();
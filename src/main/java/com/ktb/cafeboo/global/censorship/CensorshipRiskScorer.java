@@ -0,0 +1,98 @@
+package com.ktb.cafeboo.global.censorship;
+
+import com.ktb.cafeboo.global.censorship.filters.CensorshipAutomaton.ScanResult;
+import java.util.regex.Pattern;
+
+/**
+ * 금칙어 사전에 걸리지 않은 메시지가 AI 판정이 필요한지 0 ~ 1 사이 점수로 추정합니다.
+ * 사전 부분 일치는 단독으로 기준(censorship.ai.risk-threshold 기본값 0.3)을 넘고,
+ * 표기 신호는 하나만으로는 기준에 못 미치며 두 가지 이상 겹쳐야 넘습니다.
+ * - 예외어로 허용된 금칙어가 있음 (사전 부분 일치): 0.5
+ * - 자음/모음만으로 된 표기 (ㅅㅂ, ㅂㅅ 등): 0.2, 일상 줄임말/감정 표현(ㅋㅋ, ㅇㅇ, ㄱㄱ, ㅠㅠ 등)에 쓰이는 자모는 제외
+ * - 글자 사이에 기호나 숫자를 끼워 넣은 표기 (시.발, 시1발): 0.2, URL/이메일은 제외
+ * - 한 글자씩 세 글자 이상 띄어 쓴 표기 (시 발 놈): 0.15
+ */
+public final class CensorshipRiskScorer {
+
+    static final double WHITELISTED_HIT_SCORE = 0.5;
+    static final double JAMO_SCORE = 0.2;
+    static final double INSERTED_SEPARATOR_SCORE = 0.2;
+    static final double SPACED_LETTERS_SCORE = 0.15;
+
+    private static final char COMPAT_JAMO_FIRST = 0x3131;
+    private static final char COMPAT_JAMO_LAST = 0x318E;
+
+    // 일상 대화에서 흔한 줄임말/감정 표현에 쓰이는 자모 (ㅋㅋ, ㅎㅎ, ㅠㅠ, ㅇㅇ, ㅇㅋ, ㄱㄱ, ㄴㄴ, ㄷㄷ, ㅊㅋ 등)
+    private static final String EXPRESSIVE_JAMO = "ㅋㅎㅠㅜㅡㅇㄱㄴㄷㅊ";
+
+    private static final int SPACED_LETTERS_MIN = 3;
+
+    private static final Pattern URL_OR_EMAIL = Pattern.compile(
+            "(?i)(https?://\\S+|www\\.\\S+|[\\w.+-]+@[\\w-]+(\\.[\\w-]+)+|[a-z0-9-]+(\\.[a-z0-9-]+)*\\.[a-z]{2,}(/\\S*)?)");
+
+    private CensorshipRiskScorer() {
+    }
+
+    public static double score(String text, ScanResult scanResult) {
+        if (text == null || text.isBlank()) {
+            return 0;
+        }
+
+        double score = 0;
+        if (scanResult.whitelistedHits() > 0) {
+            score += WHITELISTED_HIT_SCORE;
+        }
+        if (containsNonExpressiveJamo(text)) {
+            score += JAMO_SCORE;
+        }
+        if (containsInsertedSeparator(text)) {
+            score += INSERTED_SEPARATOR_SCORE;
+        }
+        if (containsSpacedLetters(text)) {
+            score += SPACED_LETTERS_SCORE;
+        }
+        return Math.min(1.0, score);
+    }
+
+    // 줄임말/감정 표현을 제외한 호환 자모가 있는지 확인
+    private static boolean containsNonExpressiveJamo(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= COMPAT_JAMO_FIRST && c <= COMPAT_JAMO_LAST && EXPRESSIVE_JAMO.indexOf(c) < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // URL/이메일이 아닌 단어에서 문자 사이에 공백이 아닌 기호/숫자가 끼어 있는지 확인
+    private static boolean containsInsertedSeparator(String text) {
+        for (String token : text.trim().split("\\s+")) {
+            if (URL_OR_EMAIL.matcher(token).matches()) {
+                continue;
+            }
+            for (int i = 1; i < token.length() - 1; i++) {
+                char c = token.charAt(i);
+                if (Character.isLetter(c)) {
+                    continue;
+                }
+                if (Character.isLetter(token.charAt(i - 1)) && Character.isLetter(token.charAt(i + 1))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // 한 글자짜리 단어가 연속으로 세 번 이상 나오는지 확인 ("나 너", "좀 더 빨리"는 제외)
+    private static boolean containsSpacedLetters(String text) {
+        int consecutive = 0;
+        for (String token : text.trim().split("\\s+")) {
+            consecutive = token.length() == 1 && Character.isLetter(token.charAt(0)) ? consecutive + 1 : 0;
+            if (consecutive >= SPACED_LETTERS_MIN) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,129 @@
+package com.ktb.cafeboo.global.censorship;
+
+import java.text.Normalizer;
+
+/**
+ * 검열 전 텍스트 정규화.
+ * 1. NFKC 정규화 및 소문자 변환 (전각 문자 등 통일)
+ * 2. leetspeak 치환 (0→o, 1→i, 3→e, 4→a, 5→s, 7→t, @→a, $→s, !→i)
+ * 3. 단어(공백 기준) 안의 문장부호, 기호 제거 ("시.발" → "시발")
+ * 4. 단어 안에서 자모로 풀어 쓴 음절을 다시 조합 ("ㅅㅣ발" → "시발"). 음절이 되지 않는 자모는 호환 자모로 남김 ("ㅅㅂ")
+ * 5. 한 글자짜리 단어끼리만 붙이고 ("시 발 놈" → "시발놈"), 나머지 단어 사이는 공백 하나로 구분 ("하시 발레" → "하시 발레")
+ * 음절을 자모로 분해한 채 검사하지 않으므로 자모 금칙어(ㅅㅂ)는 실제로 자모로 쓴 부분에만 일치하고,
+ * 음절 경계나 단어 경계를 넘어 만들어지는 오탐("옷방", "다섯 번")이 생기지 않습니다.
+ * 금칙어 사전도 같은 방식으로 정규화하여 오토마톤을 만듭니다.
+ */
+public final class CensorshipTextNormalizer {
+
+    // 정규화 규칙이 바뀌면 증가시켜 이전 규칙으로 만든 사전 스냅샷을 무효화
+    public static final int VERSION = 2;
+
+    private static final char WORD_SEPARATOR = ' ';
+
+    // 조합형 한글 자모 범위 (NFD 분해 결과)
+    private static final char CHOSEONG_FIRST = 0x1100;
+    private static final char JUNGSEONG_FIRST = 0x1161;
+    private static final char JONGSEONG_FIRST = 0x11A8;
+
+    private static final char SYLLABLE_FIRST = 0xAC00;
+
+    private static final String CHOSEONG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+    private static final String JUNGSEONG = "ㅏㅐㅑㅒㅓㅔㅕㅖㅗㅘㅙㅚㅛㅜㅝㅞㅟㅠㅡㅢㅣ";
+    private static final String JONGSEONG = "ㄱㄲㄳㄴㄵㄶㄷㄹㄺㄻㄼㄽㄾㄿㅀㅁㅂㅄㅅㅆㅇㅈㅊㅋㅌㅍㅎ";
+
+    private CensorshipTextNormalizer() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        // NFKC로 호환 문자를 통일한 뒤 NFD로 음절과 자모를 모두 조합형 자모로 분해 (단어 안에서 다시 조합)
+        String folded = Normalizer.normalize(Normalizer.normalize(text, Normalizer.Form.NFKC), Normalizer.Form.NFD);
+        StringBuilder builder = new StringBuilder(folded.length());
+
+        boolean previousSingle = false;
+        for (String word : folded.split("\\s+")) {
+            String normalizedWord = normalizeWord(word);
+            if (normalizedWord.isEmpty()) {
+                continue;
+            }
+            boolean single = normalizedWord.length() == 1;
+            if (!builder.isEmpty() && !(single && previousSingle)) {
+                builder.append(WORD_SEPARATOR);
+            }
+            builder.append(normalizedWord);
+            previousSingle = single;
+        }
+        return builder.toString();
+    }
+
+    private static String normalizeWord(String word) {
+        StringBuilder jamo = new StringBuilder(word.length());
+        for (int i = 0; i < word.length(); i++) {
+            char c = foldLeet(Character.toLowerCase(word.charAt(i)));
+
+            char compatibilityJamo = toCompatibilityJamo(c);
+            if (compatibilityJamo != 0) {
+                jamo.append(compatibilityJamo);
+            } else if (Character.isLetterOrDigit(c)) {
+                jamo.append(c);
+            }
+        }
+        return compose(jamo);
+    }
+
+    /**
+     * 초성 + 중성 (+ 종성) 순서의 호환 자모를 음절로 조합합니다.
+     * 자음 뒤에 모음이 오면 다음 음절의 초성으로 보고, 그렇지 않은 경우에만 종성으로 붙입니다.
+     */
+    private static String compose(CharSequence text) {
+        StringBuilder builder = new StringBuilder(text.length());
+        int i = 0;
+        while (i < text.length()) {
+            int choseong = CHOSEONG.indexOf(text.charAt(i));
+            int jungseong = i + 1 < text.length() ? JUNGSEONG.indexOf(text.charAt(i + 1)) : -1;
+            if (choseong < 0 || jungseong < 0) {
+                builder.append(text.charAt(i));
+                i++;
+                continue;
+            }
+
+            int jongseong = i + 2 < text.length() ? JONGSEONG.indexOf(text.charAt(i + 2)) : -1;
+            boolean nextIsVowel = i + 3 < text.length() && JUNGSEONG.indexOf(text.charAt(i + 3)) >= 0;
+            if (jongseong >= 0 && !nextIsVowel) {
+                builder.append((char) (SYLLABLE_FIRST + (choseong * JUNGSEONG.length() + jungseong) * (JONGSEONG.length() + 1) + jongseong + 1));
+                i += 3;
+            } else {
+                builder.append((char) (SYLLABLE_FIRST + (choseong * JUNGSEONG.length() + jungseong) * (JONGSEONG.length() + 1)));
+                i += 2;
+            }
+        }
+        return builder.toString();
+    }
+
+    private static char toCompatibilityJamo(char c) {
+        if (c >= CHOSEONG_FIRST && c < CHOSEONG_FIRST + CHOSEONG.length()) {
+            return CHOSEONG.charAt(c - CHOSEONG_FIRST);
+        }
+        if (c >= JUNGSEONG_FIRST && c < JUNGSEONG_FIRST + JUNGSEONG.length()) {
+            return JUNGSEONG.charAt(c - JUNGSEONG_FIRST);
+        }
+        if (c >= JONGSEONG_FIRST && c < JONGSEONG_FIRST + JONGSEONG.length()) {
+            return JONGSEONG.charAt(c - JONGSEONG_FIRST);
+        }
+        return 0;
+    }
+
+    private static char foldLeet(char c) {
+        return switch (c) {
+            case '0' -> 'o';
+            case '1', '!' -> 'i';
+            case '3' -> 'e';
+            case '4', '@' -> 'a';
+            case '5', '$' -> 's';
+            case '7' -> 't';
+            default -> c;
+        };
+    }
+}
@@ -1,9 +1,17 @@
 package com.ktb.cafeboo.global.censorship;
 
 import com.ktb.cafeboo.global.censorship.filters.*;
+import com.ktb.cafeboo.global.censorship.filters.CensorshipAutomaton.ScanResult;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+/**
+ * 단계별 검열: 정규화 → 금칙어 사전 → (위험 점수가 기준 이상인 경우에만) AI 판정
+ */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class TextCensorshipFilter {
@@ -11,11 +19,51 @@ public class TextCensorshipFilter {
     private final TrieCensorshipFilter trieFilter;
     private final AiCensorshipFilter aiFilter;
 
+    @Value("${censorship.ai.risk-threshold:0.3}")
+    private double aiRiskThreshold;
+
     public boolean containsBadWord(String text, CensorshipStrategy strategy) {
+        String normalized = CensorshipTextNormalizer.normalize(text);
         return switch (strategy) {
-            case TRIE_ONLY -> trieFilter.contains(text);
-            case AI_ONLY -> aiFilter.contains(text);
-            case BOTH -> trieFilter.contains(text) || aiFilter.contains(text);
+            case TRIE_ONLY -> trieFilter.scanNormalized(normalized).detected() != null;
+            case AI_ONLY -> aiFilter.contains(text, normalized);
+            case BOTH -> containsBadWordTiered(text, normalized);
         };
     }
+
+    /**
+     * 금칙어 사전 검사를 통과한 메시지에 대해 AI 판정만 비동기로 수행합니다. (전송 후 검열용)
+     * 위험 점수가 기준 미만이면 AI를 호출하지 않고 false로 완료됩니다.
+     */
+    public CompletableFuture<Boolean> containsBadWordByAiAsync(String text) {
+        String normalized = CensorshipTextNormalizer.normalize(text);
+        ScanResult scanResult = trieFilter.scanNormalized(normalized);
+        if (scanResult.detected() != null) {
+            return CompletableFuture.completedFuture(true);
+        }
+        if (!requiresAiCheck(text, scanResult)) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return aiFilter.containsAsync(text, normalized);
+    }
+
+    private boolean containsBadWordTiered(String text, String normalized) {
+        ScanResult scanResult = trieFilter.scanNormalized(normalized);
+        if (scanResult.detected() != null) {
+            return true;
+        }
+        if (!requiresAiCheck(text, scanResult)) {
+            return false;
+        }
+        return aiFilter.contains(text, normalized);
+    }
+
+    private boolean requiresAiCheck(String text, ScanResult scanResult) {
+        double riskScore = CensorshipRiskScorer.score(text, scanResult);
+        if (riskScore < aiRiskThreshold) {
+            return false;
+        }
+        log.info("[TextCensorshipFilter] AI 판정 요청 - riskScore={}", riskScore);
+        return true;
+    }
 }
@@ -0,0 +1,191 @@
+package com.ktb.cafeboo.global.censorship.dictionary;
+
+import com.ktb.cafeboo.global.censorship.CensorshipTextNormalizer;
+import com.ktb.cafeboo.global.censorship.filters.CensorshipAutomaton;
+import com.ktb.cafeboo.global.infra.s3.S3Downloader;
+import com.ktb.cafeboo.global.infra.s3.S3Downloader.KeywordFile;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 금칙어/예외어 사전을 관리합니다.
+ * 사전은 CensorshipTextNormalizer로 정규화한 뒤 오토마톤으로 만듭니다.
+ * 시작 시 로컬 스냅샷이 있으면 바로 복원하고, S3 다운로드와 오토마톤 빌드는 별도 스레드에서 수행합니다.
+ * 스냅샷이 없으면 빈 사전으로 메시지를 통과시키지 않도록 첫 S3 로딩을 시작 과정에서 기다립니다.
+ * 사전이 한 번도 로딩되지 않은 동안에는 CensorshipDictionaryHealthIndicator가 DOWN을 보고합니다.
+ * 이후 주기적으로 S3 ETag를 확인하여 변경된 경우에만 다시 빌드하고 원자적으로 교체합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CensorshipDictionary {
+
+    private static final int SNAPSHOT_MAGIC = 0xCAFEB00;
+
+    private final S3Downloader s3Downloader;
+
+    @Value("${censorship.blacklist-filename}")
+    private String blacklistFilename;
+
+    @Value("${censorship.whitelist-filename}")
+    private String whitelistFilename;
+
+    @Value("${censorship.snapshot-path:${java.io.tmpdir}/cafeboo-censorship.snapshot}")
+    private String snapshotPath;
+
+    @Value("${censorship.poll-interval-seconds:60}")
+    private long pollIntervalSeconds;
+
+    private volatile Snapshot current = new Snapshot(CensorshipAutomaton.empty(), null, null);
+
+    private final ScheduledExecutorService reloadExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "censorship-dictionary-reloader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void init() {
+        if (loadSnapshot()) {
+            // 복원한 사전으로 바로 검열할 수 있으므로 S3 확인은 애플리케이션 시작을 막지 않도록 백그라운드에서 수행
+            reloadExecutor.scheduleWithFixedDelay(this::refreshSafely, 0, pollIntervalSeconds, TimeUnit.SECONDS);
+            return;
+        }
+
+        // 스냅샷이 없으면 첫 로딩을 기다림. 실패하면 DOWN 상태로 시작하고 다음 주기에 재시도
+        refreshSafely();
+        reloadExecutor.scheduleWithFixedDelay(this::refreshSafely, pollIntervalSeconds, pollIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        reloadExecutor.shutdownNow();
+    }
+
+    public CensorshipAutomaton automaton() {
+        return current.automaton();
+    }
+
+    /**
+     * 현재 사전 버전 (금칙어 ETag/예외어 ETag). 아직 로딩되지 않았으면 null
+     */
+    public String version() {
+        Snapshot snapshot = current;
+        if (snapshot.blacklistETag() == null) {
+            return null;
+        }
+        return snapshot.blacklistETag() + "/" + snapshot.whitelistETag();
+    }
+
+    /**
+     * 스냅샷 복원 또는 S3 로딩으로 사전이 한 번이라도 로딩되었는지 여부
+     */
+    public boolean isLoaded() {
+        return current.blacklistETag() != null;
+    }
+
+    private void refreshSafely() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            // 실패 시 기존 사전을 유지하고 다음 주기에 재시도
+            log.error("[CensorshipDictionary.refresh] 금칙어/예외어 갱신 실패 - 현재 버전 유지 - version={}, message={}", version(), e.getMessage(), e);
+        }
+    }
+
+    private void refresh() {
+        Snapshot snapshot = current;
+        String blacklistETag = s3Downloader.getKeywordFileETag(blacklistFilename);
+        String whitelistETag = s3Downloader.getKeywordFileETag(whitelistFilename);
+        if (Objects.equals(blacklistETag, snapshot.blacklistETag()) && Objects.equals(whitelistETag, snapshot.whitelistETag())) {
+            return;
+        }
+
+        KeywordFile blacklist = s3Downloader.downloadKeywordFile(blacklistFilename);
+        KeywordFile whitelist = s3Downloader.downloadKeywordFile(whitelistFilename);
+        CensorshipAutomaton automaton = CensorshipAutomaton.build(normalize(blacklist.lines()), normalize(whitelist.lines()));
+
+        Snapshot updated = new Snapshot(automaton, blacklist.eTag(), whitelist.eTag());
+        current = updated;
+        log.info("[CensorshipDictionary.refresh] 블랙리스트 {}개, 화이트리스트 {}개 로딩 완료 - version={}",
+            automaton.blacklistSize(), automaton.whitelistSize(), version());
+
+        saveSnapshot(updated);
+    }
+
+    /**
+     * @return 스냅샷을 복원한 경우 true
+     */
+    private boolean loadSnapshot() {
+        Path path = Paths.get(snapshotPath);
+        if (!Files.exists(path)) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != CensorshipTextNormalizer.VERSION) {
+                log.warn("[CensorshipDictionary.loadSnapshot] 스냅샷 형식 불일치 - path={}", path);
+                return false;
+            }
+            String blacklistETag = in.readUTF();
+            String whitelistETag = in.readUTF();
+            CensorshipAutomaton automaton = CensorshipAutomaton.readFrom(in);
+            current = new Snapshot(automaton, blacklistETag, whitelistETag);
+            log.info("[CensorshipDictionary.loadSnapshot] 로컬 스냅샷 복원 - version={}, 블랙리스트 {}개, 화이트리스트 {}개",
+                version(), automaton.blacklistSize(), automaton.whitelistSize());
+            return true;
+        } catch (Exception e) {
+            log.warn("[CensorshipDictionary.loadSnapshot] 스냅샷 복원 실패 - path={}, message={}", path, e.getMessage());
+            return false;
+        }
+    }
+
+    private void saveSnapshot(Snapshot snapshot) {
+        Path path = Paths.get(snapshotPath);
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path temp = Files.createTempFile(parent, "censorship", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(CensorshipTextNormalizer.VERSION);
+                out.writeUTF(snapshot.blacklistETag());
+                out.writeUTF(snapshot.whitelistETag());
+                snapshot.automaton().writeTo(out);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            log.warn("[CensorshipDictionary.saveSnapshot] 스냅샷 저장 실패 - path={}, message={}", path, e.getMessage());
+        }
+    }
+
+    // 메시지와 같은 방식으로 정규화한 사전을 사용
+    private static List<String> normalize(List<String> words) {
+        return words.stream()
+            .map(CensorshipTextNormalizer::normalize)
+            .filter(word -> !word.isEmpty())
+            .distinct()
+            .toList();
+    }
+
+    private record Snapshot(CensorshipAutomaton automaton, String blacklistETag, String whitelistETag) {
+    }
+}
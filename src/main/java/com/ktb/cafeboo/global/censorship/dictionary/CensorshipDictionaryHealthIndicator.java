@@ -0,0 +1,29 @@
+package com.ktb.cafeboo.global.censorship.dictionary;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * 금칙어 사전이 로딩되기 전에는 DOWN을 보고합니다.
+ * 빈 사전으로는 모든 메시지가 검열 없이 통과하므로 readiness 그룹에 포함하여 트래픽을 받지 않도록 합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CensorshipDictionaryHealthIndicator implements HealthIndicator {
+
+    private final CensorshipDictionary censorshipDictionary;
+
+    @Override
+    public Health health() {
+        if (!censorshipDictionary.isLoaded()) {
+            return Health.down().withDetail("reason", "dictionary not loaded").build();
+        }
+        return Health.up()
+            .withDetail("version", censorshipDictionary.version())
+            .withDetail("blacklistSize", censorshipDictionary.automaton().blacklistSize())
+            .withDetail("whitelistSize", censorshipDictionary.automaton().whitelistSize())
+            .build();
+    }
+}
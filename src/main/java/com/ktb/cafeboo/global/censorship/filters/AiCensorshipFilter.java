@@ -1,35 +1,103 @@
 package com.ktb.cafeboo.global.censorship.filters;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ktb.cafeboo.global.censorship.CensorshipTextNormalizer;
 import com.ktb.cafeboo.global.infra.ai.client.AiServerClient;
 import com.ktb.cafeboo.global.infra.ai.dto.ToxicityDetectionRequest;
-import com.ktb.cafeboo.global.infra.ai.dto.ToxicityDetectionResponse;
-import lombok.RequiredArgsConstructor;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+/**
+ * AI 서버 유해성 판정 필터.
+ * 정규화된 텍스트 자체를 키로 판정 결과를 캐시에 보관하고,
+ * 같은 텍스트에 대한 동시 요청은 하나의 AI 호출로 합칩니다.
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class AiCensorshipFilter {
 
     private final AiServerClient aiServerClient;
 
+    // 정규화 텍스트 -> 유해 여부
+    private final Cache<String, Boolean> verdictCache;
+
+    // 진행 중인 AI 호출 (같은 텍스트의 동시 요청 병합)
+    private final Map<String, CompletableFuture<Boolean>> inFlight = new ConcurrentHashMap<>();
+
+    public AiCensorshipFilter(
+            AiServerClient aiServerClient,
+            @Value("${censorship.ai.cache.ttl-seconds:600}") long cacheTtlSeconds,
+            @Value("${censorship.ai.cache.max-size:50000}") long cacheMaxSize
+    ) {
+        this.aiServerClient = aiServerClient;
+        this.verdictCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .build();
+    }
+
     public boolean contains(String text) {
-        try {
-            ToxicityDetectionRequest request = ToxicityDetectionRequest.builder()
-                    .userInput(text)
-                    .build();
+        return contains(text, CensorshipTextNormalizer.normalize(text));
+    }
 
-            ToxicityDetectionResponse response = aiServerClient.detectToxicity(request);
+    /**
+     * @param text 원문 (AI 서버에 전달)
+     * @param normalizedText 캐시 키로 사용할 정규화 텍스트
+     */
+    public boolean contains(String text, String normalizedText) {
+        return containsAsync(text, normalizedText).join();
+    }
 
-            log.info("[AiCensorshipFilter] AI 응답: status={}, is_toxic={}", response.getStatus(), response.getIsToxic());
+    /**
+     * AI 판정을 비동기로 요청합니다. 캐시에 있으면 즉시 완료된 결과를 반환합니다.
+     * AI 호출이 실패하면 유해하지 않은 것으로 처리하며 결과는 캐시하지 않습니다.
+     * @param text 원문 (AI 서버에 전달)
+     * @param normalizedText 캐시 키로 사용할 정규화 텍스트
+     */
+    public CompletableFuture<Boolean> containsAsync(String text, String normalizedText) {
+        String key = normalizedText;
 
-            // is_toxic == 0 → 유해
-            return response.getIsToxic() == 0;
+        Boolean cached = verdictCache.getIfPresent(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
 
-        } catch (Exception e) {
-            log.error("[AiCensorshipFilter] AI 검열 호출 실패", e);
-            return false;
+        CompletableFuture<Boolean> created = new CompletableFuture<>();
+        CompletableFuture<Boolean> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
         }
+
+        ToxicityDetectionRequest request = ToxicityDetectionRequest.builder()
+                .userInput(text)
+                .build();
+
+        aiServerClient.detectToxicityAsync(request).subscribe(
+            response -> {
+                log.info("[AiCensorshipFilter] AI 응답: status={}, is_toxic={}", response.getStatus(), response.getIsToxic());
+                // is_toxic == 0 → 유해
+                boolean toxic = response.getIsToxic() == 0;
+                verdictCache.put(key, toxic);
+                inFlight.remove(key, created);
+                created.complete(toxic);
+            },
+            error -> {
+                // 실패한 판정은 캐시하지 않음
+                log.error("[AiCensorshipFilter] AI 검열 호출 실패", error);
+                inFlight.remove(key, created);
+                created.complete(false);
+            },
+            () -> {
+                inFlight.remove(key, created);
+                created.complete(false);
+            }
+        );
+        return created;
     }
-}
\ No newline at end of file
+}
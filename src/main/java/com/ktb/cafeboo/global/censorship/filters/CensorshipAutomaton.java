@@ -0,0 +1,318 @@
+package com.ktb.cafeboo.global.censorship.filters;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 금칙어와 예외어를 하나로 합친 Aho–Corasick 오토마톤.
+ * 노드 전이는 노드별로 정렬된 char 배열과 int 배열에 저장하며, 메시지 한 번의 선형 탐색으로
+ * "예외어에 포함되지 않은 금칙어"가 있는지 판단합니다.
+ * 생성 이후에는 변경되지 않으므로 여러 스레드에서 동시에 사용할 수 있습니다.
+ */
+public final class CensorshipAutomaton {
+
+    private static final int ROOT = 0;
+    private static final int SNAPSHOT_FORMAT_VERSION = 1;
+
+    // 노드 i의 전이는 edgeChars/edgeTargets[edgeStart[i] ~ edgeStart[i + 1]) 구간 (문자 오름차순)
+    private final int[] edgeStart;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+    private final int[] fail;
+    // 해당 노드에서 끝나는(실패 링크로 이어진 것 포함) 가장 긴 금칙어/예외어 길이, 없으면 0
+    private final int[] blackLength;
+    private final int[] whiteLength;
+
+    private final int blacklistSize;
+    private final int whitelistSize;
+
+    private CensorshipAutomaton(int[] edgeStart, char[] edgeChars, int[] edgeTargets, int[] fail,
+        int[] blackLength, int[] whiteLength, int blacklistSize, int whitelistSize) {
+        this.edgeStart = edgeStart;
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.fail = fail;
+        this.blackLength = blackLength;
+        this.whiteLength = whiteLength;
+        this.blacklistSize = blacklistSize;
+        this.whitelistSize = whitelistSize;
+    }
+
+    public static CensorshipAutomaton empty() {
+        return build(List.of(), List.of());
+    }
+
+    public static CensorshipAutomaton build(Collection<String> blacklist, Collection<String> whitelist) {
+        // 1. 빌드용 트라이 구성 (빌드 시에만 사용)
+        List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        List<Integer> ownBlack = new ArrayList<>();
+        List<Integer> ownWhite = new ArrayList<>();
+        children.add(new TreeMap<>());
+        ownBlack.add(0);
+        ownWhite.add(0);
+
+        int blackCount = insertAll(blacklist, children, ownBlack, ownWhite, true);
+        int whiteCount = insertAll(whitelist, children, ownBlack, ownWhite, false);
+
+        // 2. 전이를 배열로 압축
+        int nodeCount = children.size();
+        int[] edgeStart = new int[nodeCount + 1];
+        int edgeCount = 0;
+        for (int i = 0; i < nodeCount; i++) {
+            edgeStart[i] = edgeCount;
+            edgeCount += children.get(i).size();
+        }
+        edgeStart[nodeCount] = edgeCount;
+
+        char[] edgeChars = new char[edgeCount];
+        int[] edgeTargets = new int[edgeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            int offset = edgeStart[i];
+            for (Map.Entry<Character, Integer> edge : children.get(i).entrySet()) {
+                edgeChars[offset] = edge.getKey();
+                edgeTargets[offset] = edge.getValue();
+                offset++;
+            }
+        }
+
+        int[] blackLength = new int[nodeCount];
+        int[] whiteLength = new int[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            blackLength[i] = ownBlack.get(i);
+            whiteLength[i] = ownWhite.get(i);
+        }
+
+        CensorshipAutomaton automaton = new CensorshipAutomaton(edgeStart, edgeChars, edgeTargets,
+            new int[nodeCount], blackLength, whiteLength, blackCount, whiteCount);
+        automaton.buildFailureLinks();
+        return automaton;
+    }
+
+    private static int insertAll(Collection<String> words, List<TreeMap<Character, Integer>> children,
+        List<Integer> ownBlack, List<Integer> ownWhite, boolean black) {
+        int count = 0;
+        for (String word : words) {
+            if (word == null || word.isEmpty()) {
+                continue;
+            }
+            int node = ROOT;
+            for (int i = 0; i < word.length(); i++) {
+                char c = word.charAt(i);
+                Integer next = children.get(node).get(c);
+                if (next == null) {
+                    next = children.size();
+                    children.add(new TreeMap<>());
+                    ownBlack.add(0);
+                    ownWhite.add(0);
+                    children.get(node).put(c, next);
+                }
+                node = next;
+            }
+            if (black) {
+                ownBlack.set(node, word.length());
+            } else {
+                ownWhite.set(node, word.length());
+            }
+            count++;
+        }
+        return count;
+    }
+
+    // BFS로 실패 링크를 계산하고, 출력 길이를 실패 링크 방향으로 전파
+    private void buildFailureLinks() {
+        int[] queue = new int[fail.length];
+        int head = 0;
+        int tail = 0;
+
+        for (int e = edgeStart[ROOT]; e < edgeStart[ROOT + 1]; e++) {
+            fail[edgeTargets[e]] = ROOT;
+            queue[tail++] = edgeTargets[e];
+        }
+
+        while (head < tail) {
+            int node = queue[head++];
+            for (int e = edgeStart[node]; e < edgeStart[node + 1]; e++) {
+                int child = edgeTargets[e];
+                char c = edgeChars[e];
+
+                int f = fail[node];
+                int target;
+                while ((target = transition(f, c)) < 0 && f != ROOT) {
+                    f = fail[f];
+                }
+                fail[child] = target < 0 ? ROOT : target;
+
+                blackLength[child] = Math.max(blackLength[child], blackLength[fail[child]]);
+                whiteLength[child] = Math.max(whiteLength[child], whiteLength[fail[child]]);
+                queue[tail++] = child;
+            }
+        }
+    }
+
+    private int transition(int node, char c) {
+        int low = edgeStart[node];
+        int high = edgeStart[node + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midChar = edgeChars[mid];
+            if (midChar < c) {
+                low = mid + 1;
+            } else if (midChar > c) {
+                high = mid - 1;
+            } else {
+                return edgeTargets[mid];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 예외어에 포함되지 않은 금칙어를 찾습니다.
+     * @param text 검사할 문자열
+     * @return 처음 발견된 금칙어, 없으면 null
+     */
+    public String findBlacklisted(CharSequence text) {
+        return scan(text).detected();
+    }
+
+    /**
+     * 문자열을 한 번 훑어 금칙어 검출 결과를 반환합니다.
+     * 금칙어 [s, e]는 s 이하에서 시작해 e 이상에서 끝나는 예외어가 있으면 허용되며, 허용된 금칙어 수도 함께 반환합니다.
+     * @param text 검사할 문자열
+     */
+    public ScanResult scan(CharSequence text) {
+        int length = text.length();
+        if (length == 0 || blacklistSize == 0) {
+            return ScanResult.CLEAN;
+        }
+
+        // 각 위치에서 끝나는 가장 긴 금칙어 길이와 가장 앞에서 시작하는 예외어 시작 위치
+        int[] blackAt = null;
+        int[] whiteStartAt = whitelistSize == 0 ? null : new int[length];
+
+        int node = ROOT;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            int next;
+            while ((next = transition(node, c)) < 0 && node != ROOT) {
+                node = fail[node];
+            }
+            node = next < 0 ? ROOT : next;
+
+            if (blackLength[node] > 0) {
+                if (whiteStartAt == null) {
+                    return new ScanResult(text.subSequence(i - blackLength[node] + 1, i + 1).toString(), 0);
+                }
+                if (blackAt == null) {
+                    blackAt = new int[length];
+                }
+                blackAt[i] = blackLength[node];
+            }
+            if (whiteStartAt != null) {
+                whiteStartAt[i] = whiteLength[node] > 0 ? i - whiteLength[node] + 1 : Integer.MAX_VALUE;
+            }
+        }
+
+        if (blackAt == null) {
+            return ScanResult.CLEAN;
+        }
+
+        // 뒤에서부터 "e 이상에서 끝나는 예외어의 최소 시작 위치"를 유지하며 금칙어가 덮이는지 확인
+        int minWhiteStart = Integer.MAX_VALUE;
+        String detected = null;
+        int whitelistedHits = 0;
+        for (int i = length - 1; i >= 0; i--) {
+            minWhiteStart = Math.min(minWhiteStart, whiteStartAt[i]);
+            if (blackAt[i] > 0) {
+                int start = i - blackAt[i] + 1;
+                if (minWhiteStart > start) {
+                    detected = text.subSequence(start, i + 1).toString();
+                } else {
+                    whitelistedHits++;
+                }
+            }
+        }
+        return new ScanResult(detected, whitelistedHits);
+    }
+
+    /**
+     * 컴파일된 오토마톤을 직렬화합니다. 로컬 스냅샷으로 저장해 재시작 시 빌드 없이 복원하는 데 사용합니다.
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(SNAPSHOT_FORMAT_VERSION);
+        out.writeInt(blacklistSize);
+        out.writeInt(whitelistSize);
+        writeIntArray(out, edgeStart);
+        out.writeInt(edgeChars.length);
+        for (char c : edgeChars) {
+            out.writeChar(c);
+        }
+        writeIntArray(out, edgeTargets);
+        writeIntArray(out, fail);
+        writeIntArray(out, blackLength);
+        writeIntArray(out, whiteLength);
+    }
+
+    public static CensorshipAutomaton readFrom(DataInputStream in) throws IOException {
+        int formatVersion = in.readInt();
+        if (formatVersion != SNAPSHOT_FORMAT_VERSION) {
+            throw new IOException("지원하지 않는 스냅샷 형식 - version=" + formatVersion);
+        }
+        int blacklistSize = in.readInt();
+        int whitelistSize = in.readInt();
+        int[] edgeStart = readIntArray(in);
+        char[] edgeChars = new char[in.readInt()];
+        for (int i = 0; i < edgeChars.length; i++) {
+            edgeChars[i] = in.readChar();
+        }
+        int[] edgeTargets = readIntArray(in);
+        int[] fail = readIntArray(in);
+        int[] blackLength = readIntArray(in);
+        int[] whiteLength = readIntArray(in);
+
+        int nodeCount = fail.length;
+        if (edgeStart.length != nodeCount + 1 || edgeTargets.length != edgeChars.length
+            || blackLength.length != nodeCount || whiteLength.length != nodeCount) {
+            throw new IOException("손상된 스냅샷");
+        }
+        return new CensorshipAutomaton(edgeStart, edgeChars, edgeTargets, fail,
+            blackLength, whiteLength, blacklistSize, whitelistSize);
+    }
+
+    private static void writeIntArray(DataOutputStream out, int[] values) throws IOException {
+        out.writeInt(values.length);
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    private static int[] readIntArray(DataInputStream in) throws IOException {
+        int[] values = new int[in.readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+
+    public int blacklistSize() {
+        return blacklistSize;
+    }
+
+    public int whitelistSize() {
+        return whitelistSize;
+    }
+
+    /**
+     * @param detected 예외어에 포함되지 않은 금칙어, 없으면 null
+     * @param whitelistedHits 예외어에 포함되어 허용된 금칙어 수
+     */
+    public record ScanResult(String detected, int whitelistedHits) {
+        public static final ScanResult CLEAN = new ScanResult(null, 0);
+    }
+}
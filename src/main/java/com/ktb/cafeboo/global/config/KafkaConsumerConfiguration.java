@@ -1,10 +1,16 @@
 package com.ktb.cafeboo.global.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ktb.cafeboo.domain.coffeechat.dto.StompMessagePublish;
+import com.ktb.cafeboo.global.enums.ChatBrokerMode;
+import com.ktb.cafeboo.global.infra.kafka.serializer.StompMessagePublishDeserializer;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -13,9 +19,13 @@ import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.listener.ContainerProperties.AckMode;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.util.backoff.FixedBackOff;
 import software.amazon.awssdk.utils.ImmutableMap;
 
 @EnableKafka
@@ -33,38 +43,109 @@ public class KafkaConsumerConfiguration {
     @Value("${spring.data.kafka.host}:${spring.data.kafka.port}")
     private String kafkaBootstrapServers;
 
-    @Bean
-    public ConsumerFactory<String, StompMessagePublish> consumerFactory(){
-        String kafkaConsumerGroupId = kafkaConsumerGroupIdPrefix + java.util.UUID.randomUUID().toString();
-
-        JsonDeserializer<StompMessagePublish> jsonDeserializer = new JsonDeserializer<>(StompMessagePublish.class, false);
-        jsonDeserializer.addTrustedPackages("*");
+    private final ObjectMapper objectMapper;
 
-        ErrorHandlingDeserializer<StompMessagePublish> errorHandlingValueDeserializer = new ErrorHandlingDeserializer<>(jsonDeserializer);
+    /**
+     * 채팅 브로드캐스트용 consumerFactory.
+     * 값은 byte[]로 받아 로컬 구독자가 있는 방의 메시지만 리스너에서 처리합니다.
+     * fetch.max.wait.ms로 한 번의 poll에 모을 메시지의 최대 대기 시간(브로드캐스트 지연)을 제한합니다.
+     */
+    @Bean
+    public ConsumerFactory<String, byte[]> consumerFactory(
+        @Value("${chat.broadcast.max-batch-size:500}") int maxBatchSize,
+        @Value("${chat.broadcast.max-wait-ms:20}") int maxWaitMs,
+        @Value("${chat.broker.mode:SIMPLE}") ChatBrokerMode brokerMode){
+        // SIMPLE 모드: 인스턴스마다 모든 메시지를 받아 로컬 브로커로 전송
+        // RELAY 모드: 외부 브로커가 인스턴스 간 전달을 맡으므로 클러스터 전체에서 메시지마다 한 번만 중계
+        String kafkaConsumerGroupId = brokerMode == ChatBrokerMode.RELAY
+                ? kafkaConsumerGroupIdPrefix + "-chat-broadcast"
+                : kafkaConsumerGroupIdPrefix + java.util.UUID.randomUUID().toString();
 
         Map<String, Object> consumerConfigurations =
                 ImmutableMap.<String, Object>builder()
                         .put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaBootstrapServers)
                         .put(ConsumerConfig.GROUP_ID_CONFIG, kafkaConsumerGroupId)
                         .put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class)
-                        .put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class)
-                        .put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, jsonDeserializer.getClass().getName())
-                        .put(ErrorHandlingDeserializer.KEY_DESERIALIZER_CLASS, StringDeserializer.class.getName())
+                        .put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class)
                         .put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest")
                         .put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false)
+                        .put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxBatchSize)
+                        .put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, 4 * 1024)
+                        .put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, maxWaitMs)
                         .build();
 
         log.info("[KafkaConsumerConfiguration.consumerFactory] group id {}를 가지는 consumerFactory 생성", kafkaConsumerGroupId);
 
-        return new DefaultKafkaConsumerFactory<>(consumerConfigurations, new StringDeserializer(), errorHandlingValueDeserializer);
+        return new DefaultKafkaConsumerFactory<>(consumerConfigurations, new StringDeserializer(), new ByteArrayDeserializer());
+    }
+
+    /**
+     * 채팅 브로드캐스트용 배치 리스너 컨테이너. offset은 배치 단위로 커밋합니다.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> kafkaListenerContainerFactory(
+        ConsumerFactory<String, byte[]> consumerFactory){
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(AckMode.MANUAL);
+        factory.setConcurrency(Runtime.getRuntime().availableProcessors());
+        return factory;
     }
 
+    /**
+     * 채팅 메시지 write-behind 저장용 배치 리스너 컨테이너.
+     * 모든 인스턴스가 같은 group id를 사용하여 파티션을 나눠 처리합니다.
+     * fetch.min.bytes / fetch.max.wait.ms로 배치 크기와 최대 저장 지연을 제한합니다.
+     * 리스너가 실패한 레코드를 BatchListenerFailedException으로 알려주면 그 이전 레코드의 offset은 커밋하고,
+     * 실패한 레코드만 재시도한 뒤에도 실패하면 DLQ로 보내고 다음 레코드부터 이어서 처리합니다.
+     */
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, StompMessagePublish> kafkaListenerContainerFactory(){
+    public ConcurrentKafkaListenerContainerFactory<String, StompMessagePublish> chatPersistenceListenerContainerFactory(
+        @Value("${chat.persistence.max-batch-size:500}") int maxBatchSize,
+        @Value("${chat.persistence.max-wait-ms:200}") int maxWaitMs,
+        KafkaTemplate<String, StompMessagePublish> kafkaTemplate,
+        KafkaTemplate<String, Object> dlqKafkaTemplate) {
+
+        ErrorHandlingDeserializer<StompMessagePublish> errorHandlingValueDeserializer =
+                new ErrorHandlingDeserializer<>(new StompMessagePublishDeserializer(objectMapper));
+
+        Map<String, Object> consumerConfigurations =
+                ImmutableMap.<String, Object>builder()
+                        .put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaBootstrapServers)
+                        .put(ConsumerConfig.GROUP_ID_CONFIG, kafkaConsumerGroupIdPrefix + "-chat-persistence")
+                        .put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest")
+                        .put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false)
+                        .put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxBatchSize)
+                        .put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, 16 * 1024)
+                        .put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, maxWaitMs)
+                        .build();
+
         ConcurrentKafkaListenerContainerFactory<String, StompMessagePublish> factory = new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(consumerFactory());
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(consumerConfigurations, new StringDeserializer(), errorHandlingValueDeserializer));
+        factory.setBatchListener(true);
         factory.getContainerProperties().setAckMode(AckMode.MANUAL_IMMEDIATE);
-        factory.setConcurrency(Runtime.getRuntime().availableProcessors());
+        // 실패한 레코드부터 재시도 (중복 키는 무시하므로 다시 저장해도 중복 없음), 재시도 후에도 실패하면 DLQ로 전송
+        factory.setCommonErrorHandler(new DefaultErrorHandler(chatPersistenceDeadLetterRecoverer(kafkaTemplate, dlqKafkaTemplate),
+                new FixedBackOff(1000L, 5L)));
         return factory;
     }
+
+    /**
+     * 저장에 실패한 채팅 메시지를 DLQ 토픽으로 보냅니다. (파티션은 Kafka가 지정)
+     * 역직렬화에 실패한 레코드는 원본 byte[]로 전달되므로 JSON 템플릿으로 보냅니다.
+     */
+    private DeadLetterPublishingRecoverer chatPersistenceDeadLetterRecoverer(
+        KafkaTemplate<String, StompMessagePublish> kafkaTemplate,
+        KafkaTemplate<String, Object> dlqKafkaTemplate) {
+        Map<Class<?>, KafkaOperations<?, ?>> templates = new LinkedHashMap<>();
+        templates.put(StompMessagePublish.class, kafkaTemplate);
+        templates.put(Object.class, dlqKafkaTemplate);
+
+        return new DeadLetterPublishingRecoverer(templates, (record, exception) -> {
+            log.error("[KafkaConsumerConfiguration.chatPersistenceDeadLetterRecoverer] 채팅 메시지 저장 실패 - DLQ 전송 - partition={}, offset={}, message={}",
+                    record.partition(), record.offset(), exception.getMessage());
+            return new TopicPartition(dlqTopic, -1);
+        });
+    }
 }
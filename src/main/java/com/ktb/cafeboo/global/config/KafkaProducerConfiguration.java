@@ -1,6 +1,7 @@
 package com.ktb.cafeboo.global.config;
 
 import com.ktb.cafeboo.domain.coffeechat.dto.StompMessagePublish;
+import com.ktb.cafeboo.global.infra.kafka.serializer.StompMessagePublishSerializer;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,17 +26,19 @@ public class KafkaProducerConfiguration {
     @Value("${spring.data.kafka.host}:${spring.data.kafka.port}")
     private String kafkaBootstrapServers;
 
+    /**
+     * 채팅 메시지는 StompMessagePublishCodec으로 바이너리 인코딩하여 전송합니다.
+     */
     @Bean
     public ProducerFactory<String, StompMessagePublish> producerFactory() {
         Map<String, Object> producerConfigurations =
                 ImmutableMap.<String, Object>builder()
                         .put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaBootstrapServers)
                         .put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class)
-                        .put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class)
-                        .put(JsonSerializer.ADD_TYPE_INFO_HEADERS, true)
+                        .put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StompMessagePublishSerializer.class)
                         .build();
 
-        return new DefaultKafkaProducerFactory<>(producerConfigurations);
+        return new DefaultKafkaProducerFactory<>(producerConfigurations, new StringSerializer(), new StompMessagePublishSerializer());
     }
 
     // KafkaTemplate을 생성하는 Bean 메서드
@@ -47,7 +50,7 @@ public class KafkaProducerConfiguration {
     public ProducerFactory<String, Object> dlqProducerFactory(){
         Map<String, Object> producerConfigurations =
                 ImmutableMap.<String, Object>builder()
-                        .put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092")
+                        .put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaBootstrapServers)
                         .put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class)
                         .put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class)
                         .put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false) // DLQ 메시지도 JSON으로 직렬화 (오류 정보 포함 가능)
@@ -8,7 +8,6 @@ import com.ktb.cafeboo.domain.coffeechat.model.CoffeeChatMessage;
 import jakarta.annotation.PostConstruct;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
-import java.time.Duration;
 import java.util.UUID;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
@@ -19,15 +18,11 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisPassword;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
-import org.springframework.data.redis.connection.stream.MapRecord;
 import org.springframework.data.redis.connection.stream.ObjectRecord;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
-import org.springframework.data.redis.stream.StreamMessageListenerContainer;
-import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamMessageListenerContainerOptions;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @Configuration
@@ -105,31 +100,6 @@ public class RedisConfig {
         return redisTemplate;
     }
 
-    @Bean
-    public StreamMessageListenerContainer<String, MapRecord<String, String, String>> streamMessageListenerContainer() {
-        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
-        taskExecutor.setCorePoolSize(1);
-        taskExecutor.setQueueCapacity(0);
-        taskExecutor.setThreadNamePrefix("redis-stream-listener-");
-        taskExecutor.initialize();
-
-        StreamMessageListenerContainerOptions<String, MapRecord<String, String, String>> options =
-            StreamMessageListenerContainerOptions.builder()
-                .batchSize(1)
-                .executor(taskExecutor)
-                .pollTimeout(Duration.ofSeconds(1))
-                // MapRecord를 직접 받을 것이므로 serializer와 targetType은 설정하지 않습니다.
-                // Spring Data Redis가 MapRecord의 세 번째 인수를 기반으로 내부적으로 String으로 디코딩하여 제공할 것입니다.
-                .build();
-
-        StreamMessageListenerContainer<String, MapRecord<String, String, String>> container =
-            StreamMessageListenerContainer.create(redisConnectionFactory(), options);
-
-        container.start();
-        log.info("[RedisConfig] - StreamMessageListenerContainer started.");
-        return container;
-    }
-
     @Bean
     public ObjectMapper objectMapper() {
         ObjectMapper objectMapper = new ObjectMapper();
@@ -1,10 +1,15 @@
 package com.ktb.cafeboo.global.config;
 
+import io.netty.channel.ChannelOption;
+import java.time.Duration;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
 public class WebClientConfig {
@@ -17,10 +22,27 @@ public class WebClientConfig {
     @Value("${ai.server.base-url}")
     private String aiServerBaseUrl;
 
+    @Value("${ai.client.connect-timeout-ms:1000}")
+    private int aiServerConnectTimeoutMs;
+
+    @Value("${ai.client.max-connections:200}")
+    private int aiServerMaxConnections;
+
     @Bean
     public WebClient aiServerWebClient() {
+        // 엔드포인트별 타임아웃은 AiServerClient에서 적용하고, 여기서는 연결 수립과 커넥션 풀 대기만 제한
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("ai-server")
+                .maxConnections(aiServerMaxConnections)
+                .pendingAcquireMaxCount(aiServerMaxConnections * 2)
+                .pendingAcquireTimeout(Duration.ofMillis(aiServerConnectTimeoutMs))
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, aiServerConnectTimeoutMs);
+
         return WebClient.builder()
                 .baseUrl(aiServerBaseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .build();
     }
 
@@ -1,18 +1,74 @@
 package com.ktb.cafeboo.global.config;
 
+import com.ktb.cafeboo.global.enums.ChatBrokerMode;
+import com.ktb.cafeboo.global.websocket.SlowConsumerWebSocketHandlerDecorator;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @EnableWebSocketMessageBroker // STOMP를 이용한 메시지 브로커 기능을 활성화
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    @Value("${chat.broker.mode:SIMPLE}")
+    private ChatBrokerMode brokerMode;
+
+    @Value("${chat.broker.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${chat.broker.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${chat.broker.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${chat.broker.relay.passcode:guest}")
+    private String relayPasscode;
+
+    @Value("${chat.broker.relay.virtual-host:/}")
+    private String relayVirtualHost;
+
+    @Value("${chat.websocket.message-size-limit-bytes:65536}")
+    private int messageSizeLimit;
+
+    @Value("${chat.websocket.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+
+    @Value("${chat.websocket.send-buffer-size-limit-bytes:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${chat.websocket.sockjs-disconnect-delay-ms:30000}")
+    private long sockJsDisconnectDelayMs;
+
+    @Value("${chat.websocket.inbound.core-pool-size:8}")
+    private int inboundCorePoolSize;
+
+    @Value("${chat.websocket.inbound.max-pool-size:32}")
+    private int inboundMaxPoolSize;
+
+    @Value("${chat.websocket.inbound.queue-capacity:10000}")
+    private int inboundQueueCapacity;
+
+    @Value("${chat.websocket.outbound.core-pool-size:8}")
+    private int outboundCorePoolSize;
+
+    @Value("${chat.websocket.outbound.max-pool-size:32}")
+    private int outboundMaxPoolSize;
+
+    @Value("${chat.websocket.outbound.queue-capacity:10000}")
+    private int outboundQueueCapacity;
+
+    private MeterRegistry meterRegistry;
+
     // TaskScheduler를 주입받을 필드 선언
     private TaskScheduler messageBrokerTaskScheduler;
 
@@ -22,14 +78,33 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         this.messageBrokerTaskScheduler = taskScheduler;
     }
 
+    @Autowired
+    public void setMeterRegistry(@Lazy MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        // 1. /topic으로 시작하는 메시지를 브로커가 처리하도록 설정 (Pub/Sub)
-        // 2. /queue로 시작하는 메시지를 브로커가 처리하도록 설정 (개인 메시지)
-        // Spring의 Simple Broker (인메모리) 사용. 실제 서비스에서는 Redis, Kafka, RabbitMQ 등의 외부 브로커 사용 권장.
-        config.enableSimpleBroker("/topic", "/queue")
-            .setHeartbeatValue(new long[] {10000, 0})
-            .setTaskScheduler(messageBrokerTaskScheduler);;
+        if (brokerMode == ChatBrokerMode.RELAY) {
+            // /topic, /queue를 외부 STOMP 브로커로 중계. 구독은 브로커에 저장되므로 모든 인스턴스의 세션에 전달됨
+            config.enableStompBrokerRelay("/topic", "/queue")
+                .setRelayHost(relayHost)
+                .setRelayPort(relayPort)
+                .setClientLogin(relayLogin)
+                .setClientPasscode(relayPasscode)
+                .setSystemLogin(relayLogin)
+                .setSystemPasscode(relayPasscode)
+                .setVirtualHost(relayVirtualHost)
+                .setUserDestinationBroadcast("/topic/unresolved-user")
+                .setUserRegistryBroadcast("/topic/simp-user-registry");
+        } else {
+            // 1. /topic으로 시작하는 메시지를 브로커가 처리하도록 설정 (Pub/Sub)
+            // 2. /queue로 시작하는 메시지를 브로커가 처리하도록 설정 (개인 메시지)
+            // Spring의 Simple Broker (인메모리) 사용. 로컬 개발/테스트용
+            config.enableSimpleBroker("/topic", "/queue")
+                .setHeartbeatValue(new long[] {10000, 0})
+                .setTaskScheduler(messageBrokerTaskScheduler);
+        }
 
         // 클라이언트가 서버로 메시지를 보낼 때 사용할 접두사 (Controller로 라우팅됨)
         config.setApplicationDestinationPrefixes("/app");
@@ -45,6 +120,35 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         registry.addEndpoint("/ws")
             .setAllowedOriginPatterns("*") // 모든 Origin 허용 (CORS). 실제 운영에서는 특정 Origin만 허용해야 함
             .withSockJS()
-            .setDisconnectDelay(300 * 1000);
+            .setDisconnectDelay(sockJsDisconnectDelayMs);
+
+        // SockJS 없이 WebSocket을 직접 사용하는 클라이언트용 엔드포인트
+        registry.addEndpoint("/ws/native")
+            .setAllowedOriginPatterns("*");
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // 전송 시간 또는 버퍼 한도를 넘긴 느린 세션은 대기시키지 않고 종료하여 브로커 스레드가 막히지 않도록 함
+        registration.setMessageSizeLimit(messageSizeLimit)
+            .setSendTimeLimit(sendTimeLimitMs)
+            .setSendBufferSizeLimit(sendBufferSizeLimit)
+            .addDecoratorFactory(handler -> new SlowConsumerWebSocketHandlerDecorator(handler, meterRegistry));
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+            .corePoolSize(inboundCorePoolSize)
+            .maxPoolSize(inboundMaxPoolSize)
+            .queueCapacity(inboundQueueCapacity);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+            .corePoolSize(outboundCorePoolSize)
+            .maxPoolSize(outboundMaxPoolSize)
+            .queueCapacity(outboundQueueCapacity);
     }
-}
\ No newline at end of file
+}
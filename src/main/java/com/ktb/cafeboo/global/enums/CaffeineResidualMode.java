@@ -0,0 +1,6 @@
+package com.ktb.cafeboo.global.enums;
+
+public enum CaffeineResidualMode {
+    COMPUTED, // 섭취 기록으로부터 조회 시점에 잔존량을 계산
+    STORED    // 섭취 시마다 CaffeineResiduals 테이블에 시간별 잔존량을 저장 (기존 방식)
+}
@@ -0,0 +1,10 @@
+package com.ktb.cafeboo.global.enums;
+
+/**
+ * STOMP 메시지 브로커 방식
+ * SIMPLE: 인스턴스마다 내장 Simple Broker 사용. 인스턴스 간 전달은 모든 인스턴스가 Kafka 토픽 전체를 구독하여 처리
+ * RELAY: /topic, /queue를 외부 STOMP 브로커(RabbitMQ, ActiveMQ 등)로 중계. 인스턴스 간 전달은 브로커가 처리
+ */
+public enum ChatBrokerMode {
+    SIMPLE, RELAY
+}
@@ -0,0 +1,6 @@
+package com.ktb.cafeboo.global.enums;
+
+public enum ChatModerationMode {
+    SYNC,           // 전송 전에 금칙어 사전과 AI 검열을 모두 통과해야 전송
+    POST_DELIVERY   // 금칙어 사전 통과 시 즉시 전송, AI 검열은 비동기로 수행 후 유해하면 메시지 가림
+}
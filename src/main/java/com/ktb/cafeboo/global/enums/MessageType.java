@@ -1,5 +1,6 @@
 package com.ktb.cafeboo.global.enums;
 
+// 순서(ordinal)가 채팅 메시지 바이너리 인코딩의 타입 코드로 사용되므로 새 값은 끝에만 추가
 public enum MessageType {
-    ENTER, TALK, LEAVE
+    ENTER, TALK, LEAVE, REDACTED
 }
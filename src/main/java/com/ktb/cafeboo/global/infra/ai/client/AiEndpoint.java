@@ -0,0 +1,26 @@
+package com.ktb.cafeboo.global.infra.ai.client;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * AI 서버 엔드포인트별 호출 정책 기본값.
+ * 설정(ai.client.{key}.timeout-ms, max-concurrent, hedge-delay-ms)으로 재정의할 수 있습니다.
+ * 헤지 요청은 같은 입력에 같은 결과를 돌려주는 예측 엔드포인트에만 사용합니다.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum AiEndpoint {
+    PREDICT_LIMIT("predict-limit", "/internal/ai/predict_limit", true, 2000, 20, 500),
+    CAN_INTAKE_CAFFEINE("can-intake-caffeine", "/internal/ai/can_intake_caffeine", true, 2000, 50, 500),
+    TOXICITY_DETECT("toxicity-detect", "/internal/ai/toxicity_detect", true, 1500, 50, 300),
+    DRINK_RECOMMENDATION("drink-recommendation", "/internal/ai/drink_recommendation", false, 10000, 10, 0),
+    WEEKLY_REPORTS("weekly-reports", "/internal/ai/caffeine_weekly_reports", false, 30000, 2, 0);
+
+    private final String key;
+    private final String uri;
+    private final boolean idempotent;
+    private final long defaultTimeoutMs;
+    private final int defaultMaxConcurrent;
+    private final long defaultHedgeDelayMs;
+}
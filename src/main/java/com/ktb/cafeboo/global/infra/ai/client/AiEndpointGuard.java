@@ -0,0 +1,164 @@
+package com.ktb.cafeboo.global.infra.ai.client;
+
+import com.ktb.cafeboo.global.apiPayload.code.status.ErrorStatus;
+import com.ktb.cafeboo.global.apiPayload.exception.CustomApiException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+/**
+ * AI 서버 엔드포인트 하나에 대한 타임아웃, 동시 호출 제한(bulkhead), 서킷 브레이커, 헤지 요청, 지표 기록을 담당합니다.
+ */
+@Slf4j
+class AiEndpointGuard {
+
+    private static final String METRIC_NAME = "ai.client.requests";
+
+    private enum CircuitState { CLOSED, OPEN, HALF_OPEN }
+
+    private final AiEndpoint endpoint;
+    private final Duration timeout;
+    private final Duration hedgeDelay;
+    private final Semaphore bulkhead;
+    private final int failureThreshold;
+    private final long openDurationMillis;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicReference<CircuitState> circuitState = new AtomicReference<>(CircuitState.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long openedAtMillis;
+
+    AiEndpointGuard(AiEndpoint endpoint, long timeoutMs, int maxConcurrent, long hedgeDelayMs,
+        int failureThreshold, long openDurationMillis, MeterRegistry meterRegistry) {
+        this.endpoint = endpoint;
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.hedgeDelay = Duration.ofMillis(hedgeDelayMs);
+        this.bulkhead = new Semaphore(maxConcurrent);
+        this.failureThreshold = failureThreshold;
+        this.openDurationMillis = openDurationMillis;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("ai.client.bulkhead.available", bulkhead, Semaphore::availablePermits)
+            .tag("endpoint", endpoint.getKey())
+            .register(meterRegistry);
+        Gauge.builder("ai.client.circuit.open", circuitState, state -> state.get() == CircuitState.CLOSED ? 0 : 1)
+            .tag("endpoint", endpoint.getKey())
+            .register(meterRegistry);
+    }
+
+    <T> Mono<T> execute(Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            if (!tryPassCircuit()) {
+                record("circuit_open", 0);
+                return Mono.error(new CustomApiException(ErrorStatus.AI_SERVER_ERROR));
+            }
+            if (!bulkhead.tryAcquire()) {
+                record("rejected", 0);
+                releaseHalfOpenTrial();
+                return Mono.error(new CustomApiException(ErrorStatus.AI_SERVER_ERROR));
+            }
+
+            long startNanos = System.nanoTime();
+            Mono<T> request = Mono.defer(call);
+            if (endpoint.isIdempotent() && !hedgeDelay.isZero()) {
+                // 첫 요청이 hedgeDelay 안에 끝나지 않거나 실패하면 두 번째 요청을 보내고 먼저 성공한 응답을 사용
+                request = Mono.firstWithValue(request, Mono.delay(hedgeDelay).then(hedge(call)));
+            }
+
+            return request
+                .timeout(timeout)
+                .doOnSuccess(result -> {
+                    onSuccess();
+                    record("success", System.nanoTime() - startNanos);
+                })
+                .doOnError(error -> {
+                    boolean timedOut = error instanceof TimeoutException;
+                    if (isServerFailure(error)) {
+                        onFailure();
+                    } else {
+                        onSuccess();
+                    }
+                    record(timedOut ? "timeout" : "error", System.nanoTime() - startNanos);
+                    log.warn("[AiEndpointGuard.execute] AI 서버 호출 실패 - endpoint={}, message={}", endpoint.getKey(), error.getMessage());
+                })
+                .doOnCancel(this::releaseHalfOpenTrial)
+                .doFinally(signal -> bulkhead.release());
+        });
+    }
+
+    /**
+     * 헤지 요청도 bulkhead 허가를 받아야 보냅니다. 허가가 없거나 서킷이 닫혀 있지 않으면(시험 요청 중) 보내지 않습니다.
+     */
+    private <T> Mono<T> hedge(Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            if (circuitState.get() != CircuitState.CLOSED) {
+                record("hedge_skipped", 0);
+                return Mono.empty();
+            }
+            if (!bulkhead.tryAcquire()) {
+                record("hedge_skipped", 0);
+                return Mono.empty();
+            }
+            return Mono.defer(call).doFinally(signal -> bulkhead.release());
+        });
+    }
+
+    private boolean tryPassCircuit() {
+        CircuitState state = circuitState.get();
+        if (state == CircuitState.CLOSED) {
+            return true;
+        }
+        if (state == CircuitState.OPEN && System.currentTimeMillis() - openedAtMillis >= openDurationMillis) {
+            // 열린 시간이 지나면 한 건의 시험 요청만 허용
+            return circuitState.compareAndSet(CircuitState.OPEN, CircuitState.HALF_OPEN);
+        }
+        return false;
+    }
+
+    private void releaseHalfOpenTrial() {
+        circuitState.compareAndSet(CircuitState.HALF_OPEN, CircuitState.OPEN);
+    }
+
+    private void onSuccess() {
+        consecutiveFailures.set(0);
+        if (circuitState.getAndSet(CircuitState.CLOSED) != CircuitState.CLOSED) {
+            log.info("[AiEndpointGuard.onSuccess] 서킷 닫힘 - endpoint={}", endpoint.getKey());
+        }
+    }
+
+    private void onFailure() {
+        int failures = consecutiveFailures.incrementAndGet();
+        if (circuitState.get() == CircuitState.HALF_OPEN || failures >= failureThreshold) {
+            openedAtMillis = System.currentTimeMillis();
+            if (circuitState.getAndSet(CircuitState.OPEN) != CircuitState.OPEN) {
+                log.warn("[AiEndpointGuard.onFailure] 서킷 열림 - endpoint={}, consecutiveFailures={}", endpoint.getKey(), failures);
+            }
+        }
+    }
+
+    // 4xx 응답은 요청 문제이므로 서킷 판단에서 제외
+    private static boolean isServerFailure(Throwable error) {
+        if (error instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode().is5xxServerError();
+        }
+        return true;
+    }
+
+    private void record(String outcome, long elapsedNanos) {
+        Timer.builder(METRIC_NAME)
+            .tag("endpoint", endpoint.getKey())
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(Duration.ofNanos(elapsedNanos));
+    }
+}
@@ -11,66 +11,101 @@ import com.ktb.cafeboo.global.infra.ai.dto.PredictCanIntakeCaffeineResponse;
 import com.ktb.cafeboo.global.infra.ai.dto.ToxicityDetectionRequest;
 import com.ktb.cafeboo.global.infra.ai.dto.ToxicityDetectionResponse;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.util.EnumMap;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.env.Environment;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
+/**
+ * AI 서버 호출 클라이언트.
+ * 모든 호출은 엔드포인트별 타임아웃, 동시 호출 제한, 서킷 브레이커를 거치며 Mono를 반환합니다.
+ * 블로킹 메서드는 기존 호출부를 위해 남겨두었으며, 타임아웃으로 대기 시간이 제한됩니다.
+ */
 @Component
 @RequiredArgsConstructor
 public class AiServerClient {
 
     private final WebClient aiServerWebClient;
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+
+    private final Map<AiEndpoint, AiEndpointGuard> guards = new EnumMap<>(AiEndpoint.class);
+
+    @PostConstruct
+    void initGuards() {
+        int failureThreshold = environment.getProperty("ai.client.circuit.failure-threshold", Integer.class, 5);
+        long openDurationMs = environment.getProperty("ai.client.circuit.open-duration-ms", Long.class, 30000L);
+
+        for (AiEndpoint endpoint : AiEndpoint.values()) {
+            String prefix = "ai.client." + endpoint.getKey();
+            guards.put(endpoint, new AiEndpointGuard(
+                endpoint,
+                environment.getProperty(prefix + ".timeout-ms", Long.class, endpoint.getDefaultTimeoutMs()),
+                environment.getProperty(prefix + ".max-concurrent", Integer.class, endpoint.getDefaultMaxConcurrent()),
+                environment.getProperty(prefix + ".hedge-delay-ms", Long.class, endpoint.getDefaultHedgeDelayMs()),
+                failureThreshold,
+                openDurationMs,
+                meterRegistry
+            ));
+        }
+    }
 
     public PredictCaffeineLimitByRuleResponse predictCaffeineLimitByRule(
         PredictCaffeineLimitByRuleRequest request) {
-        return aiServerWebClient.post()
-                .uri("/internal/ai/predict_limit")
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(request)
-                .retrieve()
-                .bodyToMono(PredictCaffeineLimitByRuleResponse.class)
-                .block();
+        return predictCaffeineLimitByRuleAsync(request).block();
+    }
+
+    public Mono<PredictCaffeineLimitByRuleResponse> predictCaffeineLimitByRuleAsync(
+        PredictCaffeineLimitByRuleRequest request) {
+        return post(AiEndpoint.PREDICT_LIMIT, request, PredictCaffeineLimitByRuleResponse.class);
     }
 
     public PredictCanIntakeCaffeineResponse predictCanIntakeCaffeine(PredictCanIntakeCaffeineRequest request) {
-        return aiServerWebClient.post()
-                .uri("/internal/ai/can_intake_caffeine")
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(request)
-                .retrieve()
-                .bodyToMono(PredictCanIntakeCaffeineResponse.class)
-                .block();
+        return predictCanIntakeCaffeineAsync(request).block();
+    }
+
+    public Mono<PredictCanIntakeCaffeineResponse> predictCanIntakeCaffeineAsync(PredictCanIntakeCaffeineRequest request) {
+        return post(AiEndpoint.CAN_INTAKE_CAFFEINE, request, PredictCanIntakeCaffeineResponse.class);
     }
 
     public CreateWeeklyAnalysisResponse createWeeklyReportAnalysis(CreateWeeklyAnalysisRequest requests){
-        return aiServerWebClient.post()
-            .uri("/internal/ai/caffeine_weekly_reports")
-            .bodyValue(requests)
-            .retrieve()
-            .bodyToMono(CreateWeeklyAnalysisResponse.class)
-            .block();
+        return createWeeklyReportAnalysisAsync(requests).block();
+    }
+
+    public Mono<CreateWeeklyAnalysisResponse> createWeeklyReportAnalysisAsync(CreateWeeklyAnalysisRequest requests){
+        return post(AiEndpoint.WEEKLY_REPORTS, requests, CreateWeeklyAnalysisResponse.class);
     }
 
     public ToxicityDetectionResponse detectToxicity(ToxicityDetectionRequest request) {
-        return aiServerWebClient.post()
-                .uri("/internal/ai/toxicity_detect")
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(request)
-                .retrieve()
-                .bodyToMono(ToxicityDetectionResponse.class)
-                .block();
+        return detectToxicityAsync(request).block();
+    }
+
+    public Mono<ToxicityDetectionResponse> detectToxicityAsync(ToxicityDetectionRequest request) {
+        return post(AiEndpoint.TOXICITY_DETECT, request, ToxicityDetectionResponse.class);
     }
 
     public CreateDrinkRecommendationResponse createCoffeeRecommendation(
         CreateDrinkRecommendationRequest request){
-        return aiServerWebClient.post()
-            .uri("/internal/ai/drink_recommendation")
-            .contentType(MediaType.APPLICATION_JSON)
-            .bodyValue(request)
-            .retrieve()
-            .bodyToMono(CreateDrinkRecommendationResponse.class)
-            .block();
+        return createCoffeeRecommendationAsync(request).block();
     }
-}
 
+    public Mono<CreateDrinkRecommendationResponse> createCoffeeRecommendationAsync(
+        CreateDrinkRecommendationRequest request){
+        return post(AiEndpoint.DRINK_RECOMMENDATION, request, CreateDrinkRecommendationResponse.class);
+    }
+
+    private <T> Mono<T> post(AiEndpoint endpoint, Object body, Class<T> responseType) {
+        return guards.get(endpoint).execute(() -> aiServerWebClient.post()
+                .uri(endpoint.getUri())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .retrieve()
+                .bodyToMono(responseType));
+    }
+}
@@ -0,0 +1,25 @@
+package com.ktb.cafeboo.global.infra.chat;
+
+import com.ktb.cafeboo.domain.coffeechat.dto.StompMessagePublish;
+
+/**
+ * 채팅 메시지를 서버 인스턴스 간에 전달하는 방식.
+ * chat.transport 설정(kafka | redis-stream)에 따라 구현체가 선택됩니다.
+ */
+public interface ChatTransport {
+
+    /**
+     * 채팅방 구독자에게 전달할 메시지를 발행합니다.
+     */
+    void publish(StompMessagePublish message);
+
+    /**
+     * 이 인스턴스에서 채팅방 메시지를 수신하도록 준비합니다. 이미 수신 중이면 아무것도 하지 않습니다.
+     */
+    void activateRoom(Long coffeechatId);
+
+    /**
+     * 발행된 메시지를 별도의 컨슈머가 저장하는 write-behind 저장을 지원하는지 여부
+     */
+    boolean supportsWriteBehind();
+}
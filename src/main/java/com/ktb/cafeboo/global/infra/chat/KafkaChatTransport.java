@@ -0,0 +1,32 @@
+package com.ktb.cafeboo.global.infra.chat;
+
+import com.ktb.cafeboo.domain.coffeechat.dto.StompMessagePublish;
+import com.ktb.cafeboo.global.infra.kafka.producer.KafkaMessageProducer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Kafka 토픽으로 채팅 메시지를 전달합니다. 수신은 KafkaMessageListener가 토픽 단위로 처리하므로 방별 구독이 필요 없습니다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.transport", havingValue = "kafka", matchIfMissing = true)
+public class KafkaChatTransport implements ChatTransport {
+
+    private final KafkaMessageProducer kafkaMessageProducer;
+
+    @Override
+    public void publish(StompMessagePublish message) {
+        kafkaMessageProducer.publishChatMessage(message);
+    }
+
+    @Override
+    public void activateRoom(Long coffeechatId) {
+    }
+
+    @Override
+    public boolean supportsWriteBehind() {
+        return true;
+    }
+}
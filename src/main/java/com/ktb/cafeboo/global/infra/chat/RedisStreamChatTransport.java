@@ -0,0 +1,164 @@
+package com.ktb.cafeboo.global.infra.chat;
+
+import com.ktb.cafeboo.domain.coffeechat.dto.StompMessagePublish;
+import com.ktb.cafeboo.global.enums.ChatBrokerMode;
+import com.ktb.cafeboo.global.infra.codec.StompMessagePublishCodec;
+import com.ktb.cafeboo.global.infra.redis.stream.listener.RedisStreamListener;
+import com.ktb.cafeboo.global.websocket.LocalRoomSubscriptionRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamMessageListenerContainerOptions;
+import org.springframework.data.redis.stream.Subscription;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+/**
+ * 채팅방마다 Redis Stream(coffeechat:room:{id})으로 채팅 메시지를 전달합니다.
+ * 방 구독은 이 인스턴스에 해당 방을 구독한 STOMP 세션이 생길 때 만들고,
+ * 로컬 구독자가 없는 상태가 idle-timeout 이상 지속되면 해제합니다.
+ * 방을 구독한 모든 인스턴스가 같은 레코드를 읽으므로 SIMPLE 브로커 모드에서만 사용할 수 있습니다.
+ * (RELAY 모드에서는 인스턴스마다 외부 브로커로 중계하여 클라이언트가 메시지를 중복 수신함)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.transport", havingValue = "redis-stream")
+public class RedisStreamChatTransport implements ChatTransport {
+
+    private static final String CHAT_STREAM_PREFIX = "coffeechat:room:";
+
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisStreamListener redisStreamListener;
+    private final LocalRoomSubscriptionRegistry localRoomSubscriptionRegistry;
+
+    @Value("${chat.broker.mode:SIMPLE}")
+    private ChatBrokerMode brokerMode;
+
+    @Value("${chat.transport.redis-stream.max-length:1000}")
+    private long maxLength;
+
+    @Value("${chat.transport.redis-stream.poll-timeout-ms:2000}")
+    private long pollTimeoutMs;
+
+    @Value("${chat.transport.redis-stream.idle-timeout-ms:300000}")
+    private long idleTimeoutMs;
+
+    private StreamMessageListenerContainer<String, MapRecord<String, String, String>> container;
+
+    // coffeechatId -> 방 구독
+    private final Map<Long, RoomSubscription> roomSubscriptions = new ConcurrentHashMap<>();
+
+    private record RoomSubscription(Subscription subscription, AtomicLong lastActiveAt) {
+    }
+
+    @PostConstruct
+    public void start() {
+        if (brokerMode == ChatBrokerMode.RELAY) {
+            throw new IllegalStateException(
+                "chat.transport=redis-stream은 chat.broker.mode=RELAY와 함께 사용할 수 없습니다. chat.transport=kafka를 사용하세요.");
+        }
+
+        // 방 구독마다 블로킹 XREAD를 수행하므로 가상 스레드 사용
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("redis-stream-listener-");
+        executor.setVirtualThreads(true);
+
+        StreamMessageListenerContainerOptions<String, MapRecord<String, String, String>> options =
+            StreamMessageListenerContainerOptions.builder()
+                .executor(executor)
+                .pollTimeout(Duration.ofMillis(pollTimeoutMs))
+                .batchSize(100)
+                .build();
+
+        container = StreamMessageListenerContainer.create(redisConnectionFactory, options);
+        container.start();
+        log.info("[RedisStreamChatTransport.start] - StreamMessageListenerContainer started.");
+    }
+
+    @PreDestroy
+    public void stop() {
+        roomSubscriptions.values().forEach(room -> room.subscription().cancel());
+        roomSubscriptions.clear();
+        container.stop();
+        log.info("[RedisStreamChatTransport.stop] - 모든 채팅방 스트림 구독을 취소했습니다.");
+    }
+
+    @Override
+    public void publish(StompMessagePublish message) {
+        MapRecord<String, String, String> record = StreamRecords
+            .string(Map.of(RedisStreamListener.PAYLOAD_FIELD, StompMessagePublishCodec.encodeToString(message)))
+            .withStreamKey(CHAT_STREAM_PREFIX + message.getCoffeechatId());
+
+        stringRedisTemplate.opsForStream().add(record, XAddOptions.maxlen(maxLength).approximateTrimming(true));
+    }
+
+    @Override
+    public void activateRoom(Long coffeechatId) {
+        RoomSubscription room = roomSubscriptions.computeIfAbsent(coffeechatId, id -> {
+            Subscription subscription = container.receive(
+                StreamOffset.create(CHAT_STREAM_PREFIX + id, ReadOffset.latest()),
+                redisStreamListener
+            );
+            log.info("[RedisStreamChatTransport.activateRoom] - 채팅방 {} 스트림 구독 시작", id);
+            return new RoomSubscription(subscription, new AtomicLong());
+        });
+        room.lastActiveAt().set(System.currentTimeMillis());
+    }
+
+    @Override
+    public boolean supportsWriteBehind() {
+        return false;
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        String destination = StompHeaderAccessor.wrap(event.getMessage()).getDestination();
+        if (destination == null || !destination.startsWith(LocalRoomSubscriptionRegistry.CHAT_ROOM_TOPIC_PREFIX)) {
+            return;
+        }
+
+        try {
+            activateRoom(Long.valueOf(destination.substring(LocalRoomSubscriptionRegistry.CHAT_ROOM_TOPIC_PREFIX.length())));
+        } catch (NumberFormatException e) {
+            log.warn("[RedisStreamChatTransport.onSubscribe] - 잘못된 채팅방 구독 경로: {}", destination);
+        }
+    }
+
+    /**
+     * 로컬 구독자가 없는 상태로 idle-timeout이 지난 방의 스트림 구독을 해제합니다.
+     */
+    @Scheduled(fixedDelayString = "${chat.transport.redis-stream.idle-check-ms:60000}")
+    public void evictIdleRooms() {
+        long now = System.currentTimeMillis();
+        roomSubscriptions.forEach((coffeechatId, room) -> {
+            if (localRoomSubscriptionRegistry.hasLocalSubscribers(String.valueOf(coffeechatId))) {
+                room.lastActiveAt().set(now);
+                return;
+            }
+            if (now - room.lastActiveAt().get() > idleTimeoutMs && roomSubscriptions.remove(coffeechatId, room)) {
+                room.subscription().cancel();
+                log.info("[RedisStreamChatTransport.evictIdleRooms] - 유휴 채팅방 {} 스트림 구독 해제", coffeechatId);
+            }
+        });
+    }
+}
@@ -0,0 +1,227 @@
+package com.ktb.cafeboo.global.infra.codec;
+
+import com.ktb.cafeboo.domain.coffeechat.dto.StompMessagePublish;
+import com.ktb.cafeboo.global.enums.MessageType;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * 채팅 메시지(StompMessagePublish)의 바이너리 인코딩. Kafka와 Redis Stream 전송에 공통으로 사용합니다.
+ *
+ * <pre>
+ * [MAGIC 1B][VERSION 1B][필드 존재 비트 1B][필드...]
+ *   messageId      : varint 길이 + UTF-8
+ *   coffeechatId   : varlong
+ *   messageType    : varint (MessageType 코드)
+ *   content        : varint 길이 + UTF-8
+ *   sentAt         : varlong epochSecond(UTC 기준) + varint nano
+ *   sender         : [존재 비트 1B] memberId, chatNickname, profileImageUrl (각각 문자열)
+ * </pre>
+ * 필드를 추가할 때는 VERSION을 올리고 이전 버전의 디코딩을 유지합니다.
+ */
+public final class StompMessagePublishCodec {
+
+    public static final byte MAGIC = (byte) 0xCB;
+    public static final byte VERSION = 1;
+
+    // MessageType 코드. 새 값은 끝에만 추가
+    private static final MessageType[] MESSAGE_TYPES = MessageType.values();
+
+    private static final int HAS_MESSAGE_ID = 1;
+    private static final int HAS_COFFEECHAT_ID = 1 << 1;
+    private static final int HAS_MESSAGE_TYPE = 1 << 2;
+    private static final int HAS_CONTENT = 1 << 3;
+    private static final int HAS_SENT_AT = 1 << 4;
+    private static final int HAS_SENDER = 1 << 5;
+
+    private static final int HAS_MEMBER_ID = 1;
+    private static final int HAS_CHAT_NICKNAME = 1 << 1;
+    private static final int HAS_PROFILE_IMAGE_URL = 1 << 2;
+
+    private StompMessagePublishCodec() {
+    }
+
+    /**
+     * 바이너리 인코딩된 데이터인지 확인합니다. (JSON 등 이전 형식과 구분)
+     */
+    public static boolean isEncoded(byte[] data) {
+        return data != null && data.length >= 2 && data[0] == MAGIC;
+    }
+
+    public static byte[] encode(StompMessagePublish message) {
+        Writer writer = new Writer(64 + length(message.getContent()));
+        writer.writeByte(MAGIC);
+        writer.writeByte(VERSION);
+
+        int flags = 0;
+        if (message.getMessageId() != null) flags |= HAS_MESSAGE_ID;
+        if (message.getCoffeechatId() != null) flags |= HAS_COFFEECHAT_ID;
+        if (message.getMessageType() != null) flags |= HAS_MESSAGE_TYPE;
+        if (message.getContent() != null) flags |= HAS_CONTENT;
+        if (message.getSentAt() != null) flags |= HAS_SENT_AT;
+        if (message.getSender() != null) flags |= HAS_SENDER;
+        writer.writeByte(flags);
+
+        if (message.getMessageId() != null) writer.writeString(message.getMessageId());
+        if (message.getCoffeechatId() != null) writer.writeVarLong(message.getCoffeechatId());
+        if (message.getMessageType() != null) writer.writeVarLong(message.getMessageType().ordinal());
+        if (message.getContent() != null) writer.writeString(message.getContent());
+        if (message.getSentAt() != null) {
+            writer.writeVarLong(message.getSentAt().toEpochSecond(ZoneOffset.UTC));
+            writer.writeVarLong(message.getSentAt().getNano());
+        }
+
+        StompMessagePublish.SenderInfo sender = message.getSender();
+        if (sender != null) {
+            int senderFlags = 0;
+            if (sender.getMemberId() != null) senderFlags |= HAS_MEMBER_ID;
+            if (sender.getChatNickname() != null) senderFlags |= HAS_CHAT_NICKNAME;
+            if (sender.getProfileImageUrl() != null) senderFlags |= HAS_PROFILE_IMAGE_URL;
+            writer.writeByte(senderFlags);
+
+            if (sender.getMemberId() != null) writer.writeString(sender.getMemberId());
+            if (sender.getChatNickname() != null) writer.writeString(sender.getChatNickname());
+            if (sender.getProfileImageUrl() != null) writer.writeString(sender.getProfileImageUrl());
+        }
+        return writer.toByteArray();
+    }
+
+    public static StompMessagePublish decode(byte[] data) {
+        if (!isEncoded(data)) {
+            throw new IllegalArgumentException("바이너리 인코딩된 채팅 메시지가 아닙니다.");
+        }
+
+        Reader reader = new Reader(data, 1);
+        int version = reader.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("지원하지 않는 채팅 메시지 인코딩 버전입니다: " + version);
+        }
+
+        int flags = reader.readByte();
+        StompMessagePublish message = new StompMessagePublish();
+        if ((flags & HAS_MESSAGE_ID) != 0) message.setMessageId(reader.readString());
+        if ((flags & HAS_COFFEECHAT_ID) != 0) message.setCoffeechatId(reader.readVarLong());
+        if ((flags & HAS_MESSAGE_TYPE) != 0) message.setMessageType(toMessageType((int) reader.readVarLong()));
+        if ((flags & HAS_CONTENT) != 0) message.setContent(reader.readString());
+        if ((flags & HAS_SENT_AT) != 0) {
+            long epochSecond = reader.readVarLong();
+            int nano = (int) reader.readVarLong();
+            message.setSentAt(LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC));
+        }
+
+        if ((flags & HAS_SENDER) != 0) {
+            int senderFlags = reader.readByte();
+            StompMessagePublish.SenderInfo sender = new StompMessagePublish.SenderInfo();
+            if ((senderFlags & HAS_MEMBER_ID) != 0) sender.setMemberId(reader.readString());
+            if ((senderFlags & HAS_CHAT_NICKNAME) != 0) sender.setChatNickname(reader.readString());
+            if ((senderFlags & HAS_PROFILE_IMAGE_URL) != 0) sender.setProfileImageUrl(reader.readString());
+            message.setSender(sender);
+        }
+        return message;
+    }
+
+    /**
+     * 문자열 필드만 허용하는 전송(Redis Stream 등)을 위한 Base64 인코딩
+     */
+    public static String encodeToString(StompMessagePublish message) {
+        return Base64.getEncoder().encodeToString(encode(message));
+    }
+
+    public static StompMessagePublish decodeFromString(String encoded) {
+        return decode(Base64.getDecoder().decode(encoded));
+    }
+
+    private static MessageType toMessageType(int code) {
+        if (code < 0 || code >= MESSAGE_TYPES.length) {
+            throw new IllegalArgumentException("알 수 없는 메시지 타입 코드입니다: " + code);
+        }
+        return MESSAGE_TYPES[code];
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length() * 3;
+    }
+
+    private static final class Writer {
+        private byte[] buffer;
+        private int position;
+
+        Writer(int initialCapacity) {
+            this.buffer = new byte[initialCapacity];
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private int position;
+
+        Reader(byte[] data, int position) {
+            this.data = data;
+            this.position = position;
+        }
+
+        int readByte() {
+            if (position >= data.length) {
+                throw new IllegalArgumentException("채팅 메시지 데이터가 잘렸습니다.");
+            }
+            return data[position++] & 0xFF;
+        }
+
+        long readVarLong() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalArgumentException("잘못된 varint 값입니다.");
+        }
+
+        String readString() {
+            long length = readVarLong();
+            if (length < 0 || length > data.length - position) {
+                throw new IllegalArgumentException("채팅 메시지 데이터가 잘렸습니다.");
+            }
+            String value = new String(data, position, (int) length, StandardCharsets.UTF_8);
+            position += (int) length;
+            return value;
+        }
+    }
+}
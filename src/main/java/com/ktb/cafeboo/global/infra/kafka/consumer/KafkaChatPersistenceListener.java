@@ -0,0 +1,130 @@
+package com.ktb.cafeboo.global.infra.kafka.consumer;
+
+import com.ktb.cafeboo.domain.coffeechat.dto.CoffeeChatRoomSnapshot;
+import com.ktb.cafeboo.domain.coffeechat.dto.StompMessagePublish;
+import com.ktb.cafeboo.domain.coffeechat.repository.CoffeeChatMessageBulkRepository;
+import com.ktb.cafeboo.domain.coffeechat.repository.CoffeeChatMessageBulkRepository.PersistedMessage;
+import com.ktb.cafeboo.domain.coffeechat.service.CoffeeChatMessageWindow;
+import com.ktb.cafeboo.domain.coffeechat.service.CoffeeChatRoomCache;
+import com.ktb.cafeboo.global.enums.MessageType;
+import com.ktb.cafeboo.global.infra.kafka.producer.KafkaMessageProducer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅 메시지 write-behind 저장.
+ * 브로드캐스트용 리스너와 달리 고정된 consumer group을 사용하므로 클러스터 전체에서 메시지마다 한 번만 처리되며,
+ * poll 한 번에 받은 메시지를 한 번의 JDBC 배치로 저장한 뒤 offset을 커밋합니다.
+ * 같은 채팅방의 메시지는 같은 파티션으로 들어오므로 가림(REDACTED) 이벤트는 원본 메시지 저장 이후에 적용됩니다.
+ * 배치 저장이 실패하면 한 건씩 다시 저장해 실패한 레코드를 찾고 BatchListenerFailedException으로 알려,
+ * 레코드 하나 때문에 배치 전체가 반복해서 실패하지 않도록 합니다. (에러 핸들러가 해당 레코드만 재시도 후 DLQ로 전송)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.persistence.write-behind.enabled", havingValue = "true")
+public class KafkaChatPersistenceListener {
+
+    private final CoffeeChatMessageBulkRepository messageBulkRepository;
+    private final CoffeeChatMessageWindow coffeeChatMessageWindow;
+    private final CoffeeChatRoomCache coffeeChatRoomCache;
+
+    @KafkaListener(topics = KafkaMessageProducer.CHAT_MESSAGES_TOPIC,
+            containerFactory = "chatPersistenceListenerContainerFactory")
+    public void onMessages(List<ConsumerRecord<String, StompMessagePublish>> records, Acknowledgment acknowledgment) {
+        List<StompMessagePublish> messages = new ArrayList<>(records.size());
+        List<StompMessagePublish> redactions = new ArrayList<>();
+
+        for (int i = 0; i < records.size(); i++) {
+            StompMessagePublish message = records.get(i).value();
+            if (message == null) {
+                // 역직렬화 실패 레코드. 에러 핸들러가 재시도 없이 DLQ로 보냄
+                throw new BatchListenerFailedException("역직렬화 실패 레코드", i);
+            }
+            if (message.getMessageType() == MessageType.REDACTED) {
+                redactions.add(message);
+            } else {
+                messages.add(message);
+            }
+        }
+
+        try {
+            messageBulkRepository.insertAll(messages);
+            messageBulkRepository.redactAll(redactions);
+        } catch (RuntimeException e) {
+            log.warn("[KafkaChatPersistenceListener] 메시지 배치 저장 실패 - 한 건씩 다시 저장 - records={}, error={}", records.size(), e.getMessage());
+            persistOneByOne(records);
+        }
+        acknowledgment.acknowledge();
+
+        appendToWindows(messages);
+        redactions.stream()
+            .map(StompMessagePublish::getCoffeechatId)
+            .distinct()
+            .forEach(coffeeChatMessageWindow::evict);
+
+        log.info("[KafkaChatPersistenceListener] 메시지 배치 저장 완료 - records={}, inserted={}, redacted={}",
+            records.size(), messages.size(), redactions.size());
+    }
+
+    // 레코드 순서대로 한 건씩 저장하여 실패한 레코드의 위치를 에러 핸들러에 전달
+    private void persistOneByOne(List<ConsumerRecord<String, StompMessagePublish>> records) {
+        for (int i = 0; i < records.size(); i++) {
+            StompMessagePublish message = records.get(i).value();
+            try {
+                if (message.getMessageType() == MessageType.REDACTED) {
+                    messageBulkRepository.redactAll(List.of(message));
+                } else {
+                    messageBulkRepository.insertAll(List.of(message));
+                }
+            } catch (RuntimeException e) {
+                throw new BatchListenerFailedException("채팅 메시지 저장 실패 - messageId=" + message.getMessageId(), e, i);
+            }
+        }
+    }
+
+    // 저장된 메시지를 채팅방별 최근 메시지 창에 추가
+    private void appendToWindows(List<StompMessagePublish> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        try {
+            Map<String, PersistedMessage> persisted = messageBulkRepository.findPersistedByMessageUuids(
+                messages.stream().map(StompMessagePublish::getMessageId).toList());
+
+            for (StompMessagePublish message : messages) {
+                PersistedMessage saved = persisted.get(message.getMessageId());
+                if (saved == null) {
+                    continue;
+                }
+                coffeeChatMessageWindow.append(saved.id(), message, isHost(message), saved.createdAt());
+            }
+        } catch (Exception e) {
+            // 창 갱신 실패는 저장에 영향을 주지 않음. 창을 비워 다음 조회 시 DB에서 다시 채움
+            log.warn("[KafkaChatPersistenceListener] 최근 메시지 창 갱신 실패 - error={}", e.getMessage());
+            messages.stream()
+                .map(StompMessagePublish::getCoffeechatId)
+                .distinct()
+                .forEach(coffeeChatMessageWindow::evict);
+        }
+    }
+
+    private boolean isHost(StompMessagePublish message) {
+        if (message.getSender() == null || message.getSender().getMemberId() == null) {
+            return false;
+        }
+        CoffeeChatRoomSnapshot.Member member =
+            coffeeChatRoomCache.getMember(message.getCoffeechatId(), Long.valueOf(message.getSender().getMemberId()));
+        return member != null && member.isHost();
+    }
+}
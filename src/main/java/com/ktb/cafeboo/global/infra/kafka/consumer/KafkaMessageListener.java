@@ -1,38 +1,92 @@
 package com.ktb.cafeboo.global.infra.kafka.consumer;
 
-import com.ktb.cafeboo.domain.coffeechat.dto.StompMessagePublish;
-import com.ktb.cafeboo.domain.coffeechat.model.CoffeeChatMessage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.cafeboo.global.enums.ChatBrokerMode;
+import com.ktb.cafeboo.global.infra.codec.StompMessagePublishCodec;
 import com.ktb.cafeboo.global.infra.kafka.producer.KafkaMessageProducer;
+import com.ktb.cafeboo.global.websocket.LocalRoomSubscriptionRegistry;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.listener.AcknowledgingMessageListener;
 import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Component;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Kafka로 수신한 채팅 메시지를 이 인스턴스의 STOMP 구독자에게 전송합니다.
+ * RELAY 모드에서는 외부 브로커로 중계하며, 공유 consumer group으로 클러스터 전체에서 한 번만 처리합니다.
+ * poll 한 번에 받은 레코드를 방 단위로 묶어 전송하고 offset은 배치 단위로 커밋합니다.
+ * 바이너리 인코딩된 레코드는 로컬 구독자가 있는 방의 것만 디코딩하고, 메시지마다 JSON 직렬화는 한 번만 수행합니다.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
-public class KafkaMessageListener implements AcknowledgingMessageListener<String, StompMessagePublish> {
+@ConditionalOnProperty(name = "chat.transport", havingValue = "kafka", matchIfMissing = true)
+public class KafkaMessageListener {
     private final SimpMessagingTemplate messagingTemplate;
+    private final LocalRoomSubscriptionRegistry localRoomSubscriptionRegistry;
+    private final ObjectMapper objectMapper;
+
+    @Value("${chat.broker.mode:SIMPLE}")
+    private ChatBrokerMode brokerMode;
 
     @KafkaListener(topics = KafkaMessageProducer.CHAT_MESSAGES_TOPIC,
             containerFactory = "kafkaListenerContainerFactory")
-    @Override
-    public void onMessage(ConsumerRecord<String, StompMessagePublish> record, Acknowledgment acknowledgment) {
-        String roomId = record.key();
-        StompMessagePublish stompMessage = record.value();
-
-        log.info("[KafkaChatMessageListener] Received message from Kafka for WebSockets. Topic: '{}', Partition: {}, Offset: {}. Room ID: {}, Message ID: {}",
-                record.topic(), record.partition(), record.offset(), roomId, stompMessage.getMessageId());
+    public void onMessages(List<ConsumerRecord<String, byte[]>> records, Acknowledgment acknowledgment) {
+        // 방 단위로 묶되 방 안의 순서는 파티션 순서를 유지
+        Map<String, List<byte[]>> payloadsByRoom = new LinkedHashMap<>();
+        for (ConsumerRecord<String, byte[]> record : records) {
+            String roomId = record.key();
+            // SIMPLE 모드에서는 이 인스턴스에 해당 방을 구독 중인 세션이 없으면 건너뜀 (RELAY 모드는 구독이 외부 브로커에 있음)
+            if (record.value() == null
+                    || (brokerMode == ChatBrokerMode.SIMPLE && !localRoomSubscriptionRegistry.hasLocalSubscribers(roomId))) {
+                continue;
+            }
+            payloadsByRoom.computeIfAbsent(roomId, id -> new ArrayList<>()).add(record.value());
+        }
 
-        try{
-            messagingTemplate.convertAndSend("/topic/chatrooms/" + roomId, stompMessage);
-            acknowledgment.acknowledge();
+        int sent = 0;
+        for (Map.Entry<String, List<byte[]>> entry : payloadsByRoom.entrySet()) {
+            String destination = LocalRoomSubscriptionRegistry.CHAT_ROOM_TOPIC_PREFIX + entry.getKey();
+            for (byte[] payload : entry.getValue()) {
+                try {
+                    messagingTemplate.send(destination, toJsonMessage(toJson(payload)));
+                    sent++;
+                } catch (Exception e) {
+                    log.error("[KafkaChatMessageListener] 메시지 전송 실패. Room ID: {}, error: {}", entry.getKey(), e.getMessage());
+                }
+            }
         }
-        catch (Exception e) {
 
+        acknowledgment.acknowledge();
+        log.debug("[KafkaChatMessageListener] 배치 처리 완료 - records={}, rooms={}, sent={}", records.size(), payloadsByRoom.size(), sent);
+    }
+
+    private byte[] toJson(byte[] payload) throws JsonProcessingException {
+        // 배포 전환 중 남아 있는 JSON 레코드는 그대로 전송
+        if (!StompMessagePublishCodec.isEncoded(payload)) {
+            return payload;
         }
+        return objectMapper.writeValueAsBytes(StompMessagePublishCodec.decode(payload));
+    }
+
+    private Message<byte[]> toJsonMessage(byte[] payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package com.ktb.cafeboo.global.infra.kafka.serializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.cafeboo.domain.coffeechat.dto.StompMessagePublish;
+import com.ktb.cafeboo.global.infra.codec.StompMessagePublishCodec;
+import java.io.IOException;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * 바이너리 인코딩된 채팅 메시지를 역직렬화합니다.
+ * 배포 전환 중 토픽에 남아 있는 JSON 레코드도 읽을 수 있도록 JSON을 함께 지원합니다.
+ */
+public class StompMessagePublishDeserializer implements Deserializer<StompMessagePublish> {
+
+    private final ObjectMapper objectMapper;
+
+    public StompMessagePublishDeserializer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public StompMessagePublish deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+
+        try {
+            if (StompMessagePublishCodec.isEncoded(data)) {
+                return StompMessagePublishCodec.decode(data);
+            }
+            return objectMapper.readValue(data, StompMessagePublish.class);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new SerializationException("채팅 메시지 역직렬화 실패: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.ktb.cafeboo.global.infra.kafka.serializer;
+
+import com.ktb.cafeboo.domain.coffeechat.dto.StompMessagePublish;
+import com.ktb.cafeboo.global.infra.codec.StompMessagePublishCodec;
+import org.apache.kafka.common.serialization.Serializer;
+
+public class StompMessagePublishSerializer implements Serializer<StompMessagePublish> {
+
+    @Override
+    public byte[] serialize(String topic, StompMessagePublish data) {
+        return data == null ? null : StompMessagePublishCodec.encode(data);
+    }
+}
@@ -7,6 +7,7 @@ import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
 
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
@@ -23,7 +24,14 @@ public class S3Downloader {
     private final S3Properties s3Properties;
 
     public List<String> downloadKeywordLines(String filename) {
-        String fullKey = s3Properties.getDir() + "/text-file/" + filename;
+        return downloadKeywordFile(filename).lines();
+    }
+
+    /**
+     * 키워드 파일을 내려받고 ETag와 함께 반환합니다.
+     */
+    public KeywordFile downloadKeywordFile(String filename) {
+        String fullKey = keywordFileKey(filename);
         log.info("[S3Downloader] 요청한 S3 Key: {}", fullKey);
 
         try {
@@ -35,10 +43,11 @@ public class S3Downloader {
             try (ResponseInputStream<GetObjectResponse> s3Object = s3Client.getObject(getObjectRequest);
                  BufferedReader reader = new BufferedReader(new InputStreamReader(s3Object, StandardCharsets.UTF_8))) {
 
-                return reader.lines()
+                List<String> lines = reader.lines()
                         .map(String::trim)
                         .filter(line -> !line.isEmpty())
                         .collect(Collectors.toList());
+                return new KeywordFile(lines, s3Object.response().eTag());
             }
 
         } catch (Exception e) {
@@ -46,4 +55,22 @@ public class S3Downloader {
             throw new RuntimeException("S3에서 키워드 파일 다운로드 실패", e);
         }
     }
+
+    /**
+     * 키워드 파일의 현재 ETag를 조회합니다. 내용을 내려받지 않고 변경 여부만 확인할 때 사용합니다.
+     */
+    public String getKeywordFileETag(String filename) {
+        HeadObjectRequest headObjectRequest = HeadObjectRequest.builder()
+                .bucket(s3Properties.getBucket())
+                .key(keywordFileKey(filename))
+                .build();
+        return s3Client.headObject(headObjectRequest).eTag();
+    }
+
+    private String keywordFileKey(String filename) {
+        return s3Properties.getDir() + "/text-file/" + filename;
+    }
+
+    public record KeywordFile(List<String> lines, String eTag) {
+    }
 }
@@ -0,0 +1,146 @@
+package com.ktb.cafeboo.global.infra.sse;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+/**
+ * SSE 연결 하나와 전용 전송 큐.
+ * 이벤트는 큐에 넣기만 하고, 전송은 공용 executor에서 연결당 최대 하나의 작업으로 순서대로 수행합니다.
+ * 전송 하나가 오래 끝나지 않으면 허브가 {@link #isStalled}로 감지하여 연결을 끊습니다.
+ * 큐가 가득 차면 밀린 이벤트를 버리고 resync 이벤트 하나만 남겨 클라이언트가 목록을 다시 조회하도록 합니다.
+ */
+@Slf4j
+class SseConnection {
+
+    @Getter
+    private final String connectionId;
+    @Getter
+    private final Long userId;
+    @Getter
+    private final Set<String> topics;
+    @Getter
+    private final SseEmitter emitter;
+    private final BlockingQueue<Set<SseEmitter.DataWithMediaType>> queue;
+    private final Executor executor;
+    private final Set<SseEmitter.DataWithMediaType> resyncEvent;
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    // 진행 중인 전송의 시작 시각 (System.nanoTime, 전송 중이 아니면 0)
+    private volatile long sendStartedAt;
+
+    SseConnection(String connectionId, Long userId, Set<String> topics, SseEmitter emitter, int queueCapacity,
+                  Executor executor, SseEventBuilder resyncEvent) {
+        this.connectionId = connectionId;
+        this.userId = userId;
+        this.topics = Set.copyOf(topics);
+        this.emitter = emitter;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.executor = executor;
+        this.resyncEvent = resyncEvent.build();
+    }
+
+    /**
+     * @return 큐가 넘쳐 밀린 이벤트를 버린 경우 false
+     */
+    boolean enqueue(Set<SseEmitter.DataWithMediaType> event) {
+        if (closed.get()) {
+            return true;
+        }
+
+        boolean accepted = queue.offer(event);
+        if (!accepted) {
+            queue.clear();
+            queue.offer(resyncEvent);
+        }
+        scheduleDrain();
+        return accepted;
+    }
+
+    /**
+     * 큐가 비어 있고 전송 중이 아닐 때만 이벤트를 넣습니다. (하트비트용)
+     */
+    void enqueueIfIdle(Set<SseEmitter.DataWithMediaType> event) {
+        if (closed.get() || draining.get() || !queue.isEmpty()) {
+            return;
+        }
+        if (queue.offer(event)) {
+            scheduleDrain();
+        }
+    }
+
+    void close() {
+        if (closed.compareAndSet(false, true)) {
+            queue.clear();
+            emitter.complete();
+        }
+    }
+
+    /**
+     * 전송이 멈춘 연결을 끊습니다.
+     * 진행 중인 전송이 emitter를 잠그고 있으므로 complete는 executor에서 수행하여 호출 스레드가 막히지 않게 합니다.
+     */
+    void abort() {
+        if (closed.compareAndSet(false, true)) {
+            queue.clear();
+            try {
+                executor.execute(emitter::complete);
+            } catch (RuntimeException e) {
+                log.warn("[SseConnection.abort] 연결 종료 작업 등록 실패: connectionId={}, userId={}, error={}", connectionId, userId, e.getMessage());
+            }
+        }
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * @return 진행 중인 전송이 timeoutNanos 이상 끝나지 않은 경우 true
+     */
+    boolean isStalled(long nowNanos, long timeoutNanos) {
+        long startedAt = sendStartedAt;
+        return startedAt != 0 && nowNanos - startedAt >= timeoutNanos;
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RuntimeException e) {
+                draining.set(false);
+                log.warn("[SseConnection.scheduleDrain] 전송 작업 등록 실패: connectionId={}, userId={}, error={}", connectionId, userId, e.getMessage());
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            Set<SseEmitter.DataWithMediaType> event;
+            while (!closed.get() && (event = queue.poll()) != null) {
+                sendStartedAt = System.nanoTime();
+                emitter.send(event);
+                sendStartedAt = 0;
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("[SseConnection.drain] 전송 실패로 연결 종료: connectionId={}, userId={}, error={}", connectionId, userId, e.getMessage());
+            close();
+        } finally {
+            sendStartedAt = 0;
+            draining.set(false);
+        }
+
+        // drain 종료 직후 들어온 이벤트 처리
+        if (!closed.get() && !queue.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+}
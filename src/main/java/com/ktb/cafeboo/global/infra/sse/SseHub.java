@@ -0,0 +1,318 @@
+package com.ktb.cafeboo.global.infra.sse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 클러스터 전체 SSE 연결에 이벤트를 전달합니다.
+ * 이벤트는 JSON으로 한 번만 직렬화하여 Redis pub/sub으로 모든 인스턴스에 발행하고,
+ * 각 인스턴스는 수신한 이벤트를 한 번 만들어 로컬 연결의 전송 큐에 넣습니다.
+ * 실제 전송은 연결별 큐를 비우는 가상 스레드가 수행하므로, 느린 클라이언트가 호출 스레드나 다른 연결의 전송을 막지 않습니다.
+ * 전송 하나가 chat.sse.send-timeout-ms 이상 끝나지 않는 연결은 끊습니다.
+ *
+ * 이벤트 id는 발행과 같은 Lua 스크립트 안에서 INCR로 발급하므로, 모든 인스턴스가 같은 id를 id 순서대로 수신합니다.
+ * 인스턴스마다 최근 이벤트를 링 버퍼에 보관하고, Last-Event-ID로 재연결한 클라이언트에게 놓친 이벤트를 다시 보냅니다.
+ * 버퍼가 놓친 구간을 모두 포함하지 못하면 resync 이벤트를 보내 목록을 다시 조회하도록 합니다.
+ * 수신한 id가 건너뛰면(구독 직후, pub/sub 재연결 등) 그 이전 구간은 버퍼가 포함하지 않는 것으로 처리합니다.
+ *
+ * 연결은 관심 토픽을 가지고 연결하며, 이벤트는 발행 시 지정한 토픽을 하나라도 구독한 연결에만 전달됩니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SseHub {
+
+    private static final String EVENT_CHANNEL = "sse:events";
+    private static final String EVENT_SEQUENCE_KEY = "sse:event-seq";
+    // 채널 메시지 형식: {이벤트 id}\n{이벤트 이름}\n{토픽1,토픽2,...}\n{JSON 데이터} (id 발급 실패 시 id는 빈 문자열)
+    private static final char DELIMITER = '\n';
+    private static final String TOPIC_DELIMITER = ",";
+    private static final String RESYNC_EVENT = "resync";
+
+    // KEYS: 이벤트 시퀀스 / ARGV: 채널, id 뒤에 붙일 메시지 본문({구분자}{이벤트 이름}...)
+    // id 발급과 발행을 한 번에 수행하여 id 순서와 채널 수신 순서를 일치시킴
+    private static final RedisScript<Long> PUBLISH_SCRIPT = new DefaultRedisScript<>(
+        "local id = redis.call('INCR', KEYS[1]) " +
+        "redis.call('PUBLISH', ARGV[1], string.format('%d', id) .. ARGV[2]) " +
+        "return id",
+        Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListener;
+    private final ObjectMapper objectMapper;
+
+    @Value("${chat.sse.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${chat.sse.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${chat.sse.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Value("${chat.sse.replay-buffer-size:1000}")
+    private int replayBufferSize;
+
+    // 연결 id -> 연결. 한 사용자가 여러 탭에서 연결할 수 있음
+    private final Map<String, SseConnection> connections = new ConcurrentHashMap<>();
+
+    // 토픽 -> 구독 중인 연결. replayBuffer를 잠근 상태에서만 변경
+    private final Map<String, Set<SseConnection>> subscribers = new ConcurrentHashMap<>();
+
+    // 최근 이벤트. 이벤트 분배와 재연결 시 재전송은 이 버퍼를 잠근 상태에서 수행하여 순서를 보장 (start에서 생성)
+    private SseReplayBuffer replayBuffer;
+
+    // 연결마다 전송이 블로킹될 수 있으므로 고정 크기 풀 대신 작업마다 가상 스레드 사용
+    private ExecutorService senderExecutor;
+
+    @PostConstruct
+    public void start() {
+        replayBuffer = new SseReplayBuffer(replayBufferSize);
+        senderExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sse-sender-", 0).factory());
+
+        // 구독 이후에 시퀀스를 읽어야 읽은 값 이후의 이벤트를 모두 수신함
+        MessageListener listener = (message, pattern) ->
+                dispatchLocal(new String(message.getBody(), StandardCharsets.UTF_8));
+        redisMessageListener.addMessageListener(listener, new ChannelTopic(EVENT_CHANNEL));
+        log.info("[SseHub.start] SSE 이벤트 채널 구독: {}", EVENT_CHANNEL);
+
+        try {
+            String sequence = stringRedisTemplate.opsForValue().get(EVENT_SEQUENCE_KEY);
+            long startId = sequence != null ? Long.parseLong(sequence) : 0L;
+            synchronized (replayBuffer) {
+                replayBuffer.start(startId);
+            }
+        } catch (Exception e) {
+            // 시작 시점을 알 수 없으면 첫 이벤트를 수신할 때까지 재연결은 모두 resync
+            log.warn("[SseHub.start] 이벤트 시퀀스 조회 실패: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        connections.values().forEach(SseConnection::close);
+        connections.clear();
+        subscribers.clear();
+        senderExecutor.shutdown();
+    }
+
+    /**
+     * SSE 연결을 등록합니다.
+     * @param topics 구독할 토픽 (토픽 이름에는 ','와 줄바꿈을 사용할 수 없음)
+     * @param lastEventId 재연결 시 클라이언트가 보낸 Last-Event-ID (없으면 null)
+     */
+    public SseEmitter connect(Long userId, Set<String> topics, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        SseConnection connection = new SseConnection(UUID.randomUUID().toString(), userId, topics, emitter,
+                queueCapacity, senderExecutor,
+                SseEmitter.event().name(RESYNC_EVENT).data("{}", MediaType.APPLICATION_JSON));
+
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> remove(connection));
+        emitter.onError(e -> remove(connection));
+
+        // 연결 확인용 더미 이벤트 전송 (503 에러 방지)
+        connection.enqueue(SseEmitter.event()
+                .name("connect")
+                .data("SSE connection established.")
+                .build());
+
+        synchronized (replayBuffer) {
+            if (lastEventId != null) {
+                replay(connection, lastEventId);
+            }
+            connections.put(connection.getConnectionId(), connection);
+            for (String topic : connection.getTopics()) {
+                subscribers.computeIfAbsent(topic, t -> ConcurrentHashMap.newKeySet()).add(connection);
+            }
+        }
+
+        log.debug("[SseHub.connect] SSE 연결: connectionId={}, userId={}, topics={}, lastEventId={}",
+                connection.getConnectionId(), userId, topics, lastEventId);
+        return emitter;
+    }
+
+    /**
+     * 모든 인스턴스에서 topics 중 하나라도 구독한 SSE 연결에 이벤트를 발행합니다.
+     */
+    public void publish(String eventName, Object payload, Collection<String> topics) {
+        if (topics.isEmpty()) {
+            return;
+        }
+
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            log.error("[SseHub.publish] 이벤트 직렬화 실패: event={}, error={}", eventName, e.getMessage());
+            return;
+        }
+
+        String body = DELIMITER + eventName + DELIMITER + String.join(TOPIC_DELIMITER, topics) + DELIMITER + data;
+        try {
+            stringRedisTemplate.execute(PUBLISH_SCRIPT, List.of(EVENT_SEQUENCE_KEY), EVENT_CHANNEL, body);
+        } catch (Exception e) {
+            // Redis 장애 시 최소한 이 인스턴스의 연결에는 전달 (id가 없으므로 재전송 대상이 아님)
+            log.warn("[SseHub.publish] 이벤트 발행 실패, 로컬 연결에만 전달: event={}, error={}", eventName, e.getMessage());
+            dispatchLocal(body);
+        }
+    }
+
+    /**
+     * 프록시/로드밸런서의 유휴 연결 종료를 막고 끊긴 연결을 정리하기 위해 주석 이벤트를 보냅니다.
+     * 전송할 이벤트가 남아 있는 연결은 유휴 상태가 아니므로 건너뛰어, 하트비트가 데이터 큐 자리를 차지하지 않게 합니다.
+     */
+    @Scheduled(fixedDelayString = "${chat.sse.heartbeat-ms:15000}")
+    public void sendHeartbeats() {
+        if (connections.isEmpty()) {
+            return;
+        }
+
+        Set<SseEmitter.DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+        connections.values().forEach(connection -> connection.enqueueIfIdle(heartbeat));
+    }
+
+    /**
+     * 전송 하나가 send-timeout-ms 이상 끝나지 않은 연결을 끊습니다.
+     * 멈춘 전송은 가상 스레드 하나만 붙잡고 있지만, 큐와 연결을 계속 유지하지 않도록 정리합니다.
+     */
+    @Scheduled(fixedDelayString = "${chat.sse.stall-check-ms:5000}")
+    public void closeStalledConnections() {
+        long now = System.nanoTime();
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        connections.values().forEach(connection -> {
+            if (connection.isStalled(now, timeoutNanos)) {
+                log.warn("[SseHub.closeStalledConnections] 전송 지연으로 연결 종료: connectionId={}, userId={}",
+                        connection.getConnectionId(), connection.getUserId());
+                connection.abort();
+                remove(connection);
+            }
+        });
+    }
+
+    private void dispatchLocal(String message) {
+        int idEnd = message.indexOf(DELIMITER);
+        int nameEnd = idEnd < 0 ? -1 : message.indexOf(DELIMITER, idEnd + 1);
+        int topicsEnd = nameEnd < 0 ? -1 : message.indexOf(DELIMITER, nameEnd + 1);
+        if (topicsEnd < 0) {
+            log.warn("[SseHub.dispatchLocal] 잘못된 이벤트 메시지: {}", message);
+            return;
+        }
+
+        String id = message.substring(0, idEnd);
+        SseEmitter.SseEventBuilder builder = SseEmitter.event()
+                .name(message.substring(idEnd + 1, nameEnd))
+                .data(message.substring(topicsEnd + 1), MediaType.APPLICATION_JSON);
+        List<String> topics = List.of(message.substring(nameEnd + 1, topicsEnd).split(TOPIC_DELIMITER));
+        if (!id.isEmpty()) {
+            builder.id(id);
+        }
+
+        // 이벤트는 한 번만 만들어 모든 연결이 공유
+        Set<SseEmitter.DataWithMediaType> event = builder.build();
+
+        synchronized (replayBuffer) {
+            if (!id.isEmpty()) {
+                replayBuffer.add(new SseReplayBuffer.BufferedEvent(Long.parseLong(id), topics, event));
+            }
+
+            targetsOf(topics).forEach(connection -> {
+                if (!connection.enqueue(event)) {
+                    log.warn("[SseHub.dispatchLocal] 전송 큐 초과로 resync 전환: connectionId={}, userId={}",
+                            connection.getConnectionId(), connection.getUserId());
+                }
+            });
+        }
+    }
+
+    // replayBuffer를 잠근 상태에서 호출
+    private void replay(SseConnection connection, String lastEventId) {
+        long lastId;
+        try {
+            lastId = Long.parseLong(lastEventId);
+        } catch (NumberFormatException e) {
+            connection.enqueue(SseEmitter.event().name(RESYNC_EVENT).data("{}", MediaType.APPLICATION_JSON).build());
+            return;
+        }
+
+        // 놓친 구간의 일부가 이미 버퍼에서 밀려났거나 이 인스턴스가 시작되기 전이면 재전송 불가
+        if (!replayBuffer.covers(lastId)) {
+            connection.enqueue(SseEmitter.event().name(RESYNC_EVENT).data("{}", MediaType.APPLICATION_JSON).build());
+            return;
+        }
+
+        int replayed = 0;
+        for (SseReplayBuffer.BufferedEvent buffered : replayBuffer.after(lastId)) {
+            if (isSubscribed(connection, buffered.topics())) {
+                connection.enqueue(buffered.event());
+                replayed++;
+            }
+        }
+        log.debug("[SseHub.replay] 놓친 이벤트 재전송: connectionId={}, lastEventId={}, count={}",
+                connection.getConnectionId(), lastEventId, replayed);
+    }
+
+    // 토픽 하나만 지정된 이벤트는 구독자 집합을 그대로 사용하고, 여러 토픽이면 중복 연결을 제거
+    private Collection<SseConnection> targetsOf(List<String> topics) {
+        if (topics.size() == 1) {
+            return subscribers.getOrDefault(topics.getFirst(), Set.of());
+        }
+
+        Set<SseConnection> targets = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (String topic : topics) {
+            targets.addAll(subscribers.getOrDefault(topic, Set.of()));
+        }
+        return targets;
+    }
+
+    private boolean isSubscribed(SseConnection connection, List<String> topics) {
+        for (String topic : topics) {
+            if (connection.getTopics().contains(topic)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void remove(SseConnection connection) {
+        connection.close();
+        synchronized (replayBuffer) {
+            if (!connections.remove(connection.getConnectionId(), connection)) {
+                return;
+            }
+            for (String topic : connection.getTopics()) {
+                subscribers.computeIfPresent(topic, (t, set) -> {
+                    set.remove(connection);
+                    return set.isEmpty() ? null : set;
+                });
+            }
+        }
+    }
+}
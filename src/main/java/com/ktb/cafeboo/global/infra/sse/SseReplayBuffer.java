@@ -0,0 +1,87 @@
+package com.ktb.cafeboo.global.infra.sse;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 재연결 시 재전송할 최근 이벤트 (id 오름차순).
+ * 버퍼가 놓친 구간을 모두 포함하는지(replayCoveredAfter 이후의 이벤트가 모두 있는지)를 함께 관리합니다.
+ * 수신한 id가 건너뛰면(구독 직후, pub/sub 재연결 등) 그 이전 구간은 포함하지 않는 것으로 처리합니다.
+ * 스레드 안전하지 않으므로 호출하는 쪽에서 잠근 상태로 사용합니다.
+ */
+@Slf4j
+class SseReplayBuffer {
+
+    record BufferedEvent(long id, List<String> topics, Set<SseEmitter.DataWithMediaType> event) {
+    }
+
+    private final int capacity;
+    private final Deque<BufferedEvent> events = new ArrayDeque<>();
+
+    // 이 id 이후의 이벤트는 모두 버퍼에 있음
+    private long replayCoveredAfter = Long.MAX_VALUE;
+
+    // 마지막으로 수신한 이벤트 id (아직 기준이 없으면 -1). id 건너뜀을 감지하는 데 사용
+    private long lastReceivedId = -1;
+
+    SseReplayBuffer(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * 채널 구독 이후 읽은 이벤트 시퀀스를 기준으로 삼습니다.
+     * 조회 전에 이미 이벤트를 수신했다면 그 이벤트를 기준으로 이미 설정되어 있으므로 무시합니다.
+     */
+    void start(long sequence) {
+        if (lastReceivedId < 0) {
+            replayCoveredAfter = sequence;
+            lastReceivedId = sequence;
+        }
+    }
+
+    void add(BufferedEvent buffered) {
+        long id = buffered.id();
+        if (lastReceivedId >= 0 && id <= lastReceivedId) {
+            // 시퀀스 조회 이전에 발행된 이벤트이거나 중복 수신. 이미 재전송 범위 밖이므로 버퍼에 넣지 않음
+            return;
+        }
+        if (id != lastReceivedId + 1) {
+            // 중간 이벤트를 수신하지 못했으므로 이 이벤트 이전 구간은 재전송 불가
+            if (lastReceivedId >= 0) {
+                log.warn("[SseReplayBuffer.add] 이벤트 id 건너뜀: expected={}, received={}", lastReceivedId + 1, id);
+            }
+            replayCoveredAfter = id - 1;
+        }
+        lastReceivedId = id;
+
+        events.addLast(buffered);
+        if (events.size() > capacity) {
+            replayCoveredAfter = Math.max(replayCoveredAfter, events.removeFirst().id());
+        }
+    }
+
+    /**
+     * lastId 이후의 이벤트를 모두 재전송할 수 있는지 여부
+     */
+    boolean covers(long lastId) {
+        return lastId >= replayCoveredAfter;
+    }
+
+    /**
+     * lastId 이후의 이벤트 (id 오름차순)
+     */
+    List<BufferedEvent> after(long lastId) {
+        List<BufferedEvent> missed = new ArrayList<>();
+        for (BufferedEvent buffered : events) {
+            if (buffered.id() > lastId) {
+                missed.add(buffered);
+            }
+        }
+        return missed;
+    }
+}
@@ -0,0 +1,88 @@
+package com.ktb.cafeboo.global.websocket;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+/**
+ * 이 서버 인스턴스에 연결된 STOMP 세션이 구독 중인 채팅방을 추적합니다.
+ * Kafka로 수신한 채팅 메시지 중 로컬 구독자가 없는 방의 메시지는 역직렬화/전송하지 않기 위해 사용합니다.
+ */
+@Slf4j
+@Component
+public class LocalRoomSubscriptionRegistry {
+
+    public static final String CHAT_ROOM_TOPIC_PREFIX = "/topic/chatrooms/";
+
+    // sessionId -> (subscriptionId -> roomId)
+    private final Map<String, Map<String, String>> sessionSubscriptions = new ConcurrentHashMap<>();
+
+    // roomId -> 로컬 구독 수
+    private final Map<String, AtomicInteger> roomSubscriberCounts = new ConcurrentHashMap<>();
+
+    public boolean hasLocalSubscribers(String roomId) {
+        return roomId != null && roomSubscriberCounts.containsKey(roomId);
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String destination = accessor.getDestination();
+        if (destination == null || !destination.startsWith(CHAT_ROOM_TOPIC_PREFIX)) {
+            return;
+        }
+
+        String roomId = destination.substring(CHAT_ROOM_TOPIC_PREFIX.length());
+        String previous = sessionSubscriptions
+                .computeIfAbsent(accessor.getSessionId(), id -> new ConcurrentHashMap<>())
+                .put(accessor.getSubscriptionId(), roomId);
+        if (previous != null) {
+            decrement(previous);
+        }
+        roomSubscriberCounts.compute(roomId, (id, count) -> {
+            if (count == null) {
+                return new AtomicInteger(1);
+            }
+            count.incrementAndGet();
+            return count;
+        });
+        log.debug("[LocalRoomSubscriptionRegistry.onSubscribe] sessionId={}, roomId={}", accessor.getSessionId(), roomId);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, String> subscriptions = sessionSubscriptions.get(accessor.getSessionId());
+        if (subscriptions == null) {
+            return;
+        }
+
+        String roomId = subscriptions.remove(accessor.getSubscriptionId());
+        if (roomId != null) {
+            decrement(roomId);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> subscriptions = sessionSubscriptions.remove(event.getSessionId());
+        if (subscriptions == null) {
+            return;
+        }
+
+        subscriptions.values().forEach(this::decrement);
+        log.debug("[LocalRoomSubscriptionRegistry.onDisconnect] sessionId={}, 해제된 구독 수={}", event.getSessionId(), subscriptions.size());
+    }
+
+    private void decrement(String roomId) {
+        // 구독 수가 0이 되면 방을 제거
+        roomSubscriberCounts.computeIfPresent(roomId, (id, count) -> count.decrementAndGet() <= 0 ? null : count);
+    }
+}
@@ -0,0 +1,35 @@
+package com.ktb.cafeboo.global.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+
+/**
+ * 전송 시간/버퍼 한도를 넘겨 서버가 끊은 느린 세션을 기록합니다.
+ * 한도 초과 세션은 ConcurrentWebSocketSessionDecorator가 SESSION_NOT_RELIABLE로 종료하여 브로커 스레드를 막지 않습니다.
+ */
+@Slf4j
+public class SlowConsumerWebSocketHandlerDecorator extends WebSocketHandlerDecorator {
+
+    private final Counter slowConsumerCounter;
+
+    public SlowConsumerWebSocketHandlerDecorator(WebSocketHandler delegate, MeterRegistry meterRegistry) {
+        super(delegate);
+        this.slowConsumerCounter = Counter.builder("websocket.sessions.slow_consumer_closed")
+                .description("전송 한도 초과로 종료된 WebSocket 세션 수")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+        if (CloseStatus.SESSION_NOT_RELIABLE.equalsCode(closeStatus)) {
+            slowConsumerCounter.increment();
+            log.warn("[SlowConsumerWebSocketHandlerDecorator] 느린 세션 종료: sessionId={}, remote={}", session.getId(), session.getRemoteAddress());
+        }
+        super.afterConnectionClosed(session, closeStatus);
+    }
+}
@@ -0,0 +1,168 @@
+package com.ktb.cafeboo.domain.coffeechat.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.ktb.cafeboo.domain.coffeechat.dto.CoffeeChatListResponse.CoffeeChatSummary;
+import com.ktb.cafeboo.domain.coffeechat.model.CoffeeChat;
+import com.ktb.cafeboo.domain.coffeechat.repository.CoffeeChatRepository;
+import com.ktb.cafeboo.global.apiPayload.code.status.ErrorStatus;
+import com.ktb.cafeboo.global.apiPayload.exception.CustomApiException;
+import com.ktb.cafeboo.global.enums.CoffeeChatStatus;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class CoffeeChatListFeedTest {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    private final CoffeeChatRepository coffeeChatRepository = mock(CoffeeChatRepository.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private CoffeeChatListFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        feed = new CoffeeChatListFeed(coffeeChatRepository, mock(StringRedisTemplate.class),
+            mock(RedisMessageListenerContainer.class), transactionTemplate);
+    }
+
+    private static CoffeeChat chat(long id, CoffeeChatStatus status, int minutesAgo) {
+        CoffeeChat chat = CoffeeChat.builder()
+            .name("커피챗 " + id)
+            .status(status)
+            .meetingTime(BASE_TIME.plusDays(1))
+            .build();
+        ReflectionTestUtils.setField(chat, "id", id);
+        ReflectionTestUtils.setField(chat, "createdAt", BASE_TIME.minusMinutes(minutesAgo));
+        return chat;
+    }
+
+    private void givenChats(CoffeeChat... chats) {
+        when(coffeeChatRepository.findAllActiveChatsForFeed()).thenReturn(List.of(chats));
+    }
+
+    private static List<String> ids(CoffeeChatListFeed.Page page) {
+        return page.summaries().stream().map(CoffeeChatSummary::coffeeChatId).toList();
+    }
+
+    @Test
+    void 이벤트_커피챗을_먼저_최신_생성순으로_정렬한다() {
+        givenChats(
+            chat(1, CoffeeChatStatus.ACTIVE, 30),
+            chat(2, CoffeeChatStatus.ACTIVE, 10),
+            chat(3, CoffeeChatStatus.EVENT, 60),
+            chat(4, CoffeeChatStatus.ACTIVE, 10),
+            chat(5, CoffeeChatStatus.EVENT, 5)
+        );
+
+        CoffeeChatListFeed.Page page = feed.page(null, null);
+
+        // 같은 생성 시각(2, 4)은 id 역순
+        assertThat(ids(page)).containsExactly("5", "3", "4", "2", "1");
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void 커서를_따라가면_빠짐없이_중복없이_모든_항목을_읽는다() {
+        givenChats(
+            chat(1, CoffeeChatStatus.ACTIVE, 1),
+            chat(2, CoffeeChatStatus.ACTIVE, 2),
+            chat(3, CoffeeChatStatus.EVENT, 3),
+            chat(4, CoffeeChatStatus.ACTIVE, 4),
+            chat(5, CoffeeChatStatus.ACTIVE, 4),
+            chat(6, CoffeeChatStatus.ACTIVE, 6),
+            chat(7, CoffeeChatStatus.ACTIVE, 7)
+        );
+
+        List<String> read = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        while (true) {
+            CoffeeChatListFeed.Page page = feed.page(cursor, 3);
+            read.addAll(ids(page));
+            pages++;
+            if (!page.hasNext()) {
+                assertThat(page.nextCursor()).isNull();
+                break;
+            }
+            assertThat(page.nextCursor()).isNotNull();
+            cursor = page.nextCursor();
+        }
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(read).containsExactly("3", "1", "2", "5", "4", "6", "7");
+    }
+
+    @Test
+    void 커서의_항목이_목록에서_사라져도_그_다음부터_이어서_읽는다() {
+        givenChats(
+            chat(1, CoffeeChatStatus.ACTIVE, 1),
+            chat(3, CoffeeChatStatus.ACTIVE, 3),
+            chat(4, CoffeeChatStatus.ACTIVE, 4)
+        );
+
+        // id 2(2분 전 생성)는 목록에 없음
+        String cursor = "1_" + BASE_TIME.minusMinutes(2) + "_2";
+        CoffeeChatListFeed.Page page = feed.page(cursor, 10);
+
+        assertThat(ids(page)).containsExactly("3", "4");
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1, Integer.MIN_VALUE})
+    void limit이_1보다_작으면_1로_취급하고_다음_커서를_준다(int limit) {
+        givenChats(
+            chat(1, CoffeeChatStatus.ACTIVE, 1),
+            chat(2, CoffeeChatStatus.ACTIVE, 2)
+        );
+
+        CoffeeChatListFeed.Page page = feed.page(null, limit);
+
+        assertThat(ids(page)).containsExactly("1");
+        assertThat(page.hasNext()).isTrue();
+        assertThat(page.nextCursor()).isNotNull();
+        assertThat(ids(feed.page(page.nextCursor(), limit))).containsExactly("2");
+    }
+
+    @Test
+    void 마지막_항목의_커서로_조회하면_빈_페이지를_준다() {
+        givenChats(chat(1, CoffeeChatStatus.ACTIVE, 1));
+
+        CoffeeChatListFeed.Page first = feed.page(null, 1);
+        assertThat(first.hasNext()).isFalse();
+
+        String cursor = "1_" + BASE_TIME.minusMinutes(1) + "_1";
+        CoffeeChatListFeed.Page page = feed.page(cursor, 1);
+
+        assertThat(page.summaries()).isEmpty();
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"abc", "1_2025-06-01T12:00", "x_2025-06-01T12:00_1", "1_not-a-time_1"})
+    void 잘못된_커서는_거부한다(String cursor) {
+        givenChats(chat(1, CoffeeChatStatus.ACTIVE, 1));
+
+        assertThatThrownBy(() -> feed.page(cursor, 1))
+            .isInstanceOfSatisfying(CustomApiException.class,
+                e -> assertThat(e.getErrorCode()).isEqualTo(ErrorStatus.INVALID_CURSOR));
+    }
+}
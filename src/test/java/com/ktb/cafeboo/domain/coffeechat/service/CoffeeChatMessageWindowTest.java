@@ -0,0 +1,246 @@
+package com.ktb.cafeboo.domain.coffeechat.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ktb.cafeboo.domain.coffeechat.dto.StompMessagePublish;
+import com.ktb.cafeboo.domain.coffeechat.dto.common.MemberDto;
+import com.ktb.cafeboo.domain.coffeechat.dto.common.MessageDto;
+import com.ktb.cafeboo.global.enums.MessageType;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.Invocation;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class CoffeeChatMessageWindowTest {
+
+    private static final Long COFFEECHAT_ID = 1L;
+    private static final String KEY = "coffeechat:messages:{1}";
+    private static final String LOW_KEY = KEY + ":low";
+    private static final String EPOCH_KEY = KEY + ":epoch";
+    private static final String DEFAULT_PROFILE_IMAGE_URL = "https://cdn/default.png";
+    private static final LocalDateTime SENT_AT = LocalDateTime.of(2026, 10, 1, 12, 0);
+
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final CoffeeChatMessageWindow window = new CoffeeChatMessageWindow(stringRedisTemplate, objectMapper);
+
+    private record ScriptCall(String script, List<String> keys, List<Object> args) {}
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(window, "windowSize", 200);
+        ReflectionTestUtils.setField(window, "windowTtlHours", 24L);
+        ReflectionTestUtils.setField(window, "defaultProfileImageUrl", DEFAULT_PROFILE_IMAGE_URL);
+    }
+
+    private static MessageDto message(long id) {
+        return new MessageDto(String.valueOf(id), new MemberDto("10", "멤버", "https://cdn/10.png", false),
+            "내용" + id, MessageType.TALK, SENT_AT);
+    }
+
+    private String json(long id) throws Exception {
+        return objectMapper.writeValueAsString(message(id));
+    }
+
+    // 하한과 메시지 JSON으로 READ 스크립트 결과를 만듦
+    private void readReturns(String low, String... values) {
+        List<String> result = null;
+        if (low != null) {
+            result = new ArrayList<>();
+            result.add(low);
+            result.addAll(Arrays.asList(values));
+        }
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(result);
+    }
+
+    private List<ScriptCall> scriptCalls() {
+        List<ScriptCall> calls = new ArrayList<>();
+        for (Invocation invocation : mockingDetails(stringRedisTemplate).getInvocations()) {
+            if (!invocation.getMethod().getName().equals("execute") || !(invocation.getArgument(0) instanceof RedisScript<?> script)) {
+                continue;
+            }
+            Object[] arguments = invocation.getArguments();
+            calls.add(new ScriptCall(script.getScriptAsString(), invocation.getArgument(1),
+                Arrays.asList(arguments).subList(2, arguments.length)));
+        }
+        return calls;
+    }
+
+    private ScriptCall onlyScriptCall() {
+        List<ScriptCall> calls = scriptCalls();
+        assertThat(calls).hasSize(1);
+        return calls.getFirst();
+    }
+
+    @Test
+    void 가장_최근_페이지는_상한_없이_최신순으로_읽는다() throws Exception {
+        readReturns("5", json(30), json(29));
+
+        Optional<List<MessageDto>> result = window.readBefore(COFFEECHAT_ID, null, 2);
+
+        assertThat(result).hasValueSatisfying(messages ->
+            assertThat(messages).extracting(MessageDto::messageId).containsExactly("30", "29"));
+        ScriptCall call = onlyScriptCall();
+        assertThat(call.keys()).containsExactly(KEY, LOW_KEY);
+        assertThat(call.args()).containsExactly("desc", "+inf", "2");
+    }
+
+    @Test
+    void 이전_페이지는_beforeId를_제외한_구간을_읽는다() throws Exception {
+        readReturns("5", json(9));
+
+        window.readBefore(COFFEECHAT_ID, 10L, 1);
+
+        assertThat(onlyScriptCall().args()).containsExactly("desc", "(10", "1");
+    }
+
+    @Test
+    void 하한_이상_구간에서_페이지를_채우지_못하면_DB에서_읽도록_empty를_반환한다() throws Exception {
+        readReturns("28", json(29), json(28));
+
+        assertThat(window.readBefore(COFFEECHAT_ID, 30L, 5)).isEmpty();
+    }
+
+    @Test
+    void 하한이_0이면_채우지_못한_페이지도_창에서_반환한다() throws Exception {
+        readReturns("0", json(2), json(1));
+
+        assertThat(window.readBefore(COFFEECHAT_ID, 3L, 5)).hasValueSatisfying(messages ->
+            assertThat(messages).extracting(MessageDto::messageId).containsExactly("2", "1"));
+    }
+
+    @Test
+    void 하한이_없으면_창을_신뢰하지_않는다() {
+        readReturns(null);
+
+        assertThat(window.readBefore(COFFEECHAT_ID, null, 20)).isEmpty();
+        assertThat(window.readAfter(COFFEECHAT_ID, 10L, 20)).isEmpty();
+    }
+
+    @Test
+    void 이후_메시지는_afterId_바로_다음부터_창에_있을_때만_반환한다() throws Exception {
+        readReturns("11", json(11), json(12));
+
+        assertThat(window.readAfter(COFFEECHAT_ID, 10L, 20)).hasValueSatisfying(messages ->
+            assertThat(messages).extracting(MessageDto::messageId).containsExactly("11", "12"));
+        assertThat(onlyScriptCall().args()).containsExactly("asc", "(10", "20");
+    }
+
+    @Test
+    void afterId_다음_메시지가_하한보다_오래되었으면_empty를_반환한다() throws Exception {
+        readReturns("12", json(12));
+
+        assertThat(window.readAfter(COFFEECHAT_ID, 10L, 20)).isEmpty();
+    }
+
+    @Test
+    void Redis_조회에_실패하면_empty를_반환한다() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+            .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(window.readBefore(COFFEECHAT_ID, null, 20)).isEmpty();
+        assertThat(window.readAfter(COFFEECHAT_ID, 10L, 20)).isEmpty();
+    }
+
+    @Test
+    void 일부만_읽은_prime은_가장_오래된_id를_하한으로_기록한다() throws Exception {
+        window.prime(COFFEECHAT_ID, 3, List.of(message(30), message(29), message(28)), false);
+
+        ScriptCall call = onlyScriptCall();
+        assertThat(call.keys()).containsExactly(KEY, LOW_KEY, EPOCH_KEY);
+        // 읽기 전 세대, 하한, 읽은 최대 id, 창 크기, TTL(초), (id, JSON)...
+        assertThat(call.args()).containsExactly("3", "28", "30", "200", "86400",
+            "30", json(30), "29", json(29), "28", json(28));
+    }
+
+    @Test
+    void 채팅방의_모든_메시지를_읽은_prime은_하한을_0으로_기록한다() {
+        window.prime(COFFEECHAT_ID, 0, List.of(message(2), message(1)), true);
+        window.prime(COFFEECHAT_ID, 0, List.of(), false);
+
+        List<ScriptCall> calls = scriptCalls();
+        assertThat(calls).hasSize(2);
+        assertThat(calls.get(0).args().subList(0, 3)).containsExactly("0", "0", "2");
+        assertThat(calls.get(1).args()).containsExactly("0", "0", "0", "200", "86400");
+    }
+
+    @Test
+    void 세대를_조회하지_못했으면_prime하지_않는다() {
+        window.prime(COFFEECHAT_ID, -1, List.of(message(1)), true);
+
+        assertThat(scriptCalls()).isEmpty();
+    }
+
+    @Test
+    void 세대는_없으면_0이고_Redis를_사용할_수_없으면_음수다() {
+        @SuppressWarnings("unchecked")
+        ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(EPOCH_KEY))
+            .thenReturn(null, "4")
+            .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(window.epoch(COFFEECHAT_ID)).isZero();
+        assertThat(window.epoch(COFFEECHAT_ID)).isEqualTo(4);
+        assertThat(window.epoch(COFFEECHAT_ID)).isEqualTo(-1);
+    }
+
+    @Test
+    void 추가하는_메시지는_DB_조회_결과와_같은_형태로_보낸_사람_기본값을_채운다() throws Exception {
+        StompMessagePublish message = StompMessagePublish.builder()
+            .coffeechatId(COFFEECHAT_ID)
+            .messageType(MessageType.TALK)
+            .content("안녕하세요")
+            .sender(StompMessagePublish.SenderInfo.builder().memberId("10").build())
+            .build();
+
+        window.append(31L, message, true, SENT_AT);
+
+        ScriptCall call = onlyScriptCall();
+        assertThat(call.keys()).containsExactly(KEY, LOW_KEY);
+        assertThat(call.args()).hasSize(4);
+        assertThat(call.args().get(0)).isEqualTo("31");
+        assertThat(call.args().subList(2, 4)).containsExactly("200", "86400");
+        MessageDto appended = objectMapper.readValue((String) call.args().get(1), MessageDto.class);
+        assertThat(appended).isEqualTo(new MessageDto("31",
+            new MemberDto("10", CoffeeChatMessageService.UNKNOWN_SENDER_NICKNAME, DEFAULT_PROFILE_IMAGE_URL, true),
+            "안녕하세요", MessageType.TALK, SENT_AT));
+    }
+
+    @Test
+    void 추가에_실패하면_창을_제거하고_세대를_올린다() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+            .thenThrow(new RedisConnectionFailureException("down"))
+            .thenReturn(1L);
+        StompMessagePublish message = StompMessagePublish.builder()
+            .coffeechatId(COFFEECHAT_ID)
+            .messageType(MessageType.TALK)
+            .content("안녕하세요")
+            .build();
+
+        window.append(31L, message, false, SENT_AT);
+
+        List<ScriptCall> calls = scriptCalls();
+        assertThat(calls).hasSize(2);
+        ScriptCall evict = calls.get(1);
+        assertThat(evict.script()).contains("INCR");
+        assertThat(evict.keys()).containsExactly(KEY, LOW_KEY, EPOCH_KEY);
+        assertThat(evict.args()).containsExactly("86400");
+    }
+}
@@ -0,0 +1,168 @@
+package com.ktb.cafeboo.domain.coffeechat.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ktb.cafeboo.domain.coffeechat.dto.CoffeeChatRoomSnapshot;
+import com.ktb.cafeboo.domain.coffeechat.model.CoffeeChat;
+import com.ktb.cafeboo.domain.coffeechat.model.CoffeeChatMember;
+import com.ktb.cafeboo.domain.coffeechat.repository.CoffeeChatRepository;
+import com.ktb.cafeboo.global.enums.CoffeeChatStatus;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class CoffeeChatRoomCacheTest {
+
+    private static final Long COFFEECHAT_ID = 1L;
+    private static final String INVALIDATION_CHANNEL = "coffeechat:room-cache:invalidate";
+
+    private final CoffeeChatRepository coffeeChatRepository = mock(CoffeeChatRepository.class);
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+    private final RedisMessageListenerContainer redisMessageListener = mock(RedisMessageListenerContainer.class);
+
+    private CoffeeChatRoomCache cache(long memberMissReloadMs) {
+        return new CoffeeChatRoomCache(coffeeChatRepository, stringRedisTemplate, redisMessageListener,
+            600, 100, memberMissReloadMs);
+    }
+
+    private static CoffeeChat chat(Long id, Long... memberIds) {
+        List<CoffeeChatMember> members = new ArrayList<>();
+        for (Long memberId : memberIds) {
+            CoffeeChatMember member = CoffeeChatMember.builder().chatNickname("멤버" + memberId).build();
+            ReflectionTestUtils.setField(member, "id", memberId);
+            members.add(member);
+        }
+        CoffeeChat chat = CoffeeChat.builder().status(CoffeeChatStatus.ACTIVE).members(members).build();
+        ReflectionTestUtils.setField(chat, "id", id);
+        return chat;
+    }
+
+    @Test
+    void 한_번_조회한_방은_캐시에서_반환한다() {
+        when(coffeeChatRepository.findByIdWithMembers(COFFEECHAT_ID)).thenReturn(Optional.of(chat(COFFEECHAT_ID, 10L)));
+        CoffeeChatRoomCache cache = cache(1000);
+
+        CoffeeChatRoomSnapshot first = cache.get(COFFEECHAT_ID);
+        CoffeeChatRoomSnapshot second = cache.get(COFFEECHAT_ID);
+
+        assertThat(second).isSameAs(first);
+        verify(coffeeChatRepository, times(1)).findByIdWithMembers(COFFEECHAT_ID);
+    }
+
+    @Test
+    void 존재하지_않는_방은_캐시하지_않는다() {
+        when(coffeeChatRepository.findByIdWithMembers(COFFEECHAT_ID)).thenReturn(Optional.empty());
+        CoffeeChatRoomCache cache = cache(1000);
+
+        assertThat(cache.get(COFFEECHAT_ID)).isNull();
+        assertThat(cache.get(COFFEECHAT_ID)).isNull();
+        verify(coffeeChatRepository, times(2)).findByIdWithMembers(COFFEECHAT_ID);
+    }
+
+    @Test
+    void 무효화하면_다시_조회하고_다른_인스턴스에도_알린다() {
+        when(coffeeChatRepository.findByIdWithMembers(COFFEECHAT_ID))
+            .thenReturn(Optional.of(chat(COFFEECHAT_ID, 10L)), Optional.of(chat(COFFEECHAT_ID, 10L, 11L)));
+        CoffeeChatRoomCache cache = cache(1000);
+        cache.get(COFFEECHAT_ID);
+
+        cache.invalidate(COFFEECHAT_ID);
+
+        assertThat(cache.get(COFFEECHAT_ID).findMember(11L)).isNotNull();
+        verify(stringRedisTemplate).convertAndSend(INVALIDATION_CHANNEL, "1");
+    }
+
+    @Test
+    void 조회_도중_무효화되면_조회한_스냅샷을_캐시하지_않는다() {
+        CoffeeChatRoomCache cache = cache(1000);
+        when(coffeeChatRepository.findByIdWithMembers(COFFEECHAT_ID))
+            .thenAnswer(invocation -> {
+                // DB 조회와 캐시 저장 사이에 다른 요청의 커밋으로 무효화가 일어남
+                cache.invalidate(COFFEECHAT_ID);
+                return Optional.of(chat(COFFEECHAT_ID, 10L));
+            })
+            .thenReturn(Optional.of(chat(COFFEECHAT_ID, 10L, 11L)));
+
+        CoffeeChatRoomSnapshot stale = cache.get(COFFEECHAT_ID);
+        CoffeeChatRoomSnapshot fresh = cache.get(COFFEECHAT_ID);
+
+        assertThat(stale.findMember(11L)).isNull();
+        assertThat(fresh.findMember(11L)).isNotNull();
+        verify(coffeeChatRepository, times(2)).findByIdWithMembers(COFFEECHAT_ID);
+    }
+
+    @Test
+    void 다른_방의_무효화도_조회_중인_스냅샷을_캐시하지_않게_한다() {
+        CoffeeChatRoomCache cache = cache(1000);
+        when(coffeeChatRepository.findByIdWithMembers(COFFEECHAT_ID))
+            .thenAnswer(invocation -> {
+                cache.invalidate(2L);
+                return Optional.of(chat(COFFEECHAT_ID, 10L));
+            })
+            .thenReturn(Optional.of(chat(COFFEECHAT_ID, 10L)));
+
+        cache.get(COFFEECHAT_ID);
+        cache.get(COFFEECHAT_ID);
+
+        // 무효화 순번은 방과 무관하게 증가하므로 보수적으로 다시 조회
+        verify(coffeeChatRepository, times(2)).findByIdWithMembers(COFFEECHAT_ID);
+    }
+
+    @Test
+    void 전체_무효화_메시지를_받으면_모든_방을_다시_조회한다() {
+        when(coffeeChatRepository.findByIdWithMembers(any()))
+            .thenAnswer(invocation -> Optional.of(chat(invocation.getArgument(0), 10L)));
+        CoffeeChatRoomCache cache = cache(1000);
+        cache.subscribe();
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(redisMessageListener).addMessageListener(listener.capture(), any(ChannelTopic.class));
+        cache.get(1L);
+        cache.get(2L);
+
+        listener.getValue().onMessage(new DefaultMessage(
+            INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8), "*".getBytes(StandardCharsets.UTF_8)), null);
+        cache.get(1L);
+        cache.get(2L);
+
+        verify(coffeeChatRepository, times(2)).findByIdWithMembers(1L);
+        verify(coffeeChatRepository, times(2)).findByIdWithMembers(2L);
+    }
+
+    @Test
+    void 스냅샷에_없는_참여자는_스냅샷이_오래되었으면_한_번_다시_조회한다() {
+        when(coffeeChatRepository.findByIdWithMembers(COFFEECHAT_ID))
+            .thenReturn(Optional.of(chat(COFFEECHAT_ID, 10L)), Optional.of(chat(COFFEECHAT_ID, 10L, 11L)));
+        CoffeeChatRoomCache cache = cache(-1);
+        cache.get(COFFEECHAT_ID);
+
+        CoffeeChatRoomSnapshot.Member member = cache.getMember(COFFEECHAT_ID, 11L);
+
+        assertThat(member).isNotNull();
+        assertThat(cache.getMember(COFFEECHAT_ID, 11L)).isNotNull();
+        verify(coffeeChatRepository, times(2)).findByIdWithMembers(COFFEECHAT_ID);
+    }
+
+    @Test
+    void 스냅샷이_최신이면_없는_참여자를_다시_조회하지_않는다() {
+        when(coffeeChatRepository.findByIdWithMembers(COFFEECHAT_ID)).thenReturn(Optional.of(chat(COFFEECHAT_ID, 10L)));
+        CoffeeChatRoomCache cache = cache(60_000);
+        cache.get(COFFEECHAT_ID);
+
+        assertThat(cache.getMember(COFFEECHAT_ID, 11L)).isNull();
+        verify(coffeeChatRepository, times(1)).findByIdWithMembers(COFFEECHAT_ID);
+    }
+}
@@ -0,0 +1,156 @@
+package com.ktb.cafeboo.domain.coffeechat.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.offset;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ktb.cafeboo.domain.coffeechat.dto.CoffeeChatNearbyResponse;
+import com.ktb.cafeboo.domain.coffeechat.model.CoffeeChat;
+import com.ktb.cafeboo.domain.coffeechat.repository.CoffeeChatMemberRepository;
+import com.ktb.cafeboo.domain.coffeechat.repository.CoffeeChatRepository;
+import com.ktb.cafeboo.domain.coffeechat.repository.CoffeeChatReviewRepository;
+import com.ktb.cafeboo.global.apiPayload.exception.CustomApiException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CoffeeChatServiceNearbyTest {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_000;
+
+    @Mock
+    private CoffeeChatRepository coffeeChatRepository;
+
+    @Mock
+    private CoffeeChatMemberRepository coffeeChatMemberRepository;
+
+    @Mock
+    private CoffeeChatReviewRepository coffeeChatReviewRepository;
+
+    @InjectMocks
+    private CoffeeChatService coffeeChatService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(coffeeChatService, "nearbyMaxRadiusMeters", 20000);
+        ReflectionTestUtils.setField(coffeeChatService, "nearbyMaxLimit", 100);
+        when(coffeeChatMemberRepository.findCoffeeChatIdsByUserId(any())).thenReturn(Set.of());
+        when(coffeeChatReviewRepository.findCoffeeChatIdsByWriterUserId(any())).thenReturn(Set.of());
+        when(coffeeChatRepository.findActiveChatsWithinBounds(any(), any(), any(), any())).thenReturn(List.of());
+    }
+
+    private static double angularRadius(int radiusMeters) {
+        return radiusMeters / EARTH_RADIUS_METERS;
+    }
+
+    private static CoffeeChat chatAt(long id, double latitude, double longitude) {
+        CoffeeChat chat = CoffeeChat.builder()
+            .name("커피챗 " + id)
+            .meetingTime(LocalDateTime.of(2025, 6, 1, 10, 0))
+            .latitude(BigDecimal.valueOf(latitude))
+            .longitude(BigDecimal.valueOf(longitude))
+            .build();
+        ReflectionTestUtils.setField(chat, "id", id);
+        return chat;
+    }
+
+    @Test
+    void 날짜변경선에서_멀면_경도_구간은_하나다() {
+        List<double[]> ranges = CoffeeChatService.longitudeRanges(37.5, 127.0, angularRadius(1000));
+
+        assertThat(ranges).hasSize(1);
+        assertThat(ranges.get(0)[0]).isLessThan(127.0);
+        assertThat(ranges.get(0)[1]).isGreaterThan(127.0);
+        assertThat(127.0 - ranges.get(0)[0]).isCloseTo(ranges.get(0)[1] - 127.0, offset(1e-9));
+    }
+
+    @Test
+    void 동쪽으로_날짜변경선을_넘으면_두_구간으로_나눈다() {
+        List<double[]> ranges = CoffeeChatService.longitudeRanges(0, 179.99, angularRadius(5000));
+
+        assertThat(ranges).hasSize(2);
+        assertThat(ranges.get(0)[1]).isEqualTo(180);
+        assertThat(ranges.get(0)[0]).isBetween(179.9, 179.99);
+        assertThat(ranges.get(1)[0]).isEqualTo(-180);
+        assertThat(ranges.get(1)[1]).isBetween(-180.0, -179.9);
+    }
+
+    @Test
+    void 서쪽으로_날짜변경선을_넘으면_두_구간으로_나눈다() {
+        List<double[]> ranges = CoffeeChatService.longitudeRanges(0, -179.99, angularRadius(5000));
+
+        assertThat(ranges).hasSize(2);
+        assertThat(ranges.get(0)[0]).isBetween(179.9, 180.0);
+        assertThat(ranges.get(0)[1]).isEqualTo(180);
+        assertThat(ranges.get(1)[0]).isEqualTo(-180);
+        assertThat(ranges.get(1)[1]).isBetween(-179.99, -179.9);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"90, 0", "-90, 0", "89.95, 10", "-89.95, -10"})
+    void 극점이_반경_안에_있으면_전체_경도를_조회한다(double latitude, double longitude) {
+        List<double[]> ranges = CoffeeChatService.longitudeRanges(latitude, longitude, angularRadius(20000));
+
+        assertThat(ranges).hasSize(1);
+        assertThat(ranges.get(0)).containsExactly(-180, 180);
+    }
+
+    @Test
+    void 극점_근처에서_위도_범위를_90으로_자른다() {
+        coffeeChatService.getNearbyCoffeeChats(1L, 89.95, 10, 20000, 10);
+
+        ArgumentCaptor<BigDecimal> minLatitude = ArgumentCaptor.forClass(BigDecimal.class);
+        ArgumentCaptor<BigDecimal> maxLatitude = ArgumentCaptor.forClass(BigDecimal.class);
+        ArgumentCaptor<BigDecimal> minLongitude = ArgumentCaptor.forClass(BigDecimal.class);
+        ArgumentCaptor<BigDecimal> maxLongitude = ArgumentCaptor.forClass(BigDecimal.class);
+        verify(coffeeChatRepository).findActiveChatsWithinBounds(
+            minLatitude.capture(), maxLatitude.capture(), minLongitude.capture(), maxLongitude.capture());
+
+        assertThat(maxLatitude.getValue()).isEqualByComparingTo("90");
+        assertThat(minLatitude.getValue()).isLessThan(BigDecimal.valueOf(89.95));
+        assertThat(minLongitude.getValue()).isEqualByComparingTo("-180");
+        assertThat(maxLongitude.getValue()).isEqualByComparingTo("180");
+    }
+
+    @Test
+    void 날짜변경선_건너편의_커피챗도_거리순으로_찾는다() {
+        CoffeeChat east = chatAt(1L, 0, 179.995);
+        CoffeeChat west = chatAt(2L, 0, -179.98);
+        CoffeeChat far = chatAt(3L, 0, -179.5);
+        when(coffeeChatRepository.findActiveChatsWithinBounds(any(), any(), any(), any()))
+            .thenReturn(List.of(east), List.of(west, far));
+
+        CoffeeChatNearbyResponse response = coffeeChatService.getNearbyCoffeeChats(1L, 0, 179.99, 5000, 10);
+
+        verify(coffeeChatRepository, times(2)).findActiveChatsWithinBounds(any(), any(), any(), any());
+        assertThat(response.coffeechats())
+            .extracting(nearby -> nearby.coffeechat().coffeeChatId())
+            .containsExactly("1", "2");
+    }
+
+    @ParameterizedTest
+    @CsvSource({"90.1, 0", "-90.1, 0", "0, 180.1", "0, -180.1"})
+    void 범위를_벗어난_좌표는_거부한다(double latitude, double longitude) {
+        assertThatThrownBy(() -> coffeeChatService.getNearbyCoffeeChats(1L, latitude, longitude, 1000, 10))
+            .isInstanceOf(CustomApiException.class);
+    }
+}
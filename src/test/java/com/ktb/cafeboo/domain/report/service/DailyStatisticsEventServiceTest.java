@@ -0,0 +1,166 @@
+package com.ktb.cafeboo.domain.report.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyFloat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ktb.cafeboo.domain.report.model.DailyStatisticsEvent;
+import com.ktb.cafeboo.domain.report.repository.DailyStatisticsEventRepository;
+import com.ktb.cafeboo.domain.user.model.User;
+import com.ktb.cafeboo.domain.user.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class DailyStatisticsEventServiceTest {
+
+    private static final Long USER_ID = 1L;
+    private static final int MAX_ATTEMPTS = 5;
+    private static final LocalDate DAY = LocalDate.of(2026, 10, 1);
+
+    private final DailyStatisticsEventRepository eventRepository = mock(DailyStatisticsEventRepository.class);
+    private final DailyStatisticsService dailyStatisticsService = mock(DailyStatisticsService.class);
+    private final UserService userService = mock(UserService.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final User user = mock(User.class);
+
+    private DailyStatisticsEventService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new DailyStatisticsEventService(eventRepository, dailyStatisticsService, userService,
+            transactionTemplate, meterRegistry);
+        ReflectionTestUtils.setField(service, "batchSize", 500);
+        ReflectionTestUtils.setField(service, "maxAttempts", MAX_ATTEMPTS);
+        ReflectionTestUtils.setField(service, "claimTimeoutSeconds", 300L);
+
+        when(transactionTemplate.execute(any()))
+            .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        doAnswer(inv -> {
+            inv.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(userService.findUserById(USER_ID)).thenReturn(user);
+    }
+
+    private static DailyStatisticsEvent event(Long id, LocalDate date, float delta, int attempts) {
+        DailyStatisticsEvent event = DailyStatisticsEvent.builder()
+            .userId(USER_ID)
+            .targetDate(date)
+            .caffeineDeltaMg(delta)
+            .attempts(attempts)
+            .build();
+        ReflectionTestUtils.setField(event, "id", id);
+        return event;
+    }
+
+    private void pending(DailyStatisticsEvent... events) {
+        when(eventRepository.findPendingByUserIdForUpdate(eq(USER_ID), eq(MAX_ATTEMPTS), any(), eq(500)))
+            .thenReturn(List.of(events));
+    }
+
+    @Test
+    void 미처리_이벤트가_없으면_아무것도_하지_않는다() {
+        pending();
+
+        assertThat(service.processPendingEvents(USER_ID)).isZero();
+
+        verify(eventRepository, never()).claim(anyList(), any());
+        verify(transactionTemplate, never()).executeWithoutResult(any());
+    }
+
+    @Test
+    void 가져간_이벤트를_날짜별로_합산하여_반영하고_처리_완료를_표시한다() {
+        pending(event(1L, DAY, 100f, 0), event(2L, DAY, -30f, 0), event(3L, DAY.plusDays(1), 50f, 0));
+        when(eventRepository.markProcessed(anyList(), any(), any())).thenReturn(3);
+
+        assertThat(service.processPendingEvents(USER_ID)).isEqualTo(3);
+
+        ArgumentCaptor<LocalDateTime> claimedAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(eventRepository).claim(eq(List.of(1L, 2L, 3L)), claimedAt.capture());
+        verify(dailyStatisticsService).updateDailyStatistics(user, DAY, 70f);
+        verify(dailyStatisticsService).updateDailyStatistics(user, DAY.plusDays(1), 50f);
+        // 가져갈 때와 같은 시각으로 처리 완료를 표시해야 다른 인스턴스가 다시 가져간 이벤트를 구분할 수 있음
+        verify(eventRepository).markProcessed(eq(List.of(1L, 2L, 3L)), eq(claimedAt.getValue()), any());
+        verify(eventRepository, never()).releaseClaim(anyList(), any());
+    }
+
+    @Test
+    void 처리_완료_표시_수가_다르면_가져간_표시를_해제하고_실패한다() {
+        pending(event(1L, DAY, 100f, 0), event(2L, DAY, 50f, 0));
+        when(eventRepository.markProcessed(anyList(), any(), any())).thenReturn(1);
+
+        assertThatThrownBy(() -> service.processPendingEvents(USER_ID)).isInstanceOf(IllegalStateException.class);
+
+        ArgumentCaptor<LocalDateTime> claimedAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(eventRepository).claim(eq(List.of(1L, 2L)), claimedAt.capture());
+        verify(eventRepository).releaseClaim(List.of(1L, 2L), claimedAt.getValue());
+    }
+
+    @Test
+    void 통계_반영에_실패하면_가져간_표시를_해제한다() {
+        pending(event(1L, DAY, 100f, 0));
+        doThrow(new RuntimeException("db"))
+            .when(dailyStatisticsService).updateDailyStatistics(any(), any(), anyFloat());
+
+        assertThatThrownBy(() -> service.processPendingEvents(USER_ID)).hasMessage("db");
+
+        verify(eventRepository).releaseClaim(eq(List.of(1L)), any());
+        verify(eventRepository, never()).markProcessed(anyList(), any(), any());
+        assertThat(meterRegistry.counter("statistics.rollup.events.exhausted").count()).isZero();
+    }
+
+    @Test
+    void 마지막_시도에서_실패한_이벤트만_제외_지표에_기록한다() {
+        pending(event(1L, DAY, 100f, MAX_ATTEMPTS - 1), event(2L, DAY, 50f, MAX_ATTEMPTS - 2));
+        when(eventRepository.markProcessed(anyList(), any(), any())).thenThrow(new RuntimeException("db"));
+
+        assertThatThrownBy(() -> service.processPendingEvents(USER_ID)).hasMessage("db");
+
+        assertThat(meterRegistry.counter("statistics.rollup.events.exhausted").count()).isEqualTo(1);
+    }
+
+    @Test
+    void 제외된_이벤트를_최대_시도_횟수_기준으로_되돌린다() {
+        when(eventRepository.resetExhausted(MAX_ATTEMPTS)).thenReturn(4);
+        when(eventRepository.countExhausted(MAX_ATTEMPTS)).thenReturn(4L);
+
+        assertThat(service.countExhaustedEvents()).isEqualTo(4L);
+        assertThat(service.redriveExhaustedEvents()).isEqualTo(4);
+        verify(eventRepository).resetExhausted(MAX_ATTEMPTS);
+    }
+
+    @Test
+    void 처리_대상_사용자는_가져간_시간이_만료된_이벤트까지_조회한다() {
+        ArgumentCaptor<LocalDateTime> expiredBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(eventRepository.findPendingUserIds(eq(MAX_ATTEMPTS), expiredBefore.capture(), any()))
+            .thenReturn(List.of(USER_ID));
+
+        LocalDateTime before = LocalDateTime.now().minusSeconds(300);
+        assertThat(service.findPendingUserIds(10)).containsExactly(USER_ID);
+        LocalDateTime after = LocalDateTime.now().minusSeconds(300);
+
+        assertThat(expiredBefore.getValue()).isBetween(before, after);
+        verify(eventRepository, never()).findPendingByUserIdForUpdate(any(), anyInt(), any(), anyInt());
+    }
+}
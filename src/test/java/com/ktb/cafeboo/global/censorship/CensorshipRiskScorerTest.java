@@ -0,0 +1,61 @@
+package com.ktb.cafeboo.global.censorship;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ktb.cafeboo.global.censorship.filters.CensorshipAutomaton.ScanResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class CensorshipRiskScorerTest {
+
+    // censorship.ai.risk-threshold 기본값
+    private static final double RISK_THRESHOLD = 0.3;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ㅋㅋㅋㅋ", "ㅠㅠ 너무 아쉬워요", "ㅎㅎ 좋아요", "ㅜㅜ", "오늘 커피 마셔요"})
+    void 웃음과_울음_표현은_AI_판정_대상이_아니다(String text) {
+        assertThat(CensorshipRiskScorer.score(text, ScanResult.CLEAN)).isLessThan(RISK_THRESHOLD);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ㅇㅇ", "ㅇㅋ 가자", "ㄱㄱ", "ㄴㄴ 괜찮아요", "ㄷㄷ 대박", "ㅊㅋㅊㅋ"})
+    void 일상_자음_줄임말은_AI_판정_대상이_아니다(String text) {
+        assertThat(CensorshipRiskScorer.score(text, ScanResult.CLEAN)).isLessThan(RISK_THRESHOLD);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"좀 더 빨리", "나 너", "이 거 어때요"})
+    void 한_글자_단어가_두_개_이어진_것만으로는_AI_판정_대상이_아니다(String text) {
+        assertThat(CensorshipRiskScorer.score(text, ScanResult.CLEAN)).isLessThan(RISK_THRESHOLD);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"naver.com 에서 봐요", "a@b.com", "메일은 cafe.boo@gmail.com 입니다",
+            "https://cafeboo.com/chats/1 참고", "www.cafe-boo.co.kr"})
+    void URL과_이메일은_AI_판정_대상이_아니다(String text) {
+        assertThat(CensorshipRiskScorer.score(text, ScanResult.CLEAN)).isLessThan(RISK_THRESHOLD);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ㅂㅅ", "시.발", "시 발 놈"})
+    void 우회_신호_하나만으로는_AI_판정_대상이_아니다(String text) {
+        assertThat(CensorshipRiskScorer.score(text, ScanResult.CLEAN)).isLessThan(RISK_THRESHOLD);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ㅂ.ㅅ", "ㅅ ㅂ 놈", "ㅄ 시.발", "시.발 놈 아 왜"})
+    void 우회_신호가_겹치면_AI_판정_대상이다(String text) {
+        assertThat(CensorshipRiskScorer.score(text, ScanResult.CLEAN)).isGreaterThanOrEqualTo(RISK_THRESHOLD);
+    }
+
+    @Test
+    void 예외어로_허용된_금칙어가_있으면_단독으로_AI_판정_대상이다() {
+        assertThat(CensorshipRiskScorer.score("평범한 문장", new ScanResult(null, 1))).isGreaterThanOrEqualTo(RISK_THRESHOLD);
+    }
+
+    @Test
+    void 빈_문자열은_0점이다() {
+        assertThat(CensorshipRiskScorer.score("  ", ScanResult.CLEAN)).isZero();
+    }
+}
@@ -0,0 +1,79 @@
+package com.ktb.cafeboo.global.censorship;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ktb.cafeboo.global.censorship.filters.CensorshipAutomaton;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class CensorshipTextNormalizerTest {
+
+    private static final CensorshipAutomaton AUTOMATON = CensorshipAutomaton.build(
+        normalizeAll(List.of("시발", "ㅅㅂ", "병신", "shit")),
+        normalizeAll(List.of("시발점"))
+    );
+
+    @Test
+    void 음절은_분해하지_않고_유지한다() {
+        assertThat(CensorshipTextNormalizer.normalize("옷방 정리")).isEqualTo("옷방 정리");
+        assertThat(CensorshipTextNormalizer.normalize("다섯 번 봤어")).isEqualTo("다섯 번 봤어");
+    }
+
+    @Test
+    void 한_글자_단어끼리만_붙인다() {
+        assertThat(CensorshipTextNormalizer.normalize("시 발 놈")).isEqualTo("시발놈");
+        assertThat(CensorshipTextNormalizer.normalize("하시 발레 좋아요")).isEqualTo("하시 발레 좋아요");
+        assertThat(CensorshipTextNormalizer.normalize("  오늘   커피  ")).isEqualTo("오늘 커피");
+    }
+
+    @Test
+    void 단어_안의_기호를_제거한다() {
+        assertThat(CensorshipTextNormalizer.normalize("시.발")).isEqualTo("시발");
+        assertThat(CensorshipTextNormalizer.normalize("시 . 발")).isEqualTo("시발");
+    }
+
+    @Test
+    void 풀어_쓴_자모를_음절로_조합한다() {
+        assertThat(CensorshipTextNormalizer.normalize("ㅅㅣ발")).isEqualTo("시발");
+        assertThat(CensorshipTextNormalizer.normalize("ㅅㅣㅂㅏㄹ")).isEqualTo("시발");
+        assertThat(CensorshipTextNormalizer.normalize("ㅂㅕㅇㅅㅣㄴ")).isEqualTo("병신");
+    }
+
+    @Test
+    void 음절이_되지_않는_자모는_그대로_둔다() {
+        assertThat(CensorshipTextNormalizer.normalize("ㅅㅂ")).isEqualTo("ㅅㅂ");
+        assertThat(CensorshipTextNormalizer.normalize("ㅋㅋㅋ")).isEqualTo("ㅋㅋㅋ");
+    }
+
+    @Test
+    void 전각_문자와_leetspeak을_통일한다() {
+        assertThat(CensorshipTextNormalizer.normalize("ＳＨＩＴ")).isEqualTo("shit");
+        assertThat(CensorshipTextNormalizer.normalize("sh1t")).isEqualTo("shit");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"다섯 번 봤어", "맛보기 해요", "옷방 정리", "하시 발레 좋아요", "이 시 발표 자료", "ㅋㅋㅋ 웃기다"})
+    void 음절_경계나_단어_경계를_넘는_오탐이_없다(String text) {
+        assertThat(AUTOMATON.findBlacklisted(CensorshipTextNormalizer.normalize(text))).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"시발", "시 발", "시.발", "시발놈아", "ㅅㅂ", "ㅅ ㅂ", "ㅋㅋㅅㅂ", "ㅅㅣ발", "ㅂㅕㅇㅅㅣㄴ", "ＳＨＩＴ", "sh1t"})
+    void 우회_표기를_검출한다(String text) {
+        assertThat(AUTOMATON.findBlacklisted(CensorshipTextNormalizer.normalize(text))).isNotNull();
+    }
+
+    @Test
+    void 예외어에_포함된_금칙어는_허용한다() {
+        CensorshipAutomaton.ScanResult result = AUTOMATON.scan(CensorshipTextNormalizer.normalize("시발점이 어디야"));
+
+        assertThat(result.detected()).isNull();
+        assertThat(result.whitelistedHits()).isEqualTo(1);
+    }
+
+    private static List<String> normalizeAll(List<String> words) {
+        return words.stream().map(CensorshipTextNormalizer::normalize).toList();
+    }
+}
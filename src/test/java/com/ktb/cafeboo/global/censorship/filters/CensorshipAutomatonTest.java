@@ -0,0 +1,75 @@
+package com.ktb.cafeboo.global.censorship.filters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ktb.cafeboo.global.censorship.filters.CensorshipAutomaton.ScanResult;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CensorshipAutomatonTest {
+
+    private final CensorshipAutomaton automaton = CensorshipAutomaton.build(
+        List.of("시발", "ㅅㅂ", "새끼"),
+        List.of("시발점", "시발택시")
+    );
+
+    @Test
+    void 금칙어가_없으면_통과한다() {
+        assertThat(automaton.scan("오늘 커피 마셔요")).isEqualTo(ScanResult.CLEAN);
+        assertThat(automaton.scan("")).isEqualTo(ScanResult.CLEAN);
+    }
+
+    @Test
+    void 문장_중간의_금칙어를_찾는다() {
+        assertThat(automaton.findBlacklisted("아 시발 진짜")).isEqualTo("시발");
+        assertThat(automaton.findBlacklisted("ㅋㅋㅅㅂ")).isEqualTo("ㅅㅂ");
+    }
+
+    @Test
+    void 자모_금칙어는_음절에_일치하지_않는다() {
+        assertThat(automaton.findBlacklisted("옷방")).isNull();
+        assertThat(automaton.findBlacklisted("맛보기")).isNull();
+    }
+
+    @Test
+    void 예외어가_덮는_금칙어는_허용한다() {
+        ScanResult result = automaton.scan("시발점에서 시발택시를 탔다");
+
+        assertThat(result.detected()).isNull();
+        assertThat(result.whitelistedHits()).isEqualTo(2);
+    }
+
+    @Test
+    void 예외어와_함께_있어도_덮이지_않은_금칙어는_검출한다() {
+        ScanResult result = automaton.scan("시발점 시발");
+
+        assertThat(result.detected()).isEqualTo("시발");
+        assertThat(result.whitelistedHits()).isEqualTo(1);
+    }
+
+    @Test
+    void 예외어가_없으면_첫_금칙어에서_멈춘다() {
+        CensorshipAutomaton blacklistOnly = CensorshipAutomaton.build(List.of("새끼", "시발"), List.of());
+
+        assertThat(blacklistOnly.findBlacklisted("시발 새끼")).isEqualTo("시발");
+    }
+
+    @Test
+    void 스냅샷으로_복원한_오토마톤은_같은_결과를_낸다() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        automaton.writeTo(new DataOutputStream(bytes));
+
+        CensorshipAutomaton restored = CensorshipAutomaton.readFrom(
+            new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertThat(restored.blacklistSize()).isEqualTo(3);
+        assertThat(restored.whitelistSize()).isEqualTo(2);
+        assertThat(restored.scan("시발점 시발")).isEqualTo(automaton.scan("시발점 시발"));
+        assertThat(restored.findBlacklisted("옷방")).isNull();
+    }
+}
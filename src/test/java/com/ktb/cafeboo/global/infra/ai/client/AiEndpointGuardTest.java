@@ -0,0 +1,240 @@
+package com.ktb.cafeboo.global.infra.ai.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.ktb.cafeboo.global.apiPayload.exception.CustomApiException;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+class AiEndpointGuardTest {
+
+    private static final long TIMEOUT_MS = 300;
+    private static final long HEDGE_DELAY_MS = 50;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // 헤지 없는 엔드포인트
+    private AiEndpointGuard guard(int maxConcurrent, int failureThreshold, long openDurationMillis) {
+        return new AiEndpointGuard(AiEndpoint.DRINK_RECOMMENDATION, TIMEOUT_MS, maxConcurrent, 0,
+            failureThreshold, openDurationMillis, meterRegistry);
+    }
+
+    // 헤지 요청을 사용하는 엔드포인트
+    private AiEndpointGuard hedgingGuard(int maxConcurrent, int failureThreshold, long openDurationMillis) {
+        return new AiEndpointGuard(AiEndpoint.PREDICT_LIMIT, TIMEOUT_MS, maxConcurrent, HEDGE_DELAY_MS,
+            failureThreshold, openDurationMillis, meterRegistry);
+    }
+
+    /**
+     * 호출 순서대로 응답을 돌려주고, 응답을 다 쓰면 끝나지 않는 응답을 돌려줍니다.
+     */
+    @SafeVarargs
+    private static Supplier<Mono<String>> calls(AtomicInteger counter, Mono<String>... responses) {
+        List<Mono<String>> queue = List.of(responses);
+        return () -> {
+            int index = counter.getAndIncrement();
+            return index < queue.size() ? queue.get(index) : Mono.never();
+        };
+    }
+
+    private static Mono<String> serverError() {
+        return Mono.error(WebClientResponseException.create(500, "Internal Server Error", HttpHeaders.EMPTY, new byte[0], StandardCharsets.UTF_8));
+    }
+
+    private static Mono<String> badRequest() {
+        return Mono.error(WebClientResponseException.create(400, "Bad Request", HttpHeaders.EMPTY, new byte[0], StandardCharsets.UTF_8));
+    }
+
+    private double circuitOpen(AiEndpoint endpoint) {
+        return meterRegistry.get("ai.client.circuit.open").tag("endpoint", endpoint.getKey()).gauge().value();
+    }
+
+    private double availablePermits(AiEndpoint endpoint) {
+        return meterRegistry.get("ai.client.bulkhead.available").tag("endpoint", endpoint.getKey()).gauge().value();
+    }
+
+    // 헤지/타임아웃은 다른 스레드에서 끝나므로 허가 반환(doFinally)이 block() 반환보다 늦을 수 있음
+    private double awaitPermits(AiEndpoint endpoint, double expected) throws InterruptedException {
+        for (int i = 0; i < 100 && availablePermits(endpoint) != expected; i++) {
+            Thread.sleep(10);
+        }
+        return availablePermits(endpoint);
+    }
+
+    private long outcomes(String outcome) {
+        Timer timer = meterRegistry.find("ai.client.requests").tag("outcome", outcome).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    @Test
+    void 연속_서버_오류가_기준에_도달하면_서킷이_열리고_호출하지_않는다() {
+        AiEndpointGuard guard = guard(10, 2, 60_000);
+        AtomicInteger counter = new AtomicInteger();
+        Supplier<Mono<String>> call = calls(counter, serverError(), serverError(), Mono.just("ok"));
+
+        assertThatThrownBy(() -> guard.execute(call).block()).isInstanceOf(WebClientResponseException.class);
+        assertThat(circuitOpen(AiEndpoint.DRINK_RECOMMENDATION)).isZero();
+        assertThatThrownBy(() -> guard.execute(call).block()).isInstanceOf(WebClientResponseException.class);
+        assertThat(circuitOpen(AiEndpoint.DRINK_RECOMMENDATION)).isEqualTo(1);
+
+        assertThatThrownBy(() -> guard.execute(call).block()).isInstanceOf(CustomApiException.class);
+        assertThat(counter.get()).isEqualTo(2);
+        assertThat(outcomes("circuit_open")).isEqualTo(1);
+    }
+
+    @Test
+    void 성공하면_연속_실패_횟수가_초기화된다() {
+        AiEndpointGuard guard = guard(10, 2, 60_000);
+        AtomicInteger counter = new AtomicInteger();
+        Supplier<Mono<String>> call = calls(counter, serverError(), Mono.just("ok"), serverError(), Mono.just("ok"));
+
+        assertThatThrownBy(() -> guard.execute(call).block()).isInstanceOf(WebClientResponseException.class);
+        assertThat(guard.execute(call).block()).isEqualTo("ok");
+        assertThatThrownBy(() -> guard.execute(call).block()).isInstanceOf(WebClientResponseException.class);
+
+        assertThat(circuitOpen(AiEndpoint.DRINK_RECOMMENDATION)).isZero();
+        assertThat(guard.execute(call).block()).isEqualTo("ok");
+    }
+
+    @Test
+    void 클라이언트_오류는_서킷_판단에서_제외한다() {
+        AiEndpointGuard guard = guard(10, 1, 60_000);
+        AtomicInteger counter = new AtomicInteger();
+        Supplier<Mono<String>> call = calls(counter, badRequest(), badRequest(), Mono.just("ok"));
+
+        assertThatThrownBy(() -> guard.execute(call).block()).isInstanceOf(WebClientResponseException.class);
+        assertThatThrownBy(() -> guard.execute(call).block()).isInstanceOf(WebClientResponseException.class);
+
+        assertThat(circuitOpen(AiEndpoint.DRINK_RECOMMENDATION)).isZero();
+        assertThat(guard.execute(call).block()).isEqualTo("ok");
+    }
+
+    @Test
+    void 열린_시간이_지나면_시험_요청이_성공할_때_서킷이_닫힌다() {
+        AiEndpointGuard guard = guard(10, 1, 0);
+        AtomicInteger counter = new AtomicInteger();
+        Supplier<Mono<String>> call = calls(counter, serverError(), Mono.just("trial"), Mono.just("ok"));
+
+        assertThatThrownBy(() -> guard.execute(call).block()).isInstanceOf(WebClientResponseException.class);
+        assertThat(circuitOpen(AiEndpoint.DRINK_RECOMMENDATION)).isEqualTo(1);
+
+        assertThat(guard.execute(call).block()).isEqualTo("trial");
+        assertThat(circuitOpen(AiEndpoint.DRINK_RECOMMENDATION)).isZero();
+        assertThat(guard.execute(call).block()).isEqualTo("ok");
+    }
+
+    @Test
+    void 시험_요청이_실패하면_서킷이_다시_열린다() {
+        AiEndpointGuard guard = guard(10, 3, 60_000);
+        AtomicInteger counter = new AtomicInteger();
+        Supplier<Mono<String>> call = calls(counter, serverError(), serverError(), serverError(), serverError());
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> guard.execute(call).block()).isInstanceOf(WebClientResponseException.class);
+        }
+        // 열린 시간을 지난 것으로 만들어 시험 요청 하나를 허용
+        ReflectionTestUtils.setField(guard, "openedAtMillis", 0L);
+
+        assertThatThrownBy(() -> guard.execute(call).block()).isInstanceOf(WebClientResponseException.class);
+
+        // 시험 요청이 실패하면 서킷을 다시 열고 열린 시각을 갱신함
+        assertThat(circuitOpen(AiEndpoint.DRINK_RECOMMENDATION)).isEqualTo(1);
+        assertThatThrownBy(() -> guard.execute(call).block()).isInstanceOf(CustomApiException.class);
+        assertThat(counter.get()).isEqualTo(4);
+    }
+
+    @Test
+    void 시험_요청_중에는_다른_요청을_보내지_않고_취소되면_다음_요청이_시험_요청이_된다() {
+        AiEndpointGuard guard = guard(10, 1, 0);
+        AtomicInteger counter = new AtomicInteger();
+        Supplier<Mono<String>> call = calls(counter, serverError(), Mono.never(), Mono.just("ok"));
+
+        assertThatThrownBy(() -> guard.execute(call).block()).isInstanceOf(WebClientResponseException.class);
+        Disposable trial = guard.execute(call).subscribe();
+
+        assertThatThrownBy(() -> guard.execute(call).block()).isInstanceOf(CustomApiException.class);
+        assertThat(counter.get()).isEqualTo(2);
+
+        trial.dispose();
+        assertThat(availablePermits(AiEndpoint.DRINK_RECOMMENDATION)).isEqualTo(10);
+        assertThat(guard.execute(call).block()).isEqualTo("ok");
+        assertThat(circuitOpen(AiEndpoint.DRINK_RECOMMENDATION)).isZero();
+    }
+
+    @Test
+    void 동시_호출_제한을_넘으면_거절하고_끝나면_허가를_반환한다() {
+        AiEndpointGuard guard = guard(1, 5, 60_000);
+        AtomicInteger counter = new AtomicInteger();
+        Supplier<Mono<String>> call = calls(counter, Mono.never(), Mono.just("ok"));
+
+        Disposable inFlight = guard.execute(call).subscribe();
+        assertThat(availablePermits(AiEndpoint.DRINK_RECOMMENDATION)).isZero();
+
+        assertThatThrownBy(() -> guard.execute(call).block()).isInstanceOf(CustomApiException.class);
+        assertThat(outcomes("rejected")).isEqualTo(1);
+        assertThat(counter.get()).isEqualTo(1);
+
+        inFlight.dispose();
+        assertThat(availablePermits(AiEndpoint.DRINK_RECOMMENDATION)).isEqualTo(1);
+        assertThat(guard.execute(call).block()).isEqualTo("ok");
+    }
+
+    @Test
+    void 첫_요청이_늦으면_헤지_요청의_응답을_사용하고_허가를_모두_반환한다() throws InterruptedException {
+        AiEndpointGuard guard = hedgingGuard(2, 5, 60_000);
+        AtomicInteger counter = new AtomicInteger();
+        Supplier<Mono<String>> call = calls(counter, Mono.never(), Mono.just("hedged"));
+
+        assertThat(guard.execute(call).block()).isEqualTo("hedged");
+
+        assertThat(counter.get()).isEqualTo(2);
+        assertThat(awaitPermits(AiEndpoint.PREDICT_LIMIT, 2)).isEqualTo(2);
+        assertThat(outcomes("success")).isEqualTo(1);
+    }
+
+    @Test
+    void 허가가_없으면_헤지_요청을_보내지_않는다() throws InterruptedException {
+        AiEndpointGuard guard = hedgingGuard(1, 5, 60_000);
+        AtomicInteger counter = new AtomicInteger();
+        Supplier<Mono<String>> call = calls(counter, Mono.never(), Mono.just("hedged"));
+
+        assertThatThrownBy(() -> guard.execute(call).block()).hasCauseInstanceOf(TimeoutException.class);
+
+        assertThat(counter.get()).isEqualTo(1);
+        assertThat(outcomes("hedge_skipped")).isEqualTo(1);
+        assertThat(outcomes("timeout")).isEqualTo(1);
+        assertThat(awaitPermits(AiEndpoint.PREDICT_LIMIT, 1)).isEqualTo(1);
+    }
+
+    @Test
+    void 시험_요청에는_헤지_요청을_보내지_않는다() throws InterruptedException {
+        AiEndpointGuard guard = hedgingGuard(5, 1, 0);
+        AtomicInteger counter = new AtomicInteger();
+        // 첫 요청이 바로 실패하면 헤지 요청이 한 번 더 나가므로 두 번 실패시켜 서킷을 엶
+        Supplier<Mono<String>> call = calls(counter, serverError(), serverError(), Mono.never(), Mono.just("hedged"));
+
+        // 두 요청이 모두 실패하면 firstWithValue가 NoSuchElementException으로 끝남
+        assertThatThrownBy(() -> guard.execute(call).block()).isInstanceOf(NoSuchElementException.class);
+        assertThat(counter.get()).isEqualTo(2);
+        assertThat(circuitOpen(AiEndpoint.PREDICT_LIMIT)).isEqualTo(1);
+
+        assertThatThrownBy(() -> guard.execute(call).block()).hasCauseInstanceOf(TimeoutException.class);
+
+        assertThat(counter.get()).isEqualTo(3);
+        assertThat(outcomes("hedge_skipped")).isEqualTo(1);
+        assertThat(awaitPermits(AiEndpoint.PREDICT_LIMIT, 5)).isEqualTo(5);
+    }
+}
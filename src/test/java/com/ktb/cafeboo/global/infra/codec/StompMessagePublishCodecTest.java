@@ -0,0 +1,147 @@
+package com.ktb.cafeboo.global.infra.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.ktb.cafeboo.domain.coffeechat.dto.StompMessagePublish;
+import com.ktb.cafeboo.domain.coffeechat.dto.StompMessagePublish.SenderInfo;
+import com.ktb.cafeboo.global.enums.MessageType;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class StompMessagePublishCodecTest {
+
+    private static StompMessagePublish fullMessage() {
+        return StompMessagePublish.builder()
+            .messageId("3f2b7c9e-1d4a-4e8b-9c1f-0a2b3c4d5e6f")
+            .coffeechatId(1234567890123L)
+            .messageType(MessageType.TALK)
+            .content("오늘 커피 한 잔 어때요? ☕️ 🙂")
+            .sentAt(LocalDateTime.of(2025, 6, 1, 14, 30, 15, 123456789))
+            .sender(SenderInfo.builder()
+                .memberId("42")
+                .chatNickname("카페부")
+                .profileImageUrl("https://cdn.cafeboo.com/profile/42.png")
+                .build())
+            .build();
+    }
+
+    private static void assertSameMessage(StompMessagePublish actual, StompMessagePublish expected) {
+        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+    }
+
+    @Test
+    void 모든_필드가_있는_메시지를_그대로_복원한다() {
+        StompMessagePublish message = fullMessage();
+
+        assertSameMessage(StompMessagePublishCodec.decode(StompMessagePublishCodec.encode(message)), message);
+    }
+
+    @Test
+    void 모든_필드가_null인_메시지를_그대로_복원한다() {
+        StompMessagePublish message = new StompMessagePublish();
+
+        byte[] encoded = StompMessagePublishCodec.encode(message);
+
+        assertThat(encoded).hasSize(3);
+        assertSameMessage(StompMessagePublishCodec.decode(encoded), message);
+    }
+
+    @Test
+    void 발신자의_일부_필드만_있어도_그대로_복원한다() {
+        StompMessagePublish message = fullMessage();
+        message.setSender(SenderInfo.builder().chatNickname("닉네임").build());
+        message.setContent(null);
+
+        assertSameMessage(StompMessagePublishCodec.decode(StompMessagePublishCodec.encode(message)), message);
+    }
+
+    @Test
+    void 비ASCII_내용과_긴_내용을_그대로_복원한다() {
+        StompMessagePublish message = fullMessage();
+        message.setContent("가나다라마바사 アイウ 中文 é ñ 👍🏽".repeat(200));
+
+        assertSameMessage(StompMessagePublishCodec.decode(StompMessagePublishCodec.encode(message)), message);
+    }
+
+    @Test
+    void 전송_시각의_나노초를_보존한다() {
+        StompMessagePublish message = fullMessage();
+        message.setSentAt(LocalDateTime.of(2025, 12, 31, 23, 59, 59, 999_999_999));
+
+        assertThat(StompMessagePublishCodec.decode(StompMessagePublishCodec.encode(message)).getSentAt())
+            .isEqualTo(message.getSentAt());
+    }
+
+    @Test
+    void 큰_coffeechatId를_그대로_복원한다() {
+        StompMessagePublish message = fullMessage();
+        message.setCoffeechatId(Long.MAX_VALUE);
+
+        assertThat(StompMessagePublishCodec.decode(StompMessagePublishCodec.encode(message)).getCoffeechatId())
+            .isEqualTo(Long.MAX_VALUE);
+    }
+
+    @ParameterizedTest
+    @EnumSource(MessageType.class)
+    void 모든_메시지_타입을_그대로_복원한다(MessageType type) {
+        StompMessagePublish message = fullMessage();
+        message.setMessageType(type);
+
+        assertThat(StompMessagePublishCodec.decode(StompMessagePublishCodec.encode(message)).getMessageType())
+            .isEqualTo(type);
+    }
+
+    @Test
+    void Base64_문자열로도_그대로_복원한다() {
+        StompMessagePublish message = fullMessage();
+
+        assertSameMessage(StompMessagePublishCodec.decodeFromString(StompMessagePublishCodec.encodeToString(message)), message);
+    }
+
+    @Test
+    void 잘린_데이터는_예외를_던진다() {
+        byte[] encoded = StompMessagePublishCodec.encode(fullMessage());
+
+        for (int length = 2; length < encoded.length; length++) {
+            byte[] truncated = Arrays.copyOf(encoded, length);
+            assertThatThrownBy(() -> StompMessagePublishCodec.decode(truncated))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void 알_수_없는_버전은_예외를_던진다() {
+        byte[] encoded = StompMessagePublishCodec.encode(fullMessage());
+        encoded[1] = (byte) (StompMessagePublishCodec.VERSION + 1);
+
+        assertThatThrownBy(() -> StompMessagePublishCodec.decode(encoded))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("버전");
+    }
+
+    @Test
+    void 알_수_없는_메시지_타입_코드는_예외를_던진다() {
+        StompMessagePublish message = new StompMessagePublish();
+        message.setMessageType(MessageType.TALK);
+        byte[] encoded = StompMessagePublishCodec.encode(message);
+        encoded[3] = (byte) MessageType.values().length;
+
+        assertThatThrownBy(() -> StompMessagePublishCodec.decode(encoded))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void JSON_데이터는_인코딩된_데이터로_인식하지_않는다() {
+        byte[] json = "{\"messageId\":\"a\"}".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(StompMessagePublishCodec.isEncoded(json)).isFalse();
+        assertThat(StompMessagePublishCodec.isEncoded(null)).isFalse();
+        assertThatThrownBy(() -> StompMessagePublishCodec.decode(json))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
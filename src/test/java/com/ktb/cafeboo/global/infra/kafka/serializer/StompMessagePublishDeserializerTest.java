@@ -0,0 +1,78 @@
+package com.ktb.cafeboo.global.infra.kafka.serializer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ktb.cafeboo.domain.coffeechat.dto.StompMessagePublish;
+import com.ktb.cafeboo.global.enums.MessageType;
+import com.ktb.cafeboo.global.infra.codec.StompMessagePublishCodec;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+
+class StompMessagePublishDeserializerTest {
+
+    private final StompMessagePublishDeserializer deserializer =
+        new StompMessagePublishDeserializer(new ObjectMapper().registerModule(new JavaTimeModule()));
+
+    private static StompMessagePublish message() {
+        return StompMessagePublish.builder()
+            .messageId("msg-1")
+            .coffeechatId(7L)
+            .messageType(MessageType.TALK)
+            .content("안녕하세요")
+            .sentAt(LocalDateTime.of(2025, 6, 1, 9, 0, 0, 500_000_000))
+            .sender(StompMessagePublish.SenderInfo.builder()
+                .memberId("3")
+                .chatNickname("라떼")
+                .profileImageUrl("https://cdn.cafeboo.com/3.png")
+                .build())
+            .build();
+    }
+
+    @Test
+    void 바이너리_레코드를_역직렬화한다() {
+        StompMessagePublish message = message();
+
+        StompMessagePublish actual = deserializer.deserialize("chat", StompMessagePublishCodec.encode(message));
+
+        assertThat(actual).usingRecursiveComparison().isEqualTo(message);
+    }
+
+    @Test
+    void 전환_전의_JSON_레코드를_역직렬화한다() {
+        String json = """
+            {"messageId":"msg-1","coffeechatId":7,"messageType":"TALK","content":"안녕하세요",
+             "sentAt":"2025-06-01T09:00:00.5",
+             "sender":{"memberId":"3","chatNickname":"라떼","profileImageUrl":"https://cdn.cafeboo.com/3.png"}}
+            """;
+
+        StompMessagePublish actual = deserializer.deserialize("chat", json.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(actual).usingRecursiveComparison().isEqualTo(message());
+    }
+
+    @Test
+    void null_레코드는_null을_반환한다() {
+        assertThat(deserializer.deserialize("chat", null)).isNull();
+    }
+
+    @Test
+    void 잘린_바이너리_레코드는_SerializationException을_던진다() {
+        byte[] encoded = StompMessagePublishCodec.encode(message());
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length - 1);
+
+        assertThatThrownBy(() -> deserializer.deserialize("chat", truncated))
+            .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void 잘못된_JSON_레코드는_SerializationException을_던진다() {
+        assertThatThrownBy(() -> deserializer.deserialize("chat", "{not json".getBytes(StandardCharsets.UTF_8)))
+            .isInstanceOf(SerializationException.class);
+    }
+}
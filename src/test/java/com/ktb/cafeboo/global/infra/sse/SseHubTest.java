@@ -0,0 +1,45 @@
+package com.ktb.cafeboo.global.infra.sse;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class SseHubTest {
+
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+    private final RedisMessageListenerContainer redisMessageListener = mock(RedisMessageListenerContainer.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+    private final SseHub sseHub = new SseHub(stringRedisTemplate, redisMessageListener, new ObjectMapper());
+
+    @AfterEach
+    void tearDown() {
+        sseHub.stop();
+    }
+
+    @Test
+    void 이벤트_채널을_구독한_뒤에_시퀀스를_읽는다() {
+        ReflectionTestUtils.setField(sseHub, "replayBufferSize", 10);
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(anyString())).thenReturn("42");
+
+        sseHub.start();
+
+        InOrder inOrder = inOrder(redisMessageListener, valueOperations);
+        inOrder.verify(redisMessageListener).addMessageListener(any(MessageListener.class), any(ChannelTopic.class));
+        inOrder.verify(valueOperations).get("sse:event-seq");
+    }
+}
@@ -0,0 +1,122 @@
+package com.ktb.cafeboo.global.infra.sse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ktb.cafeboo.global.infra.sse.SseReplayBuffer.BufferedEvent;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class SseReplayBufferTest {
+
+    private static BufferedEvent event(long id) {
+        return new BufferedEvent(id, List.of("coffeechats"), Set.of());
+    }
+
+    private static List<Long> ids(List<BufferedEvent> events) {
+        return events.stream().map(BufferedEvent::id).toList();
+    }
+
+    @Test
+    void 시작_전에는_어떤_구간도_재전송할_수_없다() {
+        SseReplayBuffer buffer = new SseReplayBuffer(10);
+
+        assertThat(buffer.covers(0)).isFalse();
+        assertThat(buffer.covers(Long.MAX_VALUE - 1)).isFalse();
+    }
+
+    @Test
+    void 시작_시퀀스_이후의_이벤트는_재전송할_수_있다() {
+        SseReplayBuffer buffer = new SseReplayBuffer(10);
+        buffer.start(100);
+        buffer.add(event(101));
+        buffer.add(event(102));
+        buffer.add(event(103));
+
+        assertThat(buffer.covers(99)).isFalse();
+        assertThat(buffer.covers(100)).isTrue();
+        assertThat(ids(buffer.after(100))).containsExactly(101L, 102L, 103L);
+        assertThat(ids(buffer.after(102))).containsExactly(103L);
+        assertThat(buffer.after(103)).isEmpty();
+    }
+
+    @Test
+    void 버퍼가_넘치면_밀려난_이벤트까지는_재전송할_수_없다() {
+        SseReplayBuffer buffer = new SseReplayBuffer(3);
+        buffer.start(0);
+        for (long id = 1; id <= 5; id++) {
+            buffer.add(event(id));
+        }
+
+        // 1, 2가 밀려남
+        assertThat(buffer.covers(1)).isFalse();
+        assertThat(buffer.covers(2)).isTrue();
+        assertThat(ids(buffer.after(2))).containsExactly(3L, 4L, 5L);
+    }
+
+    @Test
+    void id가_건너뛰면_건너뛴_구간은_재전송할_수_없다() {
+        SseReplayBuffer buffer = new SseReplayBuffer(10);
+        buffer.start(10);
+        buffer.add(event(11));
+        buffer.add(event(14));
+        buffer.add(event(15));
+
+        assertThat(buffer.covers(11)).isFalse();
+        assertThat(buffer.covers(12)).isFalse();
+        assertThat(buffer.covers(13)).isTrue();
+        assertThat(ids(buffer.after(13))).containsExactly(14L, 15L);
+    }
+
+    @Test
+    void 시퀀스_조회_전에_수신한_이벤트가_있으면_그_이벤트를_기준으로_한다() {
+        SseReplayBuffer buffer = new SseReplayBuffer(10);
+        // 구독 직후 id 50부터 수신하고, 시퀀스 조회는 그 이후에 52를 반환
+        buffer.add(event(50));
+        buffer.add(event(51));
+        buffer.start(52);
+        buffer.add(event(52));
+
+        assertThat(buffer.covers(48)).isFalse();
+        assertThat(buffer.covers(49)).isTrue();
+        assertThat(ids(buffer.after(49))).containsExactly(50L, 51L, 52L);
+    }
+
+    @Test
+    void 시퀀스_조회를_하지_못하면_첫_수신_이벤트부터_재전송할_수_있다() {
+        SseReplayBuffer buffer = new SseReplayBuffer(10);
+        buffer.add(event(7));
+        buffer.add(event(8));
+
+        assertThat(buffer.covers(5)).isFalse();
+        assertThat(buffer.covers(6)).isTrue();
+        assertThat(ids(buffer.after(6))).containsExactly(7L, 8L);
+    }
+
+    @Test
+    void 이미_받은_id나_시작_시퀀스_이전_id는_버퍼에_넣지_않는다() {
+        SseReplayBuffer buffer = new SseReplayBuffer(10);
+        buffer.start(20);
+        buffer.add(event(19));
+        buffer.add(event(21));
+        buffer.add(event(21));
+        buffer.add(event(22));
+
+        assertThat(ids(buffer.after(0))).containsExactly(21L, 22L);
+        assertThat(buffer.covers(20)).isTrue();
+    }
+
+    @Test
+    void 건너뜀_이후_버퍼가_넘쳐도_재전송_범위는_뒤로_가지_않는다() {
+        SseReplayBuffer buffer = new SseReplayBuffer(2);
+        buffer.start(0);
+        buffer.add(event(1));
+        buffer.add(event(10));
+        buffer.add(event(11));
+
+        // 1이 밀려나도 건너뛴 구간(2 ~ 9) 때문에 9 이후만 재전송 가능
+        assertThat(buffer.covers(8)).isFalse();
+        assertThat(buffer.covers(9)).isTrue();
+        assertThat(ids(buffer.after(9))).containsExactly(10L, 11L);
+    }
+}